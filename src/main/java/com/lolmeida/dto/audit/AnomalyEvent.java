@@ -0,0 +1,35 @@
+package com.lolmeida.dto.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Traffic anomaly raised by the streaming detector
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnomalyEvent {
+
+    public enum Type {
+        // Too many requests from one IP inside the sliding window
+        BURST,
+        // High share of 4xx responses from one IP (path / credential scanning)
+        ERROR_SCAN,
+        // Route latency well above its moving baseline
+        LATENCY_REGRESSION
+    }
+
+    private Type type;
+    private String userIp;
+    private String route;
+    private double observed;
+    private double threshold;
+    private String requestId;
+    private LocalDateTime timestamp;
+}
@@ -210,4 +210,9 @@ public class RequestInfo {
      * API version if versioned API
      */
     private String apiVersion;
+
+    /**
+     * Matched resource route template (e.g. /api/users/{id}), null when no resource matched
+     */
+    private String routeTemplate;
 } 
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.lolmeida.dto.mapper;
 
+import com.lolmeida.dto.projection.AppManifestSummary;
+import com.lolmeida.dto.projection.AppSummary;
+import com.lolmeida.dto.projection.StackSummary;
 import com.lolmeida.dto.request.*;
 import com.lolmeida.dto.response.*;
 import com.lolmeida.entity.User;
@@ -52,6 +55,16 @@ public interface MapperService {
     @Mapping(target = "updatedAt", ignore = true)
     void updateUserFromPatch(UserPatchRequest patchRequest, @MappingTarget User existingUser);
     
+    /**
+     * Replaces the fields of an existing User with the UserRequest (PUT operations)
+     * Null fields are copied as null; id and timestamps are left to the service
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.SET_TO_NULL)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateUserFromRequest(UserRequest userRequest, @MappingTarget User existingUser);
+    
     /**
      * Maps UserRequest to User with specific ID (for PUT operations)
      */
@@ -136,6 +149,16 @@ public interface MapperService {
     @Mapping(source = "app.id", target = "appId")
     AppManifestResponse toAppManifestResponse(AppManifest appManifest);
     
+    // ========== PROJECTION TO RESPONSE MAPPERS ==========
+    
+    StackResponse toStackResponse(StackSummary stack);
+    
+    // Manifests are loaded separately and attached by the caller
+    @Mapping(target = "requiredManifests", ignore = true)
+    AppResponse toAppResponse(AppSummary app);
+    
+    AppManifestResponse toAppManifestResponse(AppManifestSummary manifest);
+    
     // Deployment response mappers (basic example - add more K8s entities as needed)
     @Mapping(source = "service.id", target = "serviceId")
     DeploymentResponse toDeploymentResponse(Deployment deployment);
@@ -0,0 +1,24 @@
+package com.lolmeida.dto.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lolmeida.entity.k8s.AppManifest.ManifestType;
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of an app manifest needed by {@link com.lolmeida.dto.response.AppManifestResponse}, without loading the app
+ */
+public record AppManifestSummary(
+        Long id,
+        @ProjectedFieldName("app.id") Long appId,
+        ManifestType manifestType,
+        Boolean required,
+        Integer creationPriority,
+        JsonNode defaultConfig,
+        JsonNode templateOverrides,
+        String creationCondition,
+        String description,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
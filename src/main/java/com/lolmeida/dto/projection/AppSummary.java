@@ -0,0 +1,33 @@
+package com.lolmeida.dto.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of an app needed by {@link com.lolmeida.dto.response.AppResponse}, without loading the stack or manifests
+ */
+public record AppSummary(
+        Long id,
+        @ProjectedFieldName("stack.id") Long stackId,
+        Boolean enabled,
+        String name,
+        String displayName,
+        String description,
+        String category,
+        String version,
+        String defaultImageRepository,
+        String defaultImageTag,
+        JsonNode defaultConfig,
+        JsonNode dependencies,
+        JsonNode defaultPorts,
+        JsonNode defaultResources,
+        String healthCheckPath,
+        String readinessCheckPath,
+        String documentationUrl,
+        String iconUrl,
+        Integer deploymentPriority,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,15 @@
+package com.lolmeida.dto.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
+
+/**
+ * Columns of an auth default, without loading the category
+ */
+public record AuthDefaultSummary(
+        @ProjectedFieldName("category.name") String category,
+        String authType,
+        String displayName,
+        String description,
+        JsonNode defaultConfig) {
+}
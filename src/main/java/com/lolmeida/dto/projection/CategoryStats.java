@@ -0,0 +1,15 @@
+package com.lolmeida.dto.projection;
+
+/**
+ * Active service category with the number of its active manifest and auth defaults
+ */
+public record CategoryStats(
+        String name,
+        String displayName,
+        String description,
+        String icon,
+        String color,
+        Boolean active,
+        Long manifestCount,
+        Long authCount) {
+}
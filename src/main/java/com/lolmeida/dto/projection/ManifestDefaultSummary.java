@@ -0,0 +1,16 @@
+package com.lolmeida.dto.projection;
+
+import com.lolmeida.entity.k8s.AppManifest.ManifestType;
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
+
+/**
+ * Columns of a manifest default listed in the category overview, without its default config
+ */
+public record ManifestDefaultSummary(
+        @ProjectedFieldName("category.name") String category,
+        ManifestType manifestType,
+        Boolean required,
+        Integer creationPriority,
+        String description,
+        String creationCondition) {
+}
@@ -0,0 +1,20 @@
+package com.lolmeida.dto.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a stack needed by {@link com.lolmeida.dto.response.StackResponse}, without loading the environment
+ */
+public record StackSummary(
+        Long id,
+        @ProjectedFieldName("environment.id") Long environmentId,
+        String name,
+        Boolean enabled,
+        String description,
+        JsonNode config,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
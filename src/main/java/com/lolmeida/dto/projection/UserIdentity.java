@@ -0,0 +1,7 @@
+package com.lolmeida.dto.projection;
+
+/**
+ * Unique columns of a user, used to detect import conflicts without loading the entities
+ */
+public record UserIdentity(String username, String email) {
+}
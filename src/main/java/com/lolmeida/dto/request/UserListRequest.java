@@ -0,0 +1,46 @@
+package com.lolmeida.dto.request;
+
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.QueryParam;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of GET /api/users: keyset page, order and prefix filters
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserListRequest {
+
+    /**
+     * Opaque cursor returned in the X-Next-Cursor header of the previous page
+     */
+    @QueryParam("after")
+    private String after;
+
+    @QueryParam("limit")
+    private Integer limit;
+
+    /**
+     * "id" (ascending, default) or "createdAt" (newest first)
+     */
+    @QueryParam("sort")
+    @DefaultValue("id")
+    private String sort;
+
+    /**
+     * Username prefix
+     */
+    @QueryParam("username")
+    private String username;
+
+    /**
+     * Email prefix
+     */
+    @QueryParam("email")
+    private String email;
+}
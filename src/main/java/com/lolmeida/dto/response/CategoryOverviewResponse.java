@@ -0,0 +1,71 @@
+package com.lolmeida.dto.response;
+
+import com.lolmeida.dto.projection.AuthDefaultSummary;
+import com.lolmeida.dto.projection.ManifestDefaultSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "CategoryOverviewResponse",
+    description = "Active service category with its manifest and auth defaults",
+    example = """
+    {
+      "name": "database",
+      "displayName": "Database",
+      "description": "Relational and NoSQL databases",
+      "icon": "database",
+      "color": "blue",
+      "manifestCount": 2,
+      "authCount": 1,
+      "manifests": [
+        { "category": "database", "manifestType": "DEPLOYMENT", "required": true, "creationPriority": 10, "description": "Main workload" },
+        { "category": "database", "manifestType": "PERSISTENT_VOLUME_CLAIM", "required": true, "creationPriority": 20, "description": "Data volume" }
+      ],
+      "authDefaults": [
+        { "category": "database", "authType": "password", "displayName": "Password", "defaultConfig": { "enabled": true } }
+      ]
+    }
+    """
+)
+public class CategoryOverviewResponse {
+
+    @Schema(description = "Category name", example = "database")
+    private String name;
+
+    @Schema(description = "Display name", example = "Database")
+    private String displayName;
+
+    @Schema(description = "Category description")
+    private String description;
+
+    @Schema(description = "Icon name", example = "database")
+    private String icon;
+
+    @Schema(description = "Display color", example = "blue")
+    private String color;
+
+    @Schema(description = "Number of active manifest defaults", example = "2")
+    private long manifestCount;
+
+    @Schema(description = "Number of active auth defaults", example = "1")
+    private long authCount;
+
+    @Schema(description = "Active manifest defaults, by creation priority")
+    @Builder.Default
+    private List<ManifestDefaultSummary> manifests = new ArrayList<>();
+
+    @Schema(description = "Active auth defaults, by auth type")
+    @Builder.Default
+    private List<AuthDefaultSummary> authDefaults = new ArrayList<>();
+}
@@ -0,0 +1,70 @@
+package com.lolmeida.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "UserImportResponse",
+    description = "Outcome of a bulk user import, with one entry per input row",
+    example = """
+    {
+      "total": 2,
+      "created": 1,
+      "rejected": 1,
+      "rows": [
+        { "row": 1, "status": "CREATED", "id": 51, "username": "john_doe" },
+        { "row": 2, "status": "CONFLICT", "username": "jane_smith", "message": "Username or email already exists" }
+      ]
+    }
+    """
+)
+public class UserImportResponse {
+
+    public enum Status { CREATED, INVALID, DUPLICATE, CONFLICT, FAILED }
+
+    @Schema(description = "Number of rows read from the input", example = "2")
+    private int total;
+
+    @Schema(description = "Number of users created", example = "1")
+    private int created;
+
+    @Schema(description = "Number of rows not imported", example = "1")
+    private int rejected;
+
+    @Builder.Default
+    @Schema(description = "Outcome of each row, in input order")
+    private List<Row> rows = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+
+        @Schema(description = "1-based position of the row in the input", example = "1")
+        private int row;
+
+        @Schema(description = "Outcome of the row", example = "CREATED")
+        private Status status;
+
+        @Schema(description = "Id of the created user", example = "51")
+        private Long id;
+
+        @Schema(description = "Username of the row", example = "john_doe")
+        private String username;
+
+        @Schema(description = "Why the row was not imported", example = "Username or email already exists")
+        private String message;
+    }
+}
@@ -5,15 +5,18 @@ import jakarta.persistence.*;
 
 /**
  * Base Entity for all entities in the application
- * Provides consistent ID generation strategy for MySQL using AUTO_INCREMENT
- * instead of sequence tables
+ * Ids come from a pooled table generator (id_generators, one row per entity table) that reserves
+ * 50 ids per round trip, so inserts can be JDBC-batched on MySQL and PostgreSQL alike
  */
 @MappedSuperclass
 public abstract class BaseEntity extends PanacheEntityBase {
 
+    // No pkColumnValue: each entity uses its own table name as the id_generators row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "entity_id")
+    @TableGenerator(name = "entity_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", allocationSize = 50)
     @Column(name = "id")
     public Long id;
     
-}
\ No newline at end of file
+}
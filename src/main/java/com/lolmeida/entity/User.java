@@ -14,8 +14,13 @@ import java.time.LocalDateTime;
 @Table(name = "users")
 public class User {
     
+    /**
+     * Pooled table generator: one round trip reserves 50 ids, which lets Hibernate batch the inserts
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Username is required")
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.lolmeida.entity.BaseEntity;
 import com.lolmeida.entity.k8s.App;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -15,8 +17,10 @@ import java.util.List;
 
 @Entity
 @Table(name = "config_stacks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Stack extends BaseEntity {
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "environment_id")
     public Environment environment;
 
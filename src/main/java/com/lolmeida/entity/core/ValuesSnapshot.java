@@ -0,0 +1,33 @@
+package com.lolmeida.entity.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lolmeida.entity.BaseEntity;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last recorded (deployed) values of a stack, used as the baseline for values diffs
+ */
+@Entity
+@Table(name = "config_values_snapshots")
+public class ValuesSnapshot extends BaseEntity {
+    @Column(name = "environment_id", nullable = false)
+    public Long environmentId;
+
+    @Column(name = "stack_name", nullable = false, length = 50)
+    public String stackName;
+
+    @Column(name = "values_hash", nullable = false, length = 64)
+    public String valuesHash;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "values_json", columnDefinition = "JSON")
+    public JsonNode values;
+
+    @Column(name = "recorded_at")
+    public LocalDateTime recordedAt;
+
+}
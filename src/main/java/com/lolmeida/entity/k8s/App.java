@@ -23,7 +23,7 @@ import java.util.ArrayList;
 public class App extends BaseEntity {
     
     // Reference to stack
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "stack_id")
     public Stack stack;
     
@@ -60,6 +60,7 @@ public class App extends BaseEntity {
     
     // Required manifests for this app
     @OneToMany(mappedBy = "app", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("creationPriority")
     public List<AppManifest> requiredManifests = new ArrayList<>();
     
     // Dependencies on other apps
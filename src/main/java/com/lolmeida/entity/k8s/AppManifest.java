@@ -1,6 +1,7 @@
 package com.lolmeida.entity.k8s;
 
 import com.lolmeida.entity.BaseEntity;
+import com.lolmeida.util.ManifestCondition;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -21,7 +22,7 @@ import java.time.LocalDateTime;
 public class AppManifest extends BaseEntity {
 
     // Reference to app
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "app_id")
     public App app;
 
@@ -95,6 +96,13 @@ public class AppManifest extends BaseEntity {
         return creationCondition != null && !creationCondition.isEmpty();
     }
 
+    /**
+     * Compiled creation condition (shared cache keyed by the condition text)
+     */
+    public ManifestCondition compiledCondition() {
+        return ManifestCondition.of(creationCondition);
+    }
+
     public boolean hasDefaultConfig() {
         return defaultConfig != null && !defaultConfig.isEmpty();
     }
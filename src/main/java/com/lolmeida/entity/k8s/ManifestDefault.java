@@ -3,6 +3,8 @@ package com.lolmeida.entity.k8s;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.lolmeida.entity.BaseEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -17,6 +19,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "config_manifest_defaults")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @Data
 @EqualsAndHashCode(callSuper = false, exclude = {"category"})
 @ToString(exclude = {"category"})
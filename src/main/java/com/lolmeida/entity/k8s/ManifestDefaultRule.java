@@ -0,0 +1,57 @@
+package com.lolmeida.entity.k8s;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lolmeida.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-manifest-type default rule applied to every generated manifest config.
+ * A null category applies to all categories; category rules are layered on top.
+ * Maps to config_manifest_default_rules table
+ */
+@Entity
+@Table(name = "config_manifest_default_rules")
+@Data
+@EqualsAndHashCode(callSuper = false, exclude = {"category"})
+@ToString(exclude = {"category"})
+public class ManifestDefaultRule extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private ServiceCategory category;
+
+    @Column(name = "manifest_type", nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private AppManifest.ManifestType manifestType;
+
+    // Top-level fields set only when the manifest config doesn't have them
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "defaults", columnDefinition = "JSON")
+    private JsonNode defaults;
+
+    // Fields always set (objects merged), e.g. ingress annotations
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "overrides", columnDefinition = "JSON")
+    private JsonNode overrides;
+
+    @Column(name = "is_active")
+    private Boolean isActive = true;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
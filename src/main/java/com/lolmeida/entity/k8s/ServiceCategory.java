@@ -2,6 +2,8 @@ package com.lolmeida.entity.k8s;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -15,6 +17,8 @@ import java.util.List;
  */
 @Entity
 @Table(name = "config_service_categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @Data
 @EqualsAndHashCode(exclude = {"manifestDefaults", "authDefaults"})
 @ToString(exclude = {"manifestDefaults", "authDefaults"})
@@ -0,0 +1,62 @@
+package com.lolmeida.interceptor;
+
+import com.lolmeida.dto.audit.RequestInfo;
+
+import java.util.Optional;
+
+/**
+ * Diagnostic X-* headers that can be attached to responses.
+ * Header names are kept as constants so they are built once and reused for every response.
+ */
+public enum DiagnosticHeader {
+    REQUEST_ID("X-Request-ID"),
+    DEVICE_TYPE("X-Device-Type"),
+    BROWSER("X-Browser"),
+    OS("X-OS"),
+    USER_AGENT("X-User-Agent"),
+    RESPONSE_TIME("X-Response-Time"),
+    IP("X-IP"),
+    TIMESTAMP("X-Timestamp");
+
+    private final String headerName;
+
+    DiagnosticHeader(String headerName) {
+        this.headerName = headerName;
+    }
+
+    public String headerName() {
+        return headerName;
+    }
+
+    /**
+     * Compute the header value only when the header is actually emitted
+     */
+    public String value(RequestInfo requestInfo) {
+        return switch (this) {
+            case REQUEST_ID -> requestInfo.getRequestId();
+            case DEVICE_TYPE -> requestInfo.getDeviceType();
+            case BROWSER -> requestInfo.getBrowserName() + " " + requestInfo.getBrowserVersion();
+            case OS -> requestInfo.getOperatingSystem();
+            case USER_AGENT -> requestInfo.getUserAgent();
+            case RESPONSE_TIME -> requestInfo.getDuration() + "ms";
+            case IP -> requestInfo.getUserIp();
+            case TIMESTAMP -> requestInfo.getTimestamp() != null ? requestInfo.getTimestamp().toString() : null;
+        };
+    }
+
+    /**
+     * Resolve a header from its HTTP name (case-insensitive)
+     */
+    public static Optional<DiagnosticHeader> fromHeaderName(String headerName) {
+        if (headerName == null) {
+            return Optional.empty();
+        }
+        String trimmed = headerName.trim();
+        for (DiagnosticHeader header : values()) {
+            if (header.headerName.equalsIgnoreCase(trimmed)) {
+                return Optional.of(header);
+            }
+        }
+        return Optional.empty();
+    }
+}
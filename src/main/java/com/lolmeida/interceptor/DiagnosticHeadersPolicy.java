@@ -0,0 +1,100 @@
+package com.lolmeida.interceptor;
+
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decides which diagnostic X-* headers are emitted for a given request path.
+ * The header set is resolved once at startup so the response filter only does a prefix check per request.
+ */
+@ApplicationScoped
+public class DiagnosticHeadersPolicy {
+
+    @ConfigProperty(name = "app.audit.headers.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.audit.headers.include",
+            defaultValue = "X-Request-ID,X-Device-Type,X-Browser,X-OS,X-User-Agent,X-Response-Time,X-IP,X-Timestamp")
+    List<String> include;
+
+    @ConfigProperty(name = "app.audit.headers.excluded-paths")
+    Optional<List<String>> excludedPaths;
+
+    private Set<DiagnosticHeader> activeHeaders = Collections.emptySet();
+    private String[] excludedPrefixes = new String[0];
+
+    @PostConstruct
+    void init() {
+        EnumSet<DiagnosticHeader> headers = EnumSet.noneOf(DiagnosticHeader.class);
+        if (enabled) {
+            for (String name : include) {
+                Optional<DiagnosticHeader> header = DiagnosticHeader.fromHeaderName(name);
+                if (header.isPresent()) {
+                    headers.add(header.get());
+                } else {
+                    Log.warnf("Ignoring unknown diagnostic header in app.audit.headers.include: %s", name);
+                }
+            }
+        }
+        activeHeaders = Collections.unmodifiableSet(headers);
+
+        excludedPrefixes = excludedPaths.orElse(List.of()).stream()
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .map(DiagnosticHeadersPolicy::normalizePath)
+                .map(DiagnosticHeadersPolicy::stripTrailingSlash)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Headers to emit for the given request path (empty when disabled or the path is excluded)
+     */
+    public Set<DiagnosticHeader> headersFor(String path) {
+        if (activeHeaders.isEmpty()) {
+            return activeHeaders;
+        }
+        if (excludedPrefixes.length > 0) {
+            String normalized = normalizePath(path);
+            for (String prefix : excludedPrefixes) {
+                if (isUnder(normalized, prefix)) {
+                    return Collections.emptySet();
+                }
+            }
+        }
+        return activeHeaders;
+    }
+
+    /**
+     * Whether the path is the prefix itself or below it: /api matches /api and /api/users, not /apix
+     */
+    private static boolean isUnder(String path, String prefix) {
+        if (prefix.equals("/")) {
+            return true;
+        }
+        return path.startsWith(prefix)
+                && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+    }
+
+    private static String stripTrailingSlash(String path) {
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(0, end);
+    }
+
+    private static String normalizePath(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        return path.charAt(0) == '/' ? path : "/" + path;
+    }
+}
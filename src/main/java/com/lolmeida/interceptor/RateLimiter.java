@@ -0,0 +1,193 @@
+package com.lolmeida.interceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process per-IP rate limiting for the API, used by the audit request filters.
+ * Complements the nginx Ingress limit: each (IP, limit) pair gets a lock-free token bucket
+ * (GCRA form, a single CAS on one long) kept in a bounded, expiring Caffeine cache.
+ * Route prefixes from app.rate-limit.routes take precedence over the read / write category limits.
+ */
+@ApplicationScoped
+public class RateLimiter {
+
+    static final String RETRY_AFTER = "Retry-After";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "app.rate-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.rate-limit.path-prefix", defaultValue = "/api/")
+    String pathPrefix;
+
+    // GET, HEAD, OPTIONS
+    @ConfigProperty(name = "app.rate-limit.read.requests-per-minute", defaultValue = "300")
+    int readRequestsPerMinute;
+
+    @ConfigProperty(name = "app.rate-limit.read.burst", defaultValue = "50")
+    int readBurst;
+
+    // POST, PUT, PATCH, DELETE
+    @ConfigProperty(name = "app.rate-limit.write.requests-per-minute", defaultValue = "60")
+    int writeRequestsPerMinute;
+
+    @ConfigProperty(name = "app.rate-limit.write.burst", defaultValue = "10")
+    int writeBurst;
+
+    // Route overrides: <path-prefix>=<requests-per-minute>[:<burst>]
+    @ConfigProperty(name = "app.rate-limit.routes")
+    Optional<List<String>> routeLimits;
+
+    @ConfigProperty(name = "app.rate-limit.max-tracked-clients", defaultValue = "20000")
+    int maxTrackedClients;
+
+    // Overridable in tests
+    LongSupplier clock = System::nanoTime;
+
+    private Limit readLimit;
+    private Limit writeLimit;
+    private List<Limit> routes = List.of();
+    private Cache<String, AtomicLong> buckets;
+
+    @PostConstruct
+    void init() {
+        readLimit = new Limit("read", null, readRequestsPerMinute, readBurst);
+        writeLimit = new Limit("write", null, writeRequestsPerMinute, writeBurst);
+
+        List<Limit> parsed = new ArrayList<>();
+        for (String entry : routeLimits.orElse(List.of())) {
+            Limit limit = parseRouteLimit(entry.trim());
+            if (limit != null) {
+                parsed.add(limit);
+            } else {
+                Log.warnf("Ignoring invalid entry in app.rate-limit.routes: %s", entry);
+            }
+        }
+        // Longest prefix wins
+        parsed.sort(Comparator.comparingInt((Limit limit) -> limit.prefix.length()).reversed());
+        routes = List.copyOf(parsed);
+
+        // A bucket idle this long is full again anyway, so dropping it loses nothing
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedClients)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .ticker(() -> clock.getAsLong())
+                .build();
+        for (Limit limit : allLimits()) {
+            limit.rejected = Counter.builder("http.rate.limited")
+                    .description("Requests rejected by the in-process rate limiter")
+                    .tag("limit", limit.id)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Take a token for the request.
+     * Returns empty when the request may proceed, otherwise the number of seconds to put in Retry-After.
+     */
+    public OptionalLong checkLimit(String userIp, String httpMethod, String path) {
+        if (!enabled || userIp == null || path == null || !path.startsWith(pathPrefix)) {
+            return OptionalLong.empty();
+        }
+
+        Limit limit = limitFor(httpMethod, path);
+        AtomicLong bucket = buckets.get(userIp + " " + limit.id, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = clock.getAsLong();
+
+        // GCRA: the bucket stores the theoretical arrival time of the next request
+        long tat;
+        long next;
+        do {
+            tat = bucket.get();
+            long base = Math.max(tat, now);
+            if (base - now > limit.toleranceNanos) {
+                limit.rejected.increment();
+                long waitNanos = base - limit.toleranceNanos - now;
+                long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                Log.debugf("Rate limit '%s' exceeded by %s on %s %s, retry after %ds",
+                        limit.id, userIp, httpMethod, path, retryAfter);
+                return OptionalLong.of(retryAfter);
+            }
+            next = base + limit.intervalNanos;
+        } while (!bucket.compareAndSet(tat, next));
+
+        return OptionalLong.empty();
+    }
+
+    private Limit limitFor(String httpMethod, String path) {
+        for (Limit route : routes) {
+            if (path.startsWith(route.prefix)) {
+                return route;
+            }
+        }
+        return isRead(httpMethod) ? readLimit : writeLimit;
+    }
+
+    private List<Limit> allLimits() {
+        List<Limit> limits = new ArrayList<>(routes);
+        limits.add(readLimit);
+        limits.add(writeLimit);
+        return limits;
+    }
+
+    private static boolean isRead(String httpMethod) {
+        return "GET".equalsIgnoreCase(httpMethod)
+                || "HEAD".equalsIgnoreCase(httpMethod)
+                || "OPTIONS".equalsIgnoreCase(httpMethod);
+    }
+
+    private static Limit parseRouteLimit(String entry) {
+        int equals = entry.lastIndexOf('=');
+        if (equals <= 0 || equals == entry.length() - 1) {
+            return null;
+        }
+        String prefix = entry.substring(0, equals).trim();
+        String value = entry.substring(equals + 1).trim();
+        int colon = value.indexOf(':');
+        try {
+            int requestsPerMinute = Integer.parseInt(colon < 0 ? value : value.substring(0, colon));
+            int burst = colon < 0 ? Math.max(1, requestsPerMinute / 6) : Integer.parseInt(value.substring(colon + 1));
+            if (requestsPerMinute <= 0 || burst <= 0 || prefix.isEmpty()) {
+                return null;
+            }
+            return new Limit(prefix, prefix, requestsPerMinute, burst);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Limit {
+        private final String id;
+        private final String prefix;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private Counter rejected;
+
+        private Limit(String id, String prefix, int requestsPerMinute, int burst) {
+            this.id = id;
+            this.prefix = prefix;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+            // Up to `burst` requests may arrive back to back
+            this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.lolmeida.interceptor;
 
 import com.lolmeida.dto.audit.RequestInfo;
+import com.lolmeida.dto.response.ApiResponse;
+import com.lolmeida.service.AuditCostProfiler;
 import com.lolmeida.service.AuditService;
 import com.lolmeida.util.RequestInfoExtractor;
 import io.quarkus.logging.Log;
@@ -9,9 +11,15 @@ import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
 import jakarta.ws.rs.container.ContainerResponseContext;
 import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.io.IOException;
+import java.util.OptionalLong;
 
 @Provider
 public class RequestInfoInterceptor implements ContainerRequestFilter, ContainerResponseFilter {
@@ -22,16 +30,40 @@ public class RequestInfoInterceptor implements ContainerRequestFilter, Container
     @Inject
     AuditService auditService;
 
+    @Inject
+    DiagnosticHeadersPolicy diagnosticHeadersPolicy;
+
+    @Inject
+    RateLimiter rateLimiter;
+
+    @Inject
+    AuditCostProfiler auditCostProfiler;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    static final String MODE = "jaxrs";
+
+    // Audit filter implementation: "jaxrs" (this filter) or "vertx" (VertxRequestAuditFilter)
+    @ConfigProperty(name = "app.audit.filter", defaultValue = MODE)
+    String auditFilter;
+
     private static final String REQUEST_INFO_PROPERTY = "REQUEST_INFO";
     private static final String REQUEST_START_TIME = "REQUEST_START_TIME";
 
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
+        if (!MODE.equalsIgnoreCase(auditFilter)) {
+            return;
+        }
+
         // Record start time
         long startTime = System.currentTimeMillis();
         requestContext.setProperty(REQUEST_START_TIME, startTime);
 
         try {
+            AuditCostProfiler.Probe probe = auditCostProfiler.begin();
+
             // Extract request information
             RequestInfo requestInfo = requestInfoExtractor.extractRequestInfo(requestContext);
             
@@ -47,6 +79,19 @@ public class RequestInfoInterceptor implements ContainerRequestFilter, Container
                     requestInfo.getOperatingSystem(),
                     requestInfo.getDeviceType(),
                     requestInfo.getRequestId());
+            probe.lap(AuditCostProfiler.Stage.EXTRACT);
+
+            // Reject before any resource work; the response filter still audits the 429
+            OptionalLong retryAfter = rateLimiter.checkLimit(
+                    requestInfo.getUserIp(), requestInfo.getHttpMethod(), requestInfo.getRequestUri());
+            if (retryAfter.isPresent()) {
+                requestContext.abortWith(Response.status(Response.Status.TOO_MANY_REQUESTS)
+                        .header(RateLimiter.RETRY_AFTER, retryAfter.getAsLong())
+                        .entity(ApiResponse.error("Too many requests", Response.Status.TOO_MANY_REQUESTS.getStatusCode()))
+                        .type(MediaType.APPLICATION_JSON)
+                        .build());
+            }
+            probe.lap(AuditCostProfiler.Stage.RATE_LIMIT);
             
         } catch (Exception e) {
             Log.errorf("Failed to extract request info: %s", e.getMessage());
@@ -64,22 +109,22 @@ public class RequestInfoInterceptor implements ContainerRequestFilter, Container
             RequestInfo requestInfo = (RequestInfo) requestContext.getProperty(REQUEST_INFO_PROPERTY);
             
             if (requestInfo != null) {
+                AuditCostProfiler.Probe probe = auditCostProfiler.begin();
+
                 // Update request info with response data
                 int statusCode = responseContext.getStatus();
                 long responseSize = estimateResponseSize(responseContext);
                 
                 RequestInfo completeInfo = requestInfoExtractor.extractRequestInfo(
                         requestContext, duration, statusCode, responseSize);
+                // Null for unmatched paths (404s from scanners), so per-route state stays bounded
+                completeInfo.setRouteTemplate(RequestInfoExtractor.resourceTemplate(
+                        resourceInfo.getResourceClass(), resourceInfo.getResourceMethod()));
                 
-                // Add device information to response headers
-                responseContext.getHeaders().add("X-Request-ID", completeInfo.getRequestId());
-                responseContext.getHeaders().add("X-Device-Type", completeInfo.getDeviceType());
-                responseContext.getHeaders().add("X-Browser", completeInfo.getBrowserName() + " " + completeInfo.getBrowserVersion());
-                responseContext.getHeaders().add("X-OS", completeInfo.getOperatingSystem());
-                responseContext.getHeaders().add("X-User-Agent", completeInfo.getUserAgent());
-                responseContext.getHeaders().add("X-Response-Time", completeInfo.getDuration() + "ms");
-                responseContext.getHeaders().add("X-IP", completeInfo.getUserIp());
-                responseContext.getHeaders().add("X-Timestamp", completeInfo.getTimestamp().toString());
+                // Add the configured diagnostic headers (none on excluded paths)
+                for (DiagnosticHeader header : diagnosticHeadersPolicy.headersFor(completeInfo.getRequestUri())) {
+                    responseContext.getHeaders().add(header.headerName(), header.value(completeInfo));
+                }
                 
                 // Log the response
                 Log.infof("📤 Response: %s %s -> %d (%dms) [%s]",
@@ -88,6 +133,7 @@ public class RequestInfoInterceptor implements ContainerRequestFilter, Container
                         completeInfo.getResponseStatus(),
                         completeInfo.getDuration(),
                         completeInfo.getRequestId());
+                probe.lap(AuditCostProfiler.Stage.RESPONSE_FILTER);
                 
                 // Process complete audit
                 auditService.processCompleteAudit(completeInfo);
@@ -0,0 +1,140 @@
+package com.lolmeida.interceptor;
+
+import com.lolmeida.dto.audit.RequestInfo;
+import com.lolmeida.dto.response.ApiResponse;
+import com.lolmeida.service.AuditCostProfiler;
+import com.lolmeida.service.AuditService;
+import com.lolmeida.util.RequestInfoExtractor;
+import io.quarkus.logging.Log;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking alternative to {@link RequestInfoInterceptor}.
+ * Registered as a Vert.x route filter, so it runs on the event loop and also covers
+ * requests that never reach JAX-RS (static resources, /q/* endpoints).
+ * Enabled with app.audit.filter=vertx.
+ */
+@ApplicationScoped
+public class VertxRequestAuditFilter {
+
+    static final String MODE = "vertx";
+
+    // Run before the application routes
+    private static final int FILTER_PRIORITY = 100;
+
+    // Matched resource template, put in the routing context by Quarkus REST when metrics are enabled
+    private static final String URL_PATH_TEMPLATE = "UrlPathTemplate";
+
+    @Inject
+    RequestInfoExtractor requestInfoExtractor;
+
+    @Inject
+    AuditService auditService;
+
+    @Inject
+    DiagnosticHeadersPolicy diagnosticHeadersPolicy;
+
+    @Inject
+    RateLimiter rateLimiter;
+
+    @Inject
+    AuditCostProfiler auditCostProfiler;
+
+    @ConfigProperty(name = "app.audit.filter", defaultValue = RequestInfoInterceptor.MODE)
+    String auditFilter;
+
+    void registerFilter(@Observes Filters filters) {
+        if (MODE.equalsIgnoreCase(auditFilter)) {
+            filters.register(this::audit, FILTER_PRIORITY);
+            Log.info("🔍 Request audit running as Vert.x route filter");
+        }
+    }
+
+    void audit(RoutingContext routingContext) {
+        long startTime = System.nanoTime();
+        AuditCostProfiler.Probe probe = auditCostProfiler.begin();
+
+        RequestInfo requestInfo;
+        try {
+            requestInfo = requestInfoExtractor.extractRequestInfo(routingContext.request());
+        } catch (Exception e) {
+            Log.errorf("Failed to extract request info: %s", e.getMessage());
+            routingContext.next();
+            return;
+        }
+
+        HttpServerResponse response = routingContext.response();
+
+        // Diagnostic headers must be added before the response headers are written
+        routingContext.addHeadersEndHandler(ignored -> {
+            try {
+                var headers = diagnosticHeadersPolicy.headersFor(requestInfo.getRequestUri());
+                if (!headers.isEmpty()) {
+                    RequestInfo headerInfo = requestInfoExtractor.completeRequestInfo(
+                            requestInfo, elapsedMillis(startTime), response.getStatusCode(), null);
+                    for (DiagnosticHeader header : headers) {
+                        String value = header.value(headerInfo);
+                        if (value != null) {
+                            response.putHeader(header.headerName(), value);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                Log.errorf("Failed to add diagnostic headers: %s", e.getMessage());
+            }
+        });
+
+        // Runs once the response is fully written (or the connection closed)
+        routingContext.addEndHandler(ignored -> {
+            try {
+                AuditCostProfiler.Probe responseProbe = auditCostProfiler.begin();
+                RequestInfo completeInfo = requestInfoExtractor.completeRequestInfo(
+                        requestInfo, elapsedMillis(startTime), response.getStatusCode(), response.bytesWritten());
+                completeInfo.setRouteTemplate(routingContext.get(URL_PATH_TEMPLATE));
+
+                Log.infof("📤 Response: %s %s -> %d (%dms) [%s]",
+                        completeInfo.getHttpMethod(),
+                        completeInfo.getRequestUri(),
+                        completeInfo.getResponseStatus(),
+                        completeInfo.getDuration(),
+                        completeInfo.getRequestId());
+                responseProbe.lap(AuditCostProfiler.Stage.RESPONSE_FILTER);
+
+                auditService.processCompleteAudit(completeInfo);
+            } catch (Exception e) {
+                Log.errorf("Failed to process response info: %s", e.getMessage());
+            }
+        });
+        probe.lap(AuditCostProfiler.Stage.EXTRACT);
+
+        OptionalLong retryAfter = rateLimiter.checkLimit(
+                requestInfo.getUserIp(), requestInfo.getHttpMethod(), requestInfo.getRequestUri());
+        probe.lap(AuditCostProfiler.Stage.RATE_LIMIT);
+        if (retryAfter.isPresent()) {
+            // Answer directly from the event loop; the end handler above still audits the 429
+            response.setStatusCode(HttpResponseStatus.TOO_MANY_REQUESTS.code())
+                    .putHeader(RateLimiter.RETRY_AFTER, String.valueOf(retryAfter.getAsLong()))
+                    .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .end(Json.encode(ApiResponse.error("Too many requests", HttpResponseStatus.TOO_MANY_REQUESTS.code())));
+            return;
+        }
+
+        routingContext.next();
+    }
+
+    private static long elapsedMillis(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+}
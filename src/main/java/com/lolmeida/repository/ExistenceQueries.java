@@ -0,0 +1,36 @@
+package com.lolmeida.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Existence checks shared by the repositories. The query selects a constant and fetches at most
+ * one row, so the database stops at the first match instead of counting every matching row.
+ */
+final class ExistenceQueries {
+
+    private ExistenceQueries() {
+    }
+
+    /**
+     * Query for {@code SELECT 1 FROM <entity> WHERE <condition>} with positional parameters ?1, ?2...
+     */
+    static TypedQuery<Integer> select(EntityManager em, String entity, String condition, Object... params) {
+        TypedQuery<Integer> query = em.createQuery("SELECT 1 FROM " + entity + " WHERE " + condition, Integer.class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query;
+    }
+
+    /**
+     * Whether the query returns at least one row, fetching no more than one
+     */
+    static boolean exists(TypedQuery<?> query) {
+        return !query.setMaxResults(1).getResultList().isEmpty();
+    }
+
+    static boolean exists(EntityManager em, String entity, String condition, Object... params) {
+        return exists(select(em, entity, condition, params));
+    }
+}
@@ -1,17 +1,28 @@
 package com.lolmeida.repository;
 
+import com.lolmeida.dto.projection.AppManifestSummary;
+import com.lolmeida.dto.projection.AppSummary;
+import com.lolmeida.dto.projection.StackSummary;
 import com.lolmeida.entity.core.Environment;
 import com.lolmeida.entity.core.Stack;
+import com.lolmeida.entity.core.ValuesSnapshot;
 import com.lolmeida.entity.k8s.*;
 import com.lolmeida.entity.k8s.*;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class K8sRepository {
 
+    @PersistenceContext
+    EntityManager em;
+
     // ========== ENVIRONMENT OPERATIONS ==========
     
     public List<Environment> findAllEnvironments() {
@@ -41,6 +52,74 @@ public class K8sRepository {
         return Stack.find("id = ?1 and environment.id = ?2", stackId, envId).firstResultOptional();
     }
     
+    /**
+     * Stack columns only, without loading entities or their environment (listing)
+     */
+    public List<StackSummary> findStackSummaries() {
+        return Stack.findAll(Sort.by("id")).project(StackSummary.class).list();
+    }
+    
+    public List<StackSummary> findStackSummariesByEnvironmentId(Long envId) {
+        return Stack.find("environment.id", Sort.by("id"), envId).project(StackSummary.class).list();
+    }
+    
+    public Optional<StackSummary> findStackSummaryByEnvironmentAndName(Long envId, String stackName) {
+        return Stack.find("environment.id = ?1 and name = ?2", envId, stackName)
+                .project(StackSummary.class).firstResultOptional();
+    }
+    
+    /**
+     * Stack with its environment in a single statement (values generation)
+     */
+    public Optional<Stack> findStackWithEnvironment(Long envId, String stackName) {
+        return Stack.find("from Stack s join fetch s.environment e where e.id = ?1 and s.name = ?2", envId, stackName)
+                .firstResultOptional();
+    }
+    
+    /**
+     * Version of everything the generated values of a stack depend on (environment, stack, apps, manifests):
+     * last update times plus row counts, so inserts and deletes change it too. Empty when the stack does not exist.
+     */
+    public Optional<String> findStackValuesVersion(Long envId, String stackName) {
+        List<Object[]> rows = em.createQuery(
+                "SELECT s.id, e.updatedAt, s.updatedAt, COUNT(DISTINCT a.id), MAX(a.updatedAt), COUNT(m.id), MAX(m.updatedAt) " +
+                "FROM Stack s JOIN s.environment e LEFT JOIN s.apps a LEFT JOIN a.requiredManifests m " +
+                "WHERE e.id = ?1 AND s.name = ?2 " +
+                "GROUP BY s.id, e.updatedAt, s.updatedAt", Object[].class)
+                .setParameter(1, envId)
+                .setParameter(2, stackName)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        StringBuilder version = new StringBuilder();
+        for (Object column : rows.get(0)) {
+            version.append(column).append('|');
+        }
+        return Optional.of(version.toString());
+    }
+    
+    /**
+     * Enabled stacks with their environments, of one environment or of all when envId is null (values export)
+     */
+    public List<Stack> findEnabledStacksWithEnvironment(Long envId) {
+        if (envId == null) {
+            return Stack.find("from Stack s join fetch s.environment e where s.enabled = true ORDER BY e.name, s.name")
+                    .list();
+        }
+        return Stack.find("from Stack s join fetch s.environment e where s.enabled = true and e.id = ?1 ORDER BY s.name", envId)
+                .list();
+    }
+    
+    public Optional<ValuesSnapshot> findValuesSnapshot(Long envId, String stackName) {
+        return ValuesSnapshot.find("environmentId = ?1 and stackName = ?2", envId, stackName).firstResultOptional();
+    }
+    
+    public ValuesSnapshot persistValuesSnapshot(ValuesSnapshot snapshot) {
+        snapshot.persist();
+        return snapshot;
+    }
+    
     public Stack persistStack(Stack stack) {
         stack.persist();
         return stack;
@@ -52,6 +131,37 @@ public class K8sRepository {
         return App.find("stack.id = ?1 ORDER BY deploymentPriority, name", stackId).list();
     }
     
+    /**
+     * Apps of a stack with their manifests fetched in the same statement (values generation)
+     */
+    public List<App> findAppsWithManifestsByStackId(Long stackId) {
+        return App.find("select distinct a from App a left join fetch a.requiredManifests " +
+                        "where a.stack.id = ?1 ORDER BY a.deploymentPriority, a.name", stackId).list();
+    }
+    
+    /**
+     * Apps of several stacks with their manifests, in one statement (values export)
+     */
+    public List<App> findAppsWithManifestsByStackIds(Collection<Long> stackIds) {
+        if (stackIds.isEmpty()) {
+            return List.of();
+        }
+        return App.find("select distinct a from App a join fetch a.stack left join fetch a.requiredManifests " +
+                        "where a.stack.id in ?1 ORDER BY a.deploymentPriority, a.name", stackIds).list();
+    }
+    
+    /**
+     * App columns only, without loading the stack or the manifests (listing)
+     */
+    public List<AppSummary> findAppSummaries() {
+        return App.findAll(Sort.by("deploymentPriority").and("name")).project(AppSummary.class).list();
+    }
+    
+    public List<AppSummary> findAppSummariesByStackId(Long stackId) {
+        return App.find("stack.id", Sort.by("deploymentPriority").and("name"), stackId)
+                .project(AppSummary.class).list();
+    }
+    
     public List<App> findAppsByEnvironmentAndStack(Long envId, Long stackId) {
         return App.find("stack.environment.id = ?1 and stack.id = ?2 ORDER BY deploymentPriority, name", 
                        envId, stackId).list();
@@ -73,6 +183,18 @@ public class K8sRepository {
         return AppManifest.find("app.id = ?1 ORDER BY creationPriority", appId).list();
     }
     
+    /**
+     * Manifest columns only, without loading the app (listing)
+     */
+    public List<AppManifestSummary> findAppManifestSummaries() {
+        return AppManifest.findAll(Sort.by("creationPriority").and("id")).project(AppManifestSummary.class).list();
+    }
+    
+    public List<AppManifestSummary> findAppManifestSummariesByAppId(Long appId) {
+        return AppManifest.find("app.id", Sort.by("creationPriority"), appId)
+                .project(AppManifestSummary.class).list();
+    }
+    
     public List<AppManifest> findAppManifestsByAppAndEnvironmentAndStack(Long appId, Long envId, Long stackId) {
         return AppManifest.find("app.id = ?1 and app.stack.environment.id = ?2 and app.stack.id = ?3 ORDER BY creationPriority", 
                                appId, envId, stackId).list();
@@ -1,23 +1,52 @@
 package com.lolmeida.repository;
 
+import com.lolmeida.dto.projection.AuthDefaultSummary;
+import com.lolmeida.dto.projection.CategoryStats;
+import com.lolmeida.dto.projection.ManifestDefaultSummary;
+import com.lolmeida.entity.core.Environment;
+import com.lolmeida.entity.core.Stack;
 import com.lolmeida.entity.k8s.AuthDefault;
 import com.lolmeida.entity.k8s.ManifestDefault;
+import com.lolmeida.entity.k8s.ManifestDefaultRule;
 import com.lolmeida.entity.k8s.ServiceCategory;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Repository for accessing manifest defaults and related data from database
+ * Repository for accessing manifest defaults and related data from database.
+ * Queries over the reference tables (categories, manifest and auth defaults) go through the
+ * Hibernate query cache. Hibernate only invalidates it for writes made through Hibernate; these
+ * tables are edited with SQL, so readers check {@link #findDefaultsVersion()} first (through
+ * K8sManifestDefaultsService#defaultsVersion) and {@link #evictSecondLevelCache()} drops stale entries.
  */
 @ApplicationScoped
 public class ManifestDefaultsRepository implements PanacheRepository<ManifestDefault> {
 
+    /**
+     * Query cache region of the reference data queries
+     */
+    public static final String QUERY_CACHE_REGION = "config-reference";
+
+    /**
+     * Second-level cached entities, evicted together by {@link #evictSecondLevelCache()}
+     */
+    static final List<Class<?>> CACHED_ENTITIES = List.of(
+            ServiceCategory.class, ManifestDefault.class, AuthDefault.class, Environment.class, Stack.class);
+
     @PersistenceContext
     EntityManager em;
 
@@ -31,7 +60,7 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
             "SELECT sc FROM ServiceCategory sc WHERE sc.isActive = true ORDER BY sc.name", 
             ServiceCategory.class
         );
-        return query.getResultList();
+        return cached(query).getResultList();
     }
 
     /**
@@ -44,7 +73,7 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
         );
         query.setParameter("name", categoryName);
         try {
-            return Optional.of(query.getSingleResult());
+            return Optional.of(cached(query).getSingleResult());
         } catch (Exception e) {
             return Optional.empty();
         }
@@ -65,7 +94,7 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
      * Find all active manifest defaults for a category
      */
     public List<ManifestDefault> findManifestDefaultsByCategory(String categoryName) {
-        return find("category.name = ?1 AND isActive = true ORDER BY creationPriority ASC", categoryName).list();
+        return cached(find("category.name = ?1 AND isActive = true ORDER BY creationPriority ASC", categoryName)).list();
     }
 
     /**
@@ -79,16 +108,16 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
      * Find specific manifest default by category and manifest type
      */
     public Optional<ManifestDefault> findManifestDefault(String categoryName, String manifestType) {
-        return find("category.name = ?1 AND manifestType = ?2 AND isActive = true", 
-                   categoryName, manifestType).firstResultOptional();
+        return cached(find("category.name = ?1 AND manifestType = ?2 AND isActive = true", 
+                   categoryName, manifestType)).firstResultOptional();
     }
 
     /**
      * Get all unique manifest types used across all categories
      */
     public List<String> getAllManifestTypes() {
-        return getEntityManager()
-                .createQuery("SELECT DISTINCT md.manifestType FROM ManifestDefault md WHERE md.isActive = true", String.class)
+        return cached(getEntityManager()
+                .createQuery("SELECT DISTINCT md.manifestType FROM ManifestDefault md WHERE md.isActive = true", String.class))
                 .getResultList();
     }
 
@@ -108,29 +137,45 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
                    categoryName).list();
     }
 
+    // ========== MANIFEST DEFAULT RULES ==========
+
+    /**
+     * Active rules that apply to a category: the global ones (no category) first, then the category's own
+     */
+    public List<ManifestDefaultRule> findManifestDefaultRules(String categoryName) {
+        TypedQuery<ManifestDefaultRule> query = em.createQuery(
+            "SELECT r FROM ManifestDefaultRule r LEFT JOIN r.category c " +
+            "WHERE r.isActive = true AND (c IS NULL OR c.name = :name) " +
+            "ORDER BY CASE WHEN c IS NULL THEN 0 ELSE 1 END, r.manifestType",
+            ManifestDefaultRule.class
+        );
+        query.setParameter("name", categoryName);
+        return query.getResultList();
+    }
+
     // ========== AUTH DEFAULTS ==========
 
     /**
      * Find all auth defaults for a category
      */
     public List<AuthDefault> findAuthDefaultsByCategory(String categoryName) {
-        return AuthDefault.<AuthDefault>find("category.name = ?1 AND isActive = true ORDER BY authType ASC", categoryName).list();
+        return cached(AuthDefault.<AuthDefault>find("category.name = ?1 AND isActive = true ORDER BY authType ASC", categoryName)).list();
     }
 
     /**
      * Find specific auth default by category and auth type
      */
     public Optional<AuthDefault> findAuthDefault(String categoryName, String authType) {
-        return AuthDefault.<AuthDefault>find("category.name = ?1 AND authType = ?2 AND isActive = true", 
-                                           categoryName, authType).firstResultOptional();
+        return cached(AuthDefault.<AuthDefault>find("category.name = ?1 AND authType = ?2 AND isActive = true", 
+                                           categoryName, authType)).firstResultOptional();
     }
 
     /**
      * Get all unique auth types used across all categories
      */
     public List<String> getAllAuthTypes() {
-        return getEntityManager()
-                .createQuery("SELECT DISTINCT ad.authType FROM AuthDefault ad WHERE ad.isActive = true", String.class)
+        return cached(getEntityManager()
+                .createQuery("SELECT DISTINCT ad.authType FROM AuthDefault ad WHERE ad.isActive = true", String.class))
                 .getResultList();
     }
 
@@ -138,8 +183,8 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
      * Find supported auth types for a specific category
      */
     public List<String> getAuthTypesForCategory(String categoryName) {
-        return getEntityManager()
-                .createQuery("SELECT ad.authType FROM AuthDefault ad WHERE ad.category.name = ?1 AND ad.isActive = true ORDER BY ad.authType ASC", String.class)
+        return cached(getEntityManager()
+                .createQuery("SELECT ad.authType FROM AuthDefault ad WHERE ad.category.name = ?1 AND ad.isActive = true ORDER BY ad.authType ASC", String.class))
                 .setParameter(1, categoryName)
                 .getResultList();
     }
@@ -154,7 +199,7 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
             "SELECT COUNT(sc) FROM ServiceCategory sc WHERE sc.isActive = true", 
             Long.class
         );
-        return query.getSingleResult();
+        return cached(query).getSingleResult();
     }
 
     /**
@@ -173,37 +218,133 @@ public class ManifestDefaultsRepository implements PanacheRepository<ManifestDef
             Long.class
         );
         query.setParameter("categoryName", categoryName);
-        return query.getSingleResult();
+        return cached(query).getSingleResult();
     }
 
     /**
      * Check if category exists and is active
      */
     public boolean categoryExists(String categoryName) {
-        TypedQuery<Long> query = em.createQuery(
-            "SELECT COUNT(sc) FROM ServiceCategory sc WHERE sc.name = :name AND sc.isActive = true", 
-            Long.class
-        );
-        query.setParameter("name", categoryName);
-        return query.getSingleResult() > 0;
+        return referenceExists("ServiceCategory", "name = ?1 AND isActive = true", categoryName);
+    }
+
+    /**
+     * Whether a reference data row matches the condition; stops at the first match and is
+     * served from the query cache until one of the reference tables is written
+     */
+    public boolean referenceExists(String entity, String condition, Object... params) {
+        return ExistenceQueries.exists(cached(ExistenceQueries.select(em, entity, condition, params)));
     }
 
     /**
-     * Get complete category information with counts
+     * Active categories with their active manifest and auth default counts, in one grouped query
      */
-    public List<Object[]> getCategoryStats() {
-        return getEntityManager()
-                .createQuery("""
-                    SELECT c.name, c.displayName, c.description, c.icon, c.color,
-                           COUNT(DISTINCT md.id) as manifestCount,
-                           COUNT(DISTINCT ad.id) as authCount
+    public List<CategoryStats> getCategoryStats() {
+        return cached(em.createQuery("""
+                    SELECT new com.lolmeida.dto.projection.CategoryStats(
+                           c.name, c.displayName, c.description, c.icon, c.color, c.isActive,
+                           COUNT(DISTINCT md.id), COUNT(DISTINCT ad.id))
                     FROM ServiceCategory c
                     LEFT JOIN c.manifestDefaults md ON md.isActive = true
                     LEFT JOIN c.authDefaults ad ON ad.isActive = true
                     WHERE c.isActive = true
-                    GROUP BY c.id, c.name, c.displayName, c.description, c.icon, c.color
+                    GROUP BY c.id, c.name, c.displayName, c.description, c.icon, c.color, c.isActive
                     ORDER BY c.name
-                    """)
+                    """, CategoryStats.class))
                 .getResultList();
     }
+
+    /**
+     * Active manifest defaults of all active categories, by category and creation priority
+     */
+    public List<ManifestDefaultSummary> findManifestDefaultSummaries() {
+        return cached(find("isActive = true AND category.isActive = true ORDER BY category.name, creationPriority")
+                .project(ManifestDefaultSummary.class)).list();
+    }
+
+    /**
+     * Active auth defaults of all active categories, by category and auth type
+     */
+    public List<AuthDefaultSummary> findAuthDefaultSummaries() {
+        return cached(AuthDefault.find("isActive = true AND category.isActive = true ORDER BY category.name, authType")
+                .project(AuthDefaultSummary.class)).list();
+    }
+
+    /**
+     * Active auth defaults of a category, by auth type
+     */
+    public List<AuthDefaultSummary> findAuthDefaultSummaries(String categoryName) {
+        return cached(AuthDefault.find("category.name = ?1 AND isActive = true AND category.isActive = true ORDER BY authType", categoryName)
+                .project(AuthDefaultSummary.class)).list();
+    }
+
+    /**
+     * Version of all reference data used by values generation (categories, manifest and auth defaults, rules):
+     * row counts of active rows plus last update times, so edits, inserts and (de)activations change it.
+     * Never cached, so rows edited with plain SQL are seen as well.
+     */
+    public String findDefaultsVersion() {
+        Object[] row = em.createQuery("""
+                    SELECT COUNT(c), MAX(c.updatedAt),
+                           (SELECT COUNT(md) FROM ManifestDefault md WHERE md.isActive = true),
+                           (SELECT MAX(md.updatedAt) FROM ManifestDefault md),
+                           (SELECT COUNT(ad) FROM AuthDefault ad WHERE ad.isActive = true),
+                           (SELECT MAX(ad.updatedAt) FROM AuthDefault ad),
+                           (SELECT COUNT(r) FROM ManifestDefaultRule r WHERE r.isActive = true),
+                           (SELECT MAX(r.updatedAt) FROM ManifestDefaultRule r)
+                    FROM ServiceCategory c
+                    WHERE c.isActive = true
+                    """, Object[].class)
+                .getSingleResult();
+        StringBuilder version = new StringBuilder();
+        for (Object column : row) {
+            version.append(column).append('|');
+        }
+        return version.toString();
+    }
+
+    // ========== SECOND-LEVEL CACHE ==========
+
+    /**
+     * Drop the cached reference entities and queries, for changes made outside Hibernate (SQL, migrations)
+     */
+    public void evictSecondLevelCache() {
+        Cache cache = em.getEntityManagerFactory().getCache();
+        CACHED_ENTITIES.forEach(cache::evict);
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegion(QUERY_CACHE_REGION);
+    }
+
+    /**
+     * Hit/miss/put counts of the second-level cache regions (entity regions and the query region)
+     */
+    public Map<String, Object> secondLevelCacheStatistics() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, describe(regionStatistics));
+            }
+        }
+        return regions;
+    }
+
+    private Map<String, Object> describe(CacheRegionStatistics statistics) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("hitCount", statistics.getHitCount());
+        description.put("missCount", statistics.getMissCount());
+        description.put("putCount", statistics.getPutCount());
+        description.put("elementCountInMemory", statistics.getElementCountInMemory());
+        return description;
+    }
+
+    private <T> TypedQuery<T> cached(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION);
+    }
+
+    private <T> PanacheQuery<T> cached(PanacheQuery<T> query) {
+        return query.withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION);
+    }
 } 
\ No newline at end of file
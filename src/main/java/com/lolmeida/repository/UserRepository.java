@@ -1,12 +1,39 @@
 package com.lolmeida.repository;
 
+import com.lolmeida.dto.projection.UserIdentity;
 import com.lolmeida.entity.User;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
+
+    /**
+     * Rows fetched per round trip when streaming (MySQL needs useCursorFetch=true to honour it)
+     */
+    static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Keyset orders of the user listing, each backed by an index
+     */
+    public enum Order { ID, CREATED_AT }
+
+    /**
+     * Position of the last row of a page; createdAt is only used by {@link Order#CREATED_AT}
+     */
+    public record Cursor(Long id, LocalDateTime createdAt) {
+    }
     
     public Optional<User> findByUsername(String username) {
         return find("username", username).firstResultOptional();
@@ -21,17 +48,99 @@ public class UserRepository implements PanacheRepository<User> {
     }
     
     public boolean existsByUsername(String username) {
-        return find("username", username).count() > 0;
+        return ExistenceQueries.exists(getEntityManager(), "User", "username = ?1", username);
     }
     
     public boolean existsByEmail(String email) {
-        return find("email", email).count() > 0;
+        return ExistenceQueries.exists(getEntityManager(), "User", "email = ?1", email);
     }
 
     public Optional<User> findByIdOptional(Long id) {
         return find("id", id).firstResultOptional();
     }
 
+    /**
+     * Whether another user (id other than excludeId) already has the username or the email, in one query
+     */
+    public boolean isUsernameOrEmailTaken(String username, String email, Long excludeId) {
+        if (excludeId == null) {
+            return ExistenceQueries.exists(getEntityManager(), "User", "username = ?1 or email = ?2", username, email);
+        }
+        return ExistenceQueries.exists(getEntityManager(), "User",
+                "(username = ?1 or email = ?2) and id <> ?3", username, email, excludeId);
+    }
+
+    /**
+     * Username and email of every user holding one of the usernames or one of the emails, in one query
+     */
+    public List<UserIdentity> findIdentities(Collection<String> usernames, Collection<String> emails) {
+        return find("username in ?1 or email in ?2", usernames, emails).project(UserIdentity.class).list();
+    }
+
+    /**
+     * Inserts the users in their own transaction; ids come from the pooled generator, so Hibernate
+     * sends the inserts as JDBC batches on flush
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void insertBatch(List<User> users) {
+        persist(users);
+        flush();
+        getEntityManager().clear();
+    }
+
+    /**
+     * Up to limit users strictly after the cursor, filtered by username/email prefix
+     */
+    public List<User> findPage(Order order, Cursor after, String usernamePrefix, String emailPrefix, int limit) {
+        return pageQuery(order, after, usernamePrefix, emailPrefix).range(0, limit - 1).list();
+    }
+
+    /**
+     * Same rows as {@link #findPage} without a limit, read through a database cursor.
+     * Must be consumed and closed inside a transaction.
+     */
+    public Stream<User> stream(Order order, Cursor after, String usernamePrefix, String emailPrefix) {
+        return pageQuery(order, after, usernamePrefix, emailPrefix)
+                .withHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
+    }
+
+    private PanacheQuery<User> pageQuery(Order order, Cursor after, String usernamePrefix, String emailPrefix) {
+        StringBuilder query = new StringBuilder("1 = 1");
+        Parameters parameters = new Parameters();
+        // Prefix LIKEs can use idx_users_username / idx_users_email
+        if (usernamePrefix != null && !usernamePrefix.isBlank()) {
+            query.append(" and username like :username escape '!'");
+            parameters.and("username", likePrefix(usernamePrefix));
+        }
+        if (emailPrefix != null && !emailPrefix.isBlank()) {
+            query.append(" and email like :email escape '!'");
+            parameters.and("email", likePrefix(emailPrefix));
+        }
+
+        Sort sort;
+        if (order == Order.CREATED_AT) {
+            if (after != null) {
+                query.append(" and (createdAt < :afterCreatedAt or (createdAt = :afterCreatedAt and id < :afterId))");
+                parameters.and("afterCreatedAt", after.createdAt()).and("afterId", after.id());
+            }
+            sort = Sort.descending("createdAt", "id");
+        } else {
+            if (after != null) {
+                query.append(" and id > :afterId");
+                parameters.and("afterId", after.id());
+            }
+            sort = Sort.ascending("id");
+        }
+        return find(query.toString(), sort, parameters);
+    }
+
+    private static String likePrefix(String prefix) {
+        // '!' instead of a backslash: MySQL treats backslashes in literals as escapes
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
     public boolean delete (long id) {
         return deleteById(id);
     }
@@ -40,4 +149,4 @@ public class UserRepository implements PanacheRepository<User> {
          persistAndFlush(entity);
     }
 
-} 
\ No newline at end of file
+}
@@ -1,9 +1,7 @@
 package com.lolmeida.resource;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 // Entity imports
 import com.lolmeida.dto.request.AppManifestRequest;
@@ -20,19 +18,25 @@ import com.lolmeida.entity.k8s.ServiceCategory;
 import com.lolmeida.entity.k8s.*;
 
 // DTO imports
+import com.lolmeida.dto.projection.CategoryStats;
 import com.lolmeida.dto.request.*;
 import com.lolmeida.dto.response.*;
 import com.lolmeida.dto.mapper.MapperService;
 
 // Service imports
-import com.lolmeida.service.K8sService;
+import com.lolmeida.service.AppValuesFragments;
+import com.lolmeida.service.ConfigSnapshot;
 import com.lolmeida.service.DeploymentService;
 import com.lolmeida.service.K8sManifestDefaultsService;
+import com.lolmeida.service.StackValuesCache;
+import com.lolmeida.service.StackValuesExporter;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -54,9 +58,6 @@ import java.util.Set;
 @Tag(name = "Configuration", description = "Kubernetes configuration management API")
 public class K8sConfigResource {
 
-    @Inject
-    K8sService valuesGenerator;
-
     @Inject
     MapperService mapperService;
 
@@ -66,12 +67,24 @@ public class K8sConfigResource {
     @Inject
     K8sManifestDefaultsService manifestDefaultsService;
 
-    private ObjectMapper yamlMapper;
+    @Inject
+    StackValuesCache valuesCache;
 
-    @jakarta.annotation.PostConstruct
-    void init() {
-        yamlMapper = new ObjectMapper(new YAMLFactory());
-    }
+    @Inject
+    StackValuesExporter valuesExporter;
+
+    @Inject
+    AppValuesFragments appValuesFragments;
+
+    // Fully qualified: the k8s entity package also has a K8sService
+    @Inject
+    com.lolmeida.service.K8sService valuesService;
+
+    @Inject
+    Event<StackValuesCache.ValuesChanged> valuesChanged;
+
+    @Inject
+    ConfigSnapshot configSnapshot;
 
     // ENVIRONMENTS
     @GET
@@ -79,20 +92,15 @@ public class K8sConfigResource {
     @Operation(summary = "Get all environments", description = "Retrieve all available environments")
     @APIResponse(responseCode = "200", description = "List of environments")
     public List<EnvironmentResponse> getEnvironments() {
-        List<Environment> environments = Environment.listAll();
-        return environments.stream()
-                .map(mapperService::toEnvironmentResponse)
-                .collect(Collectors.toList());
+        return configSnapshot.get().environments();
     }
 
     @GET
     @Path("/environments/{envId}")
     public Response getEnvironment(@PathParam("envId") Long envId) {
-        Environment environment = Environment.findById(envId);
-        if (environment == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
-        }
-        return Response.ok(mapperService.toEnvironmentResponse(environment)).build();
+        return configSnapshot.get().environment(envId)
+                .map(environment -> Response.ok(environment).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
     }
 
     @POST
@@ -101,6 +109,7 @@ public class K8sConfigResource {
     public Response createEnvironment(EnvironmentRequest environmentRequest) {
         Environment environment = mapperService.toEnvironment(environmentRequest);
         environment.persist();
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(environment.id));
         return Response.status(Response.Status.CREATED)
                 .entity(mapperService.toEnvironmentResponse(environment))
                 .build();
@@ -120,6 +129,7 @@ public class K8sConfigResource {
         existingEnvironment.description = updatedEnvironment.description;
         existingEnvironment.isActive = updatedEnvironment.isActive;
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId));
         return Response.ok(mapperService.toEnvironmentResponse(existingEnvironment)).build();
     }
 
@@ -127,20 +137,15 @@ public class K8sConfigResource {
     @GET
     @Path("/environments/{envId}/stacks")
     public List<StackResponse> getStacks(@PathParam("envId") Long envId) {
-        List<Stack> stacks = Stack.find("environment.id", envId).list();
-        return stacks.stream()
-                .map(mapperService::toStackResponse)
-                .collect(Collectors.toList());
+        return configSnapshot.get().stacks(envId);
     }
 
     @GET
     @Path("/environments/{envId}/stacks/{stackId}")
     public Response getStack(@PathParam("envId") Long envId, @PathParam("stackId") Long stackId) {
-        Stack stack = Stack.find("id = ?1 and environment.id = ?2", stackId, envId).firstResult();
-        if (stack == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
-        }
-        return Response.ok(mapperService.toStackResponse(stack)).build();
+        return configSnapshot.get().stack(envId, stackId)
+                .map(stack -> Response.ok(stack).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
     }
 
     @POST
@@ -160,6 +165,7 @@ public class K8sConfigResource {
         Stack stack = mapperService.toStack(stackRequest);
         stack.persist();
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId));
         return Response.status(Response.Status.CREATED)
                 .entity(mapperService.toStackResponse(stack))
                 .build();
@@ -185,6 +191,7 @@ public class K8sConfigResource {
         existingStack.description = updatedStack.description;
         existingStack.config = updatedStack.config;
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId));
         return Response.ok(mapperService.toStackResponse(existingStack)).build();
     }
 
@@ -209,6 +216,7 @@ public class K8sConfigResource {
         existingStack.description = updatedStack.description;
         existingStack.config = updatedStack.config;
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId));
         return Response.ok(mapperService.toStackResponse(existingStack)).build();
     }
 
@@ -217,13 +225,7 @@ public class K8sConfigResource {
     @Path("/environments/{envId}/stacks/{stackId}/apps")
     public List<AppResponse> getApps(@PathParam("envId") Long envId,
                                      @PathParam("stackId") Long stackId) {
-        List<App> apps = App.find(
-                "stack.environment.id = ?1 and stack.id = ?2 ORDER BY deploymentPriority, name",
-                envId, stackId
-        ).list();
-        return apps.stream()
-                .map(mapperService::toAppResponse)
-                .collect(Collectors.toList());
+        return configSnapshot.get().apps(envId, stackId);
     }
 
     // APPS by stack name (frontend compatibility)
@@ -231,13 +233,7 @@ public class K8sConfigResource {
     @Path("/environments/{envId}/stacks/{stackName}/apps")
     public List<AppResponse> getAppsByStackName(@PathParam("envId") Long envId,
                                                @PathParam("stackName") String stackName) {
-        List<App> apps = App.find(
-                "stack.environment.id = ?1 and stack.name = ?2 ORDER BY deploymentPriority, name",
-                envId, stackName
-        ).list();
-        return apps.stream()
-                .map(mapperService::toAppResponse)
-                .collect(Collectors.toList());
+        return configSnapshot.get().apps(envId, stackName);
     }
 
     @GET
@@ -245,14 +241,9 @@ public class K8sConfigResource {
     public Response getApp(@PathParam("envId") Long envId,
                            @PathParam("stackId") Long stackId,
                            @PathParam("appId") Long appId) {
-        App app = App.find(
-                "id = ?1 and stack.environment.id = ?2 and stack.id = ?3",
-                appId, envId, stackId
-        ).firstResult();
-        if (app == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
-        }
-        return Response.ok(mapperService.toAppResponse(app)).build();
+        return configSnapshot.get().app(envId, stackId, appId)
+                .map(app -> Response.ok(app).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
     }
 
     @POST
@@ -274,6 +265,7 @@ public class K8sConfigResource {
         App app = mapperService.toApp(appRequest);
         app.persist();
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId));
         return Response.status(Response.Status.CREATED)
                 .entity(mapperService.toAppResponse(app))
                 .build();
@@ -310,6 +302,7 @@ public class K8sConfigResource {
         existingApp.defaultImageRepository = updatedApp.defaultImageRepository;
         existingApp.defaultImageTag = updatedApp.defaultImageTag;
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId, appId));
         return Response.ok(mapperService.toAppResponse(existingApp)).build();
     }
 
@@ -345,6 +338,7 @@ public class K8sConfigResource {
         existingApp.defaultImageRepository = updatedApp.defaultImageRepository;
         existingApp.defaultImageTag = updatedApp.defaultImageTag;
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId, existingApp.id));
         return Response.ok(mapperService.toAppResponse(existingApp)).build();
     }
 
@@ -354,13 +348,7 @@ public class K8sConfigResource {
     public List<AppManifestResponse> getAppManifests(@PathParam("envId") Long envId,
                                                      @PathParam("stackId") Long stackId,
                                                      @PathParam("appId") Long appId) {
-        List<AppManifest> manifests = AppManifest.find(
-                "app.id = ?1 and app.stack.environment.id = ?2 and app.stack.id = ?3 ORDER BY creationPriority",
-                appId, envId, stackId
-        ).list();
-        return manifests.stream()
-                .map(mapperService::toAppManifestResponse)
-                .collect(Collectors.toList());
+        return configSnapshot.get().manifests(envId, stackId, appId);
     }
 
     // APP MANIFESTS by stack name and app name (frontend compatibility)
@@ -369,13 +357,7 @@ public class K8sConfigResource {
     public List<AppManifestResponse> getAppManifestsByName(@PathParam("envId") Long envId,
                                                           @PathParam("stackName") String stackName,
                                                           @PathParam("appName") String appName) {
-        List<AppManifest> manifests = AppManifest.find(
-                "app.stack.environment.id = ?1 and app.stack.name = ?2 and app.name = ?3 ORDER BY creationPriority",
-                envId, stackName, appName
-        ).list();
-        return manifests.stream()
-                .map(mapperService::toAppManifestResponse)
-                .collect(Collectors.toList());
+        return configSnapshot.get().manifests(envId, stackName, appName);
     }
 
     @GET
@@ -384,14 +366,9 @@ public class K8sConfigResource {
                                    @PathParam("stackId") Long stackId,
                                    @PathParam("appId") Long appId,
                                    @PathParam("manifestId") Long manifestId) {
-        AppManifest manifest = AppManifest.find(
-                "id = ?1 and app.id = ?2 and app.stack.environment.id = ?3 and app.stack.id = ?4",
-                manifestId, appId, envId, stackId
-        ).firstResult();
-        if (manifest == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
-        }
-        return Response.ok(mapperService.toAppManifestResponse(manifest)).build();
+        return configSnapshot.get().manifest(envId, stackId, appId, manifestId)
+                .map(manifest -> Response.ok(manifest).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
     }
 
     @POST
@@ -414,6 +391,7 @@ public class K8sConfigResource {
         AppManifest manifest = mapperService.toAppManifest(appManifestRequest);
         manifest.persist();
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId, appId));
         return Response.status(Response.Status.CREATED)
                 .entity(mapperService.toAppManifestResponse(manifest))
                 .build();
@@ -446,6 +424,7 @@ public class K8sConfigResource {
         existingManifest.creationCondition = updatedManifest.creationCondition;
         existingManifest.creationPriority = updatedManifest.creationPriority;
         
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(envId, appId));
         return Response.ok(mapperService.toAppManifestResponse(existingManifest)).build();
     }
 
@@ -471,31 +450,50 @@ public class K8sConfigResource {
     @Path("/environments/{envId}/stacks/{stackName}/values")
     @Produces(MediaType.APPLICATION_JSON)
     public Response generateValues(@PathParam("envId") Long envId,
-                                   @PathParam("stackName") String stackName) {
-        return valuesGenerator.generateStackValues(envId, stackName);
+                                   @PathParam("stackName") String stackName,
+                                   @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return valuesCache.getValues(envId, stackName, StackValuesCache.Format.JSON, ifNoneMatch);
     }
 
     @GET
     @Path("/environments/{envId}/stacks/{stackName}/values.yaml")
-    @Produces("application/x-yaml")
+    @Produces(StackValuesCache.YAML_MEDIA_TYPE)
     public Response generateValuesYaml(@PathParam("envId") Long envId,
-                                       @PathParam("stackName") String stackName) {
-        Response response = valuesGenerator.generateStackValues(envId, stackName);
-        
-        // If the service returned an error, propagate it
-        if (response.getStatus() != Response.Status.OK.getStatusCode()) {
-            return response;
-        }
-        
-        JsonNode values = (JsonNode) response.getEntity();
-        try {
-            String yamlContent = yamlMapper.writeValueAsString(values);
-            return Response.ok(yamlContent).type("application/x-yaml").build();
-        } catch (JsonProcessingException e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity("Failed to generate YAML values: " + e.getMessage())
-                    .build();
-        }
+                                       @PathParam("stackName") String stackName,
+                                       @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return valuesCache.getValues(envId, stackName, StackValuesCache.Format.YAML, ifNoneMatch);
+    }
+
+    @GET
+    @Path("/environments/{envId}/stacks/{stackName}/values/diff")
+    @Operation(summary = "Diff stack values", description = "Structural hash of the current values and the changes since the last recorded snapshot")
+    public Response diffValues(@PathParam("envId") Long envId,
+                               @PathParam("stackName") String stackName) {
+        return valuesService.getValuesDiff(envId, stackName);
+    }
+
+    @POST
+    @Path("/environments/{envId}/stacks/{stackName}/values/snapshot")
+    @Operation(summary = "Record stack values", description = "Store the current values as the baseline for the values diff")
+    public Response recordValuesSnapshot(@PathParam("envId") Long envId,
+                                         @PathParam("stackName") String stackName) {
+        return valuesService.recordValuesSnapshot(envId, stackName);
+    }
+
+    @GET
+    @Path("/environments/{envId}/values.yaml")
+    @Produces(StackValuesCache.YAML_MEDIA_TYPE)
+    @Operation(summary = "Export environment values", description = "Values of every enabled stack of the environment as multi-document YAML")
+    public Response exportEnvironmentValues(@PathParam("envId") Long envId) {
+        return valuesExporter.exportValues(envId);
+    }
+
+    @GET
+    @Path("/values.yaml")
+    @Produces(StackValuesCache.YAML_MEDIA_TYPE)
+    @Operation(summary = "Export all values", description = "Values of every enabled stack of every environment as multi-document YAML")
+    public Response exportAllValues() {
+        return valuesExporter.exportValues(null);
     }
 
     @Inject
@@ -531,6 +529,8 @@ public class K8sConfigResource {
         DeploymentService.DeploymentResult result = deploymentService.deployStack(env, stack);
         
         if (result.success) {
+            // Baseline for the next values diff
+            valuesService.recordValuesSnapshot(envId, stackName);
             return Response.ok(result.toJson()).build();
         } else {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -547,6 +547,7 @@ public class K8sConfigResource {
     @Operation(summary = "Get default manifests for category", description = "Get the default Kubernetes manifests for a service category")
     @APIResponse(responseCode = "200", description = "Default manifests retrieved successfully")
     public Response getManifestDefaults(@PathParam("category") String category) {
+        manifestDefaultsService.defaultsVersion();
         List<K8sManifestDefaultsService.ManifestDefaultEntry> defaults = 
             manifestDefaultsService.getDefaultManifestsForCategory(category);
         
@@ -578,18 +579,21 @@ public class K8sConfigResource {
     @Operation(summary = "Get available manifest categories", description = "Get list of available service categories with manifest support from database")
     @APIResponse(responseCode = "200", description = "Categories retrieved successfully")
     public Response getManifestCategories() {
-        List<ServiceCategory> categories = manifestDefaultsService.getAllServiceCategories();
+        // Categories and their default counts come from one grouped query
+        List<CategoryStats> categories = manifestDefaultsService.getCategoryStats();
         
         // Convert to response format
         List<Map<String, Object>> categoryList = categories.stream()
             .map(cat -> {
                 Map<String, Object> info = new HashMap<>();
-                info.put("name", cat.getName());
-                info.put("displayName", cat.getDisplayName());
-                info.put("description", cat.getDescription());
-                info.put("icon", cat.getIcon());
-                info.put("color", cat.getColor());
-                info.put("active", cat.getIsActive());
+                info.put("name", cat.name());
+                info.put("displayName", cat.displayName());
+                info.put("description", cat.description());
+                info.put("icon", cat.icon());
+                info.put("color", cat.color());
+                info.put("active", cat.active());
+                info.put("manifestCount", cat.manifestCount());
+                info.put("authCount", cat.authCount());
                 return info;
             })
             .collect(Collectors.toList());
@@ -602,6 +606,21 @@ public class K8sConfigResource {
         return Response.ok(response).build();
     }
 
+    @GET
+    @Path("/manifests/categories/overview")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get category overview", description = "Get every active service category with its manifest and auth defaults, loaded with set-based queries")
+    @APIResponse(responseCode = "200", description = "Category overview retrieved successfully")
+    public Response getCategoryOverview() {
+        List<CategoryOverviewResponse> categories = manifestDefaultsService.getCategoryOverview();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("categories", categories);
+        response.put("totalCount", categories.size());
+        
+        return Response.ok(response).build();
+    }
+
     @GET
     @Path("/manifests/types")
     @Produces(MediaType.APPLICATION_JSON)
@@ -625,14 +644,12 @@ public class K8sConfigResource {
     @Operation(summary = "Get auth defaults for category", description = "Get available authentication configurations for a service category")
     @APIResponse(responseCode = "200", description = "Auth defaults retrieved successfully")
     public Response getAuthDefaults(@PathParam("category") String category) {
-        List<String> authTypes = manifestDefaultsService.getAuthTypesForCategory(category);
-        
-        // Get details for each auth type
-        List<Map<String, Object>> authDetails = authTypes.stream()
-            .map(authType -> {
+        // Auth types and their configs in one query instead of one lookup per type
+        List<Map<String, Object>> authDetails = manifestDefaultsService.getAuthDefaultsForCategory(category).stream()
+            .map(authDefault -> {
                 Map<String, Object> details = new HashMap<>();
-                details.put("authType", authType);
-                details.put("defaultConfig", manifestDefaultsService.getDefaultAuthConfig(category, authType));
+                details.put("authType", authDefault.authType());
+                details.put("defaultConfig", authDefault.defaultConfig());
                 return details;
             })
             .collect(Collectors.toList());
@@ -652,6 +669,7 @@ public class K8sConfigResource {
     @APIResponse(responseCode = "200", description = "Auth config retrieved successfully")
     @APIResponse(responseCode = "404", description = "Auth config not found")
     public Response getAuthConfig(@PathParam("category") String category, @PathParam("authType") String authType) {
+        manifestDefaultsService.defaultsVersion();
         JsonNode authConfig = manifestDefaultsService.getDefaultAuthConfig(category, authType);
         
         if (authConfig == null || authConfig.isEmpty()) {
@@ -676,6 +694,8 @@ public class K8sConfigResource {
     @APIResponse(responseCode = "200", description = "Cache cleared successfully")
     public Response clearCache() {
         manifestDefaultsService.clearCache();
+        // Defaults feed every stack's values
+        valuesChanged.fire(new StackValuesCache.ValuesChanged(null));
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Manifest and auth defaults cache cleared successfully");
@@ -687,12 +707,13 @@ public class K8sConfigResource {
     @GET
     @Path("/cache/stats")
     @Produces(MediaType.APPLICATION_JSON)
-    @Operation(summary = "Get cache statistics", description = "Get information about cached manifest and auth defaults")
+    @Operation(summary = "Get cache statistics", description = "Size, hit/miss and load statistics of the manifest and auth defaults caches")
     @APIResponse(responseCode = "200", description = "Cache stats retrieved successfully")
     public Response getCacheStats() {
-        // This would be implemented to show cache hit rates, size, etc.
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Cache statistics endpoint - to be implemented");
+        Map<String, Object> response = new HashMap<>(manifestDefaultsService.getCacheStatistics());
+        response.put("stackValues", Map.of("size", valuesCache.size()));
+        response.put("appValueFragments", Map.of("size", appValuesFragments.size()));
+        response.put("configSnapshot", Map.of("version", configSnapshot.version()));
         response.put("timestamp", LocalDateTime.now().toString());
         
         return Response.ok(response).build();
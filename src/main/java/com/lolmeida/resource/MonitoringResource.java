@@ -1,6 +1,7 @@
 package com.lolmeida.resource;
 
 import com.lolmeida.dto.audit.RequestInfo;
+import com.lolmeida.service.AuditCostProfiler;
 import com.lolmeida.util.RequestInfoExtractor;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
@@ -37,6 +38,9 @@ public class MonitoringResource {
     @Inject
     RequestInfoExtractor requestInfoExtractor;
 
+    @Inject
+    AuditCostProfiler auditCostProfiler;
+
     @GET
     @Path("/request-info")
     @Operation(
@@ -398,4 +402,49 @@ public class MonitoringResource {
                     .build();
         }
     }
-} 
\ No newline at end of file
+
+    @GET
+    @Path("/audit-cost")
+    @Operation(
+        summary = "Get audit pipeline cost",
+        description = "Per-stage time and allocation histograms of the request audit chain (requires app.audit.profiling.enabled=true)"
+    )
+    @APIResponses({
+        @APIResponse(
+            responseCode = "200",
+            description = "Audit cost report retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(type = SchemaType.OBJECT),
+                examples = @ExampleObject(
+                    name = "Audit Cost",
+                    description = "Example of the audit cost report",
+                    value = """
+                    {
+                      "enabled": true,
+                      "allocationTracking": true,
+                      "stages": {
+                        "extract": {
+                          "count": 1520,
+                          "meanNanos": 48210,
+                          "maxNanos": 912000,
+                          "p50Nanos": 40960,
+                          "p95Nanos": 94208,
+                          "p99Nanos": 204800,
+                          "meanAllocatedBytes": 6144,
+                          "maxAllocatedBytes": 18432,
+                          "p50AllocatedBytes": 5888,
+                          "p95AllocatedBytes": 8192,
+                          "p99AllocatedBytes": 12288
+                        }
+                      }
+                    }
+                    """
+                )
+            )
+        )
+    })
+    public Response getAuditCost() {
+        return Response.ok(auditCostProfiler.getReport()).build();
+    }
+}
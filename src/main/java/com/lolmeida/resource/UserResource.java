@@ -1,11 +1,14 @@
 package com.lolmeida.resource;
 
+import com.lolmeida.dto.request.UserListRequest;
 import com.lolmeida.dto.request.UserRequest;
+import com.lolmeida.dto.response.UserImportResponse;
 import com.lolmeida.dto.response.UserResponse;
 import com.lolmeida.service.UserService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -16,6 +19,8 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.io.InputStream;
+
 @Path("/api/users")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -26,24 +31,25 @@ public class UserResource {
     UserService userService;
 
     @GET
+    @Produces({MediaType.APPLICATION_JSON, UserService.NDJSON})
     @Operation(
         summary = "📋 Get All Users",
         description = """
             ## 📋 **Get All Users**
             
-            Retrieves all users from the system with comprehensive information.
+            Retrieves users one page at a time (keyset pagination).
             
             ### ✅ **Features:**
-            - **Complete User List**: Returns all users in the system
+            - **Pages**: `limit` users per page (default 50, max 500)
+            - **Next Page**: pass the `X-Next-Cursor` response header as `after`; no header means last page
+            - **Sorting**: `sort=id` (default, ascending) or `sort=createdAt` (newest first)
+            - **Filters**: `username` and `email` prefixes
+            - **Streaming**: `Accept: application/x-ndjson` streams every matching user, one JSON object per line
             - **Security**: Excludes password information
-            - **Monitoring**: Includes request monitoring in headers
-            - **Performance**: Optimized database query
             
             ### 📊 **Response Information:**
             - **User Data**: Complete user information without passwords
             - **Timestamps**: Creation and update timestamps
-            - **Sorting**: Users sorted by creation date (newest first)
-            - **Headers**: Monitoring information included
             """
     )
     @APIResponses(value = {
@@ -99,8 +105,12 @@ public class UserResource {
             )
         )
     })
-    public Response getAllUsers() {
-        return userService.getAllUsers();
+    public Response getAllUsers(@BeanParam UserListRequest request,
+                                @HeaderParam(HttpHeaders.ACCEPT) String accept) {
+        if (accept != null && accept.contains(UserService.NDJSON)) {
+            return userService.streamUsers(request);
+        }
+        return userService.getAllUsers(request);
     }
 
     @GET
@@ -336,6 +346,42 @@ public class UserResource {
         return userService.createUser(userRequest);
     }
 
+    @POST
+    @Path("/import")
+    @Consumes({MediaType.APPLICATION_JSON, UserService.NDJSON})
+    @Operation(
+        summary = "📥 Import Users",
+        description = """
+            ## 📥 **Import Users**
+            
+            Creates many users in one request, from a JSON array or NDJSON (one user per line).
+            
+            ### ✅ **Features:**
+            - **Streaming**: The input is read and imported in chunks of 500 rows
+            - **Validation**: Every row is validated like `POST /api/users`
+            - **Uniqueness**: One query per chunk detects existing usernames and emails
+            - **Batching**: Inserts are sent to the database as JDBC batches
+            - **Report**: One outcome per row (`CREATED`, `INVALID`, `DUPLICATE`, `CONFLICT`, `FAILED`)
+            
+            ### ⚠️ **Important Notes:**
+            - Each chunk is committed on its own; a failing chunk does not undo earlier ones
+            - Malformed JSON stops the import at that row
+            """
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "✅ **Success** - Input processed, see the per-row outcomes",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UserImportResponse.class)
+            )
+        )
+    })
+    public Response importUsers(InputStream body) {
+        return userService.importUsers(body);
+    }
+
     @PUT
     @Path("/{id}")
     @Operation(
@@ -0,0 +1,108 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lolmeida.entity.k8s.App;
+import com.lolmeida.entity.k8s.AppManifest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.function.Supplier;
+
+/**
+ * Rendered values block per app, reused while the app's fingerprint (app row, its manifests, the
+ * category defaults and default rules) is unchanged. Stack values are reassembled from these
+ * fragments, so editing one app only recomputes that app's block.
+ * <p>
+ * Fragments are shared between responses and must be treated as read-only.
+ */
+@ApplicationScoped
+public class AppValuesFragments {
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "app.values-fragments.maximum-size", defaultValue = "5000")
+    long maximumSize;
+
+    private Cache<Long, Fragment> cache;
+
+    private record Fragment(String fingerprint, ObjectNode values) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "app-values-fragments");
+    }
+
+    /**
+     * Cached block of the app when its fingerprint still matches, otherwise a fresh one from the generator
+     */
+    public ObjectNode get(App app, K8sManifestDefaultsService.CategoryDefaults defaults,
+                          Supplier<ObjectNode> generator) {
+        if (app.id == null) {
+            return generator.get();
+        }
+
+        String fingerprint = fingerprint(app, defaults);
+        Fragment fragment = cache.getIfPresent(app.id);
+        if (fragment != null && fragment.fingerprint().equals(fingerprint)) {
+            return fragment.values();
+        }
+
+        ObjectNode values = generator.get();
+        cache.put(app.id, new Fragment(fingerprint, values));
+        return values;
+    }
+
+    public void invalidate(Long appId) {
+        cache.invalidate(appId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Timestamps have second precision in the database, so explicit app changes also drop the fragment
+     */
+    void onValuesChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) StackValuesCache.ValuesChanged event) {
+        if (event.appId() != null) {
+            invalidate(event.appId());
+        } else if (event.envId() == null) {
+            invalidateAll();
+        }
+    }
+
+    static String fingerprint(App app, K8sManifestDefaultsService.CategoryDefaults defaults) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(app.updatedAt).append('|').append(app.category).append('|');
+        if (app.requiredManifests != null) {
+            for (AppManifest manifest : app.requiredManifests) {
+                fingerprint.append(manifest.id).append('@').append(manifest.updatedAt).append(',');
+            }
+        }
+        fingerprint.append('|');
+        for (K8sManifestDefaultsService.ManifestDefaultEntry entry : defaults.manifests()) {
+            fingerprint.append(entry.manifestType).append('@').append(entry.updatedAt).append(',');
+        }
+        fingerprint.append('|');
+        defaults.rules().forEach((type, rule) -> fingerprint.append(type).append('@').append(rule.updatedAt).append(','));
+        return fingerprint.toString();
+    }
+}
@@ -0,0 +1,195 @@
+package com.lolmeida.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the audit chain costs per request.
+ * When app.audit.profiling.enabled=true each stage records its wall time and, where the JVM supports it,
+ * the bytes allocated by the current thread (com.sun.management.ThreadMXBean) into Micrometer histograms.
+ * Disabled, {@link #begin()} returns a shared no-op probe and nothing is measured.
+ */
+@ApplicationScoped
+public class AuditCostProfiler {
+
+    public enum Stage {
+        EXTRACT,
+        RATE_LIMIT,
+        RESPONSE_FILTER,
+        STORE,
+        LOGGING,
+        ANOMALY_DETECTION,
+        USAGE_STATS,
+        ASYNC_DISPATCH
+    }
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "app.audit.profiling.enabled", defaultValue = "false")
+    boolean enabled;
+
+    private com.sun.management.ThreadMXBean allocationBean;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Stage, DistributionSummary> stageAllocations = new EnumMap<>(Stage.class);
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        allocationBean = resolveAllocationBean();
+
+        for (Stage stage : Stage.values()) {
+            String stageName = stage.name().toLowerCase();
+            stageTimers.put(stage, Timer.builder("audit.stage.duration")
+                    .description("Time spent in each audit stage")
+                    .tag("stage", stageName)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            if (allocationBean != null) {
+                stageAllocations.put(stage, DistributionSummary.builder("audit.stage.allocated")
+                        .description("Bytes allocated by the request thread in each audit stage")
+                        .baseUnit("bytes")
+                        .tag("stage", stageName)
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry));
+            }
+        }
+        Log.infof("⏱️ Audit cost profiling enabled (allocation tracking %s)",
+                allocationBean != null ? "on" : "not supported by this JVM");
+    }
+
+    /**
+     * Start measuring; call {@link Probe#lap(Stage)} after each stage
+     */
+    public Probe begin() {
+        return enabled ? new Probe(this) : Probe.NOOP;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Aggregated cost per stage, for the monitoring endpoint
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("allocationTracking", allocationBean != null);
+        if (!enabled) {
+            return report;
+        }
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            Map<String, Object> stageReport = new LinkedHashMap<>();
+            HistogramSnapshot time = stageTimers.get(stage).takeSnapshot();
+            stageReport.put("count", time.count());
+            stageReport.put("meanNanos", (long) time.mean(TimeUnit.NANOSECONDS));
+            stageReport.put("maxNanos", (long) time.max(TimeUnit.NANOSECONDS));
+            for (ValueAtPercentile percentile : time.percentileValues()) {
+                stageReport.put(percentileKey(percentile) + "Nanos", (long) percentile.value(TimeUnit.NANOSECONDS));
+            }
+
+            DistributionSummary allocations = stageAllocations.get(stage);
+            if (allocations != null) {
+                HistogramSnapshot bytes = allocations.takeSnapshot();
+                stageReport.put("meanAllocatedBytes", (long) bytes.mean());
+                stageReport.put("maxAllocatedBytes", (long) bytes.max());
+                for (ValueAtPercentile percentile : bytes.percentileValues()) {
+                    stageReport.put(percentileKey(percentile) + "AllocatedBytes", (long) percentile.value());
+                }
+            }
+            stages.put(stage.name().toLowerCase(), stageReport);
+        }
+        report.put("stages", stages);
+        return report;
+    }
+
+    private long allocatedBytes() {
+        return allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    private void record(Stage stage, long nanos, long bytes) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary allocations = stageAllocations.get(stage);
+        if (allocations != null) {
+            allocations.record(bytes);
+        }
+    }
+
+    private static String percentileKey(ValueAtPercentile percentile) {
+        return "p" + Math.round(percentile.percentile() * 100);
+    }
+
+    private static com.sun.management.ThreadMXBean resolveAllocationBean() {
+        try {
+            ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            if (threadBean instanceof com.sun.management.ThreadMXBean sunBean
+                    && sunBean.isThreadAllocatedMemorySupported()) {
+                if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                    sunBean.setThreadAllocatedMemoryEnabled(true);
+                }
+                return sunBean;
+            }
+        } catch (Exception | LinkageError e) {
+            Log.debugf("Thread allocation tracking unavailable: %s", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Measurement of consecutive stages on the current thread
+     */
+    public static final class Probe {
+
+        static final Probe NOOP = new Probe(null);
+
+        private final AuditCostProfiler profiler;
+        private long lastNanos;
+        private long lastBytes;
+
+        private Probe(AuditCostProfiler profiler) {
+            this.profiler = profiler;
+            if (profiler != null) {
+                this.lastBytes = profiler.allocatedBytes();
+                this.lastNanos = System.nanoTime();
+            }
+        }
+
+        /**
+         * Record everything since the previous lap (or the start) as the given stage
+         */
+        public void lap(Stage stage) {
+            if (profiler == null) {
+                return;
+            }
+            long nanos = System.nanoTime();
+            long bytes = profiler.allocatedBytes();
+            profiler.record(stage, nanos - lastNanos, bytes - lastBytes);
+            // Re-read so the profiler's own bookkeeping is not charged to the next stage
+            lastBytes = profiler.allocatedBytes();
+            lastNanos = System.nanoTime();
+        }
+    }
+}
@@ -13,6 +13,12 @@ public class AuditService {
     @Inject
     RequestLogService requestLogService;
 
+    @Inject
+    TrafficAnomalyDetector trafficAnomalyDetector;
+
+    @Inject
+    AuditCostProfiler auditCostProfiler;
+
     /**
      * Log request information for audit purposes
      */
@@ -100,6 +106,10 @@ public class AuditService {
      */
     public void detectSuspiciousActivity(RequestInfo requestInfo) {
         try {
+            // Stateful checks (per-IP bursts, 4xx scanning, per-route latency regressions).
+            // Individual error responses are no longer logged, only patterns across requests.
+            trafficAnomalyDetector.observe(requestInfo);
+
             // Check for potential bot activity
             if ("Bot".equals(requestInfo.getDeviceType())) {
                 logSecurityEvent(requestInfo, "BOT_DETECTED", "Bot user agent detected");
@@ -110,12 +120,6 @@ public class AuditService {
                 logSecurityEvent(requestInfo, "SLOW_REQUEST", "Request took more than 10 seconds");
             }
             
-            // Check for error responses
-            if (requestInfo.getResponseStatus() != null && requestInfo.getResponseStatus() >= 400) {
-                logSecurityEvent(requestInfo, "ERROR_RESPONSE", 
-                        "Error response: " + requestInfo.getResponseStatus());
-            }
-            
             // Check for missing User-Agent (potential programmatic access)
             if (requestInfo.getUserAgent() == null || requestInfo.getUserAgent().isEmpty()) {
                 logSecurityEvent(requestInfo, "MISSING_USER_AGENT", "Request without User-Agent header");
@@ -168,26 +172,33 @@ public class AuditService {
      */
     public void processCompleteAudit(RequestInfo requestInfo) {
         try {
+            AuditCostProfiler.Probe probe = auditCostProfiler.begin();
+
             // Store the request log for monitoring
             requestLogService.storeRequest(requestInfo);
+            probe.lap(AuditCostProfiler.Stage.STORE);
             
             // Log basic request information
             logRequest(requestInfo);
             
             // Log performance metrics
             logPerformanceMetrics(requestInfo);
+            probe.lap(AuditCostProfiler.Stage.LOGGING);
             
             // Detect suspicious activities
             detectSuspiciousActivity(requestInfo);
+            probe.lap(AuditCostProfiler.Stage.ANOMALY_DETECTION);
             
             // Generate usage statistics
             generateUsageStats(requestInfo);
             
             // Log API usage if it's an API call
             logApiUsage(requestInfo);
+            probe.lap(AuditCostProfiler.Stage.USAGE_STATS);
             
             // Store information asynchronously
             storeRequestInfoAsync(requestInfo);
+            probe.lap(AuditCostProfiler.Stage.ASYNC_DISPATCH);
             
         } catch (Exception e) {
             Log.errorf("Failed to process complete audit: %s", e.getMessage());
@@ -0,0 +1,194 @@
+package com.lolmeida.service;
+
+import com.lolmeida.dto.mapper.MapperService;
+import com.lolmeida.dto.projection.AppManifestSummary;
+import com.lolmeida.dto.projection.AppSummary;
+import com.lolmeida.dto.projection.StackSummary;
+import com.lolmeida.dto.response.AppManifestResponse;
+import com.lolmeida.dto.response.AppResponse;
+import com.lolmeida.dto.response.EnvironmentResponse;
+import com.lolmeida.dto.response.StackResponse;
+import com.lolmeida.entity.core.Environment;
+import com.lolmeida.repository.K8sRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable, versioned in-memory copy of the configuration model (environments, stacks, apps and
+ * their manifests) served by the read endpoints of the config API without a database round trip.
+ * A load runs four queries: environments, then stacks, app manifests and apps as column projections.
+ * <p>
+ * The model is built at startup. Writes fire {@link StackValuesCache.ValuesChanged}; after the
+ * commit the current model is marked stale and the next read loads a new one and swaps it in
+ * atomically, so readers always see a complete model and a write is visible to the next read.
+ * Manifest and auth defaults keep being served from {@link K8sManifestDefaultsService}'s cache.
+ */
+@ApplicationScoped
+public class ConfigSnapshot {
+
+    @Inject
+    K8sRepository repository;
+
+    @Inject
+    MapperService mapperService;
+
+    /**
+     * One version of the model; all collections are unmodifiable and shared between requests
+     */
+    public record Model(long version,
+                        List<EnvironmentResponse> environments,
+                        Map<Long, List<StackResponse>> stacksByEnvironment,
+                        Map<Long, List<AppResponse>> appsByStack,
+                        Map<Long, List<AppManifestResponse>> manifestsByApp) {
+
+        public Optional<EnvironmentResponse> environment(Long envId) {
+            return environments.stream().filter(env -> env.getId().equals(envId)).findFirst();
+        }
+
+        public List<StackResponse> stacks(Long envId) {
+            return stacksByEnvironment.getOrDefault(envId, List.of());
+        }
+
+        public Optional<StackResponse> stack(Long envId, Long stackId) {
+            return stacks(envId).stream().filter(stack -> stack.getId().equals(stackId)).findFirst();
+        }
+
+        public Optional<StackResponse> stack(Long envId, String stackName) {
+            return stacks(envId).stream().filter(stack -> stack.getName().equals(stackName)).findFirst();
+        }
+
+        public List<AppResponse> apps(Long envId, Long stackId) {
+            return stack(envId, stackId).map(stack -> apps(stack.getId())).orElse(List.of());
+        }
+
+        public List<AppResponse> apps(Long envId, String stackName) {
+            return stack(envId, stackName).map(stack -> apps(stack.getId())).orElse(List.of());
+        }
+
+        public Optional<AppResponse> app(Long envId, Long stackId, Long appId) {
+            return apps(envId, stackId).stream().filter(app -> app.getId().equals(appId)).findFirst();
+        }
+
+        public List<AppManifestResponse> manifests(Long envId, Long stackId, Long appId) {
+            return app(envId, stackId, appId).map(app -> manifests(app.getId())).orElse(List.of());
+        }
+
+        public List<AppManifestResponse> manifests(Long envId, String stackName, String appName) {
+            return apps(envId, stackName).stream()
+                    .filter(app -> app.getName().equals(appName))
+                    .findFirst()
+                    .map(app -> manifests(app.getId()))
+                    .orElse(List.of());
+        }
+
+        public Optional<AppManifestResponse> manifest(Long envId, Long stackId, Long appId, Long manifestId) {
+            return manifests(envId, stackId, appId).stream()
+                    .filter(manifest -> manifest.getId().equals(manifestId))
+                    .findFirst();
+        }
+
+        private List<AppResponse> apps(Long stackId) {
+            return appsByStack.getOrDefault(stackId, List.of());
+        }
+
+        private List<AppManifestResponse> manifests(Long appId) {
+            return manifestsByApp.getOrDefault(appId, List.of());
+        }
+    }
+
+    private final AtomicReference<Model> current = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @ActivateRequestContext
+    void onStart(@Observes StartupEvent event) {
+        try {
+            get();
+        } catch (RuntimeException e) {
+            // The first read retries
+            Log.warnf("⚠️ Configuration snapshot not built at startup: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Current model, reloaded first when a write has been committed since it was built
+     */
+    public Model get() {
+        Model model = current.get();
+        if (model != null && model.version() == generation.get()) {
+            return model;
+        }
+        synchronized (this) {
+            model = current.get();
+            long version = generation.get();
+            if (model == null || model.version() != version) {
+                // A write committed while loading bumps the generation again, so the next read reloads
+                model = load(version);
+                current.set(model);
+                Log.infof("📸 Configuration snapshot v%d: %d environments, %d stacks, %d apps",
+                        version, model.environments().size(),
+                        model.stacksByEnvironment().values().stream().mapToInt(List::size).sum(),
+                        model.appsByStack().values().stream().mapToInt(List::size).sum());
+            }
+            return model;
+        }
+    }
+
+    public long version() {
+        return generation.get();
+    }
+
+    void onValuesChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) StackValuesCache.ValuesChanged event) {
+        generation.incrementAndGet();
+    }
+
+    Model load(long version) {
+        List<EnvironmentResponse> environments = repository.findAllEnvironments().stream()
+                .sorted(Comparator.comparing((Environment env) -> env.id))
+                .map(mapperService::toEnvironmentResponse)
+                .toList();
+
+        // Narrow projections: no entities, associations or dirty-checking snapshots are loaded
+        Map<Long, List<StackResponse>> stacksByEnvironment = new LinkedHashMap<>();
+        for (StackSummary stack : repository.findStackSummaries()) {
+            stacksByEnvironment.computeIfAbsent(stack.environmentId(), id -> new ArrayList<>())
+                    .add(mapperService.toStackResponse(stack));
+        }
+
+        Map<Long, List<AppManifestResponse>> manifestsByApp = new LinkedHashMap<>();
+        for (AppManifestSummary manifest : repository.findAppManifestSummaries()) {
+            manifestsByApp.computeIfAbsent(manifest.appId(), id -> new ArrayList<>())
+                    .add(mapperService.toAppManifestResponse(manifest));
+        }
+        manifestsByApp = freeze(manifestsByApp);
+
+        Map<Long, List<AppResponse>> appsByStack = new LinkedHashMap<>();
+        for (AppSummary app : repository.findAppSummaries()) {
+            AppResponse response = mapperService.toAppResponse(app);
+            response.setRequiredManifests(manifestsByApp.getOrDefault(app.id(), List.of()));
+            appsByStack.computeIfAbsent(app.stackId(), id -> new ArrayList<>()).add(response);
+        }
+
+        return new Model(version, environments, freeze(stacksByEnvironment), freeze(appsByStack), manifestsByApp);
+    }
+
+    private static <T> Map<Long, List<T>> freeze(Map<Long, List<T>> map) {
+        Map<Long, List<T>> frozen = new HashMap<>();
+        map.forEach((key, values) -> frozen.put(key, List.copyOf(values)));
+        return Map.copyOf(frozen);
+    }
+}
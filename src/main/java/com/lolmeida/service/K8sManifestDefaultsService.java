@@ -2,17 +2,38 @@ package com.lolmeida.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.lolmeida.dto.projection.AuthDefaultSummary;
+import com.lolmeida.dto.projection.CategoryStats;
+import com.lolmeida.dto.projection.ManifestDefaultSummary;
+import com.lolmeida.dto.response.CategoryOverviewResponse;
 import com.lolmeida.entity.k8s.App;
 import com.lolmeida.entity.k8s.AppManifest;
 import com.lolmeida.entity.k8s.AuthDefault;
 import com.lolmeida.entity.k8s.ManifestDefault;
+import com.lolmeida.entity.k8s.ManifestDefaultRule;
 import com.lolmeida.entity.k8s.ServiceCategory;
 import com.lolmeida.repository.ManifestDefaultsRepository;
+import com.lolmeida.util.ManifestCondition;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service to manage default Kubernetes manifests for each service category.
@@ -27,9 +48,52 @@ public class K8sManifestDefaultsService {
     @Inject
     ManifestDefaultsRepository repository;
 
-    // Cache for frequently accessed data
-    private final Map<String, List<ManifestDefaultEntry>> manifestCache = new HashMap<>();
-    private final Map<String, List<AuthDefault>> authCache = new HashMap<>();
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    Event<StackValuesCache.ValuesChanged> valuesChanged;
+
+    @ConfigProperty(name = "app.defaults-cache.maximum-size", defaultValue = "500")
+    long maximumSize;
+
+    @ConfigProperty(name = "app.defaults-cache.ttl", defaultValue = "10M")
+    Duration ttl;
+
+    // Caches for frequently accessed data (thread-safe, bounded, expiring, with statistics)
+    private LoadingCache<String, List<ManifestDefaultEntry>> manifestCache;
+    private LoadingCache<AuthKey, Optional<JsonNode>> authCache;
+    private LoadingCache<String, Map<AppManifest.ManifestType, ManifestRule>> ruleCache;
+
+    private record AuthKey(String category, String authType) {
+    }
+
+    // Last reference data version seen by defaultsVersion()
+    private volatile String defaultsVersion;
+
+    @PostConstruct
+    void init() {
+        manifestCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::loadDefaultManifests);
+        authCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(key -> repository.findAuthDefault(key.category(), key.authType())
+                        .map(AuthDefault::getDefaultConfig));
+        ruleCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::loadManifestRules);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, manifestCache, "manifest-defaults");
+        CaffeineCacheMetrics.monitor(meterRegistry, authCache, "auth-defaults");
+        CaffeineCacheMetrics.monitor(meterRegistry, ruleCache, "manifest-rules");
+    }
 
     /**
      * Represents a default manifest configuration for a service category
@@ -41,7 +105,13 @@ public class K8sManifestDefaultsService {
         public int creationPriority;
         public String description;
         public String creationCondition;
-        public Map<String, Object> defaultConfig;
+        public ManifestCondition condition;
+        /**
+         * Pre-built template, shared by every values generation: treat it as read-only
+         * and merge it with {@link #mergeDefaultConfigInto(ObjectNode)}.
+         */
+        public ObjectNode defaultConfig;
+        public LocalDateTime updatedAt;
 
         // Constructor from database entity
         public ManifestDefaultEntry(ManifestDefault entity, ObjectMapper mapper) {
@@ -50,49 +120,198 @@ public class K8sManifestDefaultsService {
             this.creationPriority = entity.getCreationPriority();
             this.description = entity.getDescription();
             this.creationCondition = entity.getCreationCondition();
-            
-            // Convert JsonNode to Map for compatibility
-            this.defaultConfig = new HashMap<>();
-            if (entity.hasDefaultConfig()) {
-                try {
-                    this.defaultConfig = mapper.convertValue(entity.getDefaultConfig(), Map.class);
-                } catch (Exception e) {
-                    // Log warning and use empty config
-                    this.defaultConfig = new HashMap<>();
-                }
+            this.condition = ManifestCondition.of(creationCondition);
+            this.updatedAt = entity.getUpdatedAt();
+
+            // Built once per cache load; the entity node is copied so later entity changes don't leak in
+            if (entity.hasDefaultConfig() && entity.getDefaultConfig().isObject()) {
+                this.defaultConfig = (ObjectNode) entity.getDefaultConfig().deepCopy();
+            } else {
+                this.defaultConfig = mapper.createObjectNode();
             }
         }
 
         // Legacy constructor for backwards compatibility
         public ManifestDefaultEntry(AppManifest.ManifestType manifestType, boolean required, int creationPriority, 
-                                  String description, String creationCondition, Map<String, Object> defaultConfig) {
+                                  String description, String creationCondition, ObjectNode defaultConfig) {
             this.manifestType = manifestType;
             this.required = required;
             this.creationPriority = creationPriority;
             this.description = description;
             this.creationCondition = creationCondition;
-            this.defaultConfig = defaultConfig != null ? defaultConfig : new HashMap<>();
+            this.condition = ManifestCondition.of(creationCondition);
+            this.defaultConfig = defaultConfig != null ? defaultConfig : JsonNodeFactory.instance.objectNode();
         }
 
         public ManifestDefaultEntry(AppManifest.ManifestType manifestType, boolean required, int creationPriority, String description) {
-            this(manifestType, required, creationPriority, description, null, new HashMap<>());
+            this(manifestType, required, creationPriority, description, null, null);
+        }
+
+        public boolean hasDefaultConfig() {
+            return !defaultConfig.isEmpty();
+        }
+
+        /**
+         * Copy-on-write merge: the template's top-level fields are linked into the target without copying.
+         * Nested objects stay shared with the template, so callers must replace them before modifying them.
+         */
+        public void mergeDefaultConfigInto(ObjectNode target) {
+            target.setAll(defaultConfig);
+        }
+    }
+
+    /**
+     * Compiled default rule of one (category, manifest type): the global and category rows merged once.
+     * {@code defaults} fill top-level fields the manifest config doesn't have, {@code overrides} are always
+     * set (objects merged). Text values may use ${app.name}.
+     */
+    public static class ManifestRule {
+        public static final ManifestRule EMPTY = new ManifestRule(List.of(), JsonNodeFactory.instance.objectNode(), null);
+
+        private static final String APP_NAME = "${app.name}";
+
+        private record Field(String name, JsonNode value, boolean templated) {
+        }
+
+        private final List<Field> defaults;
+        private final ObjectNode overrides;
+        public final LocalDateTime updatedAt;
+
+        private ManifestRule(List<Field> defaults, ObjectNode overrides, LocalDateTime updatedAt) {
+            this.defaults = defaults;
+            this.overrides = overrides;
+            this.updatedAt = updatedAt;
+        }
+
+        /**
+         * Merge rule rows, most general first
+         */
+        static ManifestRule compile(List<ManifestDefaultRule> layers) {
+            ObjectNode defaults = JsonNodeFactory.instance.objectNode();
+            ObjectNode overrides = JsonNodeFactory.instance.objectNode();
+            LocalDateTime updatedAt = null;
+            for (ManifestDefaultRule layer : layers) {
+                if (layer.getDefaults() != null && layer.getDefaults().isObject()) {
+                    defaults.setAll((ObjectNode) layer.getDefaults().deepCopy());
+                }
+                if (layer.getOverrides() != null && layer.getOverrides().isObject()) {
+                    deepMerge(overrides, (ObjectNode) layer.getOverrides().deepCopy());
+                }
+                if (updatedAt == null || (layer.getUpdatedAt() != null && layer.getUpdatedAt().isAfter(updatedAt))) {
+                    updatedAt = layer.getUpdatedAt();
+                }
+            }
+
+            List<Field> fields = new ArrayList<>();
+            defaults.fields().forEachRemaining(field ->
+                    fields.add(new Field(field.getKey(), field.getValue(), isTemplated(field.getValue()))));
+            return new ManifestRule(List.copyOf(fields), overrides, updatedAt);
+        }
+
+        public void apply(ObjectNode config, String appName) {
+            for (Field field : defaults) {
+                if (!config.has(field.name())) {
+                    config.set(field.name(), field.templated() ? resolve(field.value(), appName) : field.value());
+                }
+            }
+            applyOverrides(config, overrides, appName);
+        }
+
+        private static void applyOverrides(ObjectNode target, ObjectNode overrides, String appName) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields = overrides.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue().isObject()) {
+                    applyOverrides(writableObject(target, field.getKey()), (ObjectNode) field.getValue(), appName);
+                } else {
+                    target.set(field.getKey(), resolve(field.getValue(), appName));
+                }
+            }
+        }
+
+        private static void deepMerge(ObjectNode target, ObjectNode source) {
+            source.fields().forEachRemaining(field -> {
+                JsonNode existing = target.get(field.getKey());
+                if (existing != null && existing.isObject() && field.getValue().isObject()) {
+                    deepMerge((ObjectNode) existing, (ObjectNode) field.getValue());
+                } else {
+                    target.set(field.getKey(), field.getValue());
+                }
+            });
+        }
+
+        private static boolean isTemplated(JsonNode node) {
+            if (node.isTextual()) {
+                return node.textValue().contains(APP_NAME);
+            }
+            for (JsonNode child : node) {
+                if (isTemplated(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static JsonNode resolve(JsonNode node, String appName) {
+            if (node.isTextual()) {
+                return node.textValue().contains(APP_NAME)
+                        ? TextNode.valueOf(node.textValue().replace(APP_NAME, String.valueOf(appName)))
+                        : node;
+            }
+            if (!node.isContainerNode()) {
+                return node;
+            }
+            JsonNode copy = node.deepCopy();
+            if (copy.isObject()) {
+                ObjectNode object = (ObjectNode) copy;
+                object.fields().forEachRemaining(field -> field.setValue(resolve(field.getValue(), appName)));
+            } else {
+                ArrayNode array = (ArrayNode) copy;
+                for (int i = 0; i < array.size(); i++) {
+                    array.set(i, resolve(array.get(i), appName));
+                }
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * Everything values generation needs from the defaults of one category
+     */
+    public record CategoryDefaults(List<ManifestDefaultEntry> manifests,
+                                   Map<AppManifest.ManifestType, ManifestRule> rules) {
+        public static final CategoryDefaults EMPTY = new CategoryDefaults(List.of(), Map.of());
+
+        public ManifestRule rule(AppManifest.ManifestType manifestType) {
+            return rules.getOrDefault(manifestType, ManifestRule.EMPTY);
         }
     }
 
+    /**
+     * Nested object of {@code parent} that is safe to modify. Existing objects may be shared with a cached
+     * template or an entity, so they are copied (one level) and re-attached before being written.
+     */
+    public static ObjectNode writableObject(ObjectNode parent, String field) {
+        JsonNode current = parent.get(field);
+        if (current == null || !current.isObject()) {
+            return parent.putObject(field);
+        }
+        ObjectNode copy = parent.objectNode();
+        copy.setAll((ObjectNode) current);
+        parent.set(field, copy);
+        return copy;
+    }
+
     // REMOVED: initializeDefaults() method - now using database-driven configuration
 
     /**
      * Get default manifests for a category from database
      */
     public List<ManifestDefaultEntry> getDefaultManifestsForCategory(String category) {
-        // Check cache first
-        String cacheKey = category.toLowerCase();
-        if (manifestCache.containsKey(cacheKey)) {
-            return manifestCache.get(cacheKey);
-        }
-        
-        // Load from database
-        List<ManifestDefault> dbDefaults = repository.findManifestDefaultsByCategory(cacheKey);
+        return manifestCache.get(category.toLowerCase());
+    }
+
+    private List<ManifestDefaultEntry> loadDefaultManifests(String category) {
+        List<ManifestDefault> dbDefaults = repository.findManifestDefaultsByCategory(category);
         List<ManifestDefaultEntry> entries = new ArrayList<>();
         
         for (ManifestDefault dbDefault : dbDefaults) {
@@ -100,16 +319,34 @@ public class K8sManifestDefaultsService {
         }
         
         // If no defaults found, try fallback to "default" category
-        if (entries.isEmpty() && !"default".equals(cacheKey)) {
+        if (entries.isEmpty() && !"default".equals(category)) {
             List<ManifestDefault> fallbackDefaults = repository.findManifestDefaultsByCategory("default");
             for (ManifestDefault dbDefault : fallbackDefaults) {
                 entries.add(new ManifestDefaultEntry(dbDefault, objectMapper));
             }
         }
         
-        // Cache the result
-        manifestCache.put(cacheKey, entries);
-        return entries;
+        // Shared between threads through the cache
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Default manifests and compiled default rules of a category (both cached)
+     */
+    public CategoryDefaults getCategoryDefaults(String category) {
+        String key = category == null ? "default" : category.toLowerCase();
+        return new CategoryDefaults(manifestCache.get(key), ruleCache.get(key));
+    }
+
+    private Map<AppManifest.ManifestType, ManifestRule> loadManifestRules(String category) {
+        Map<AppManifest.ManifestType, List<ManifestDefaultRule>> layers = new EnumMap<>(AppManifest.ManifestType.class);
+        for (ManifestDefaultRule rule : repository.findManifestDefaultRules(category)) {
+            layers.computeIfAbsent(rule.getManifestType(), type -> new ArrayList<>()).add(rule);
+        }
+
+        Map<AppManifest.ManifestType, ManifestRule> rules = new EnumMap<>(AppManifest.ManifestType.class);
+        layers.forEach((type, rows) -> rules.put(type, ManifestRule.compile(rows)));
+        return Collections.unmodifiableMap(rules);
     }
 
     /**
@@ -138,7 +375,7 @@ public class K8sManifestDefaultsService {
             return manifest.required;
         }
 
-        return evaluateManifestCondition(manifest.creationCondition, appConfig);
+        return manifest.condition.test(appConfig);
     }
 
     /**
@@ -158,9 +395,9 @@ public class K8sManifestDefaultsService {
                 manifest.description = defaultManifest.description;
                 manifest.creationCondition = defaultManifest.creationCondition;
                 
-                // Convert defaultConfig to JsonNode
-                if (!defaultManifest.defaultConfig.isEmpty()) {
-                    manifest.defaultConfig = objectMapper.valueToTree(defaultManifest.defaultConfig);
+                // Persisted manifests get their own copy of the shared template
+                if (defaultManifest.hasDefaultConfig()) {
+                    manifest.defaultConfig = defaultManifest.defaultConfig.deepCopy();
                 }
                 
                 manifests.add(manifest);
@@ -171,63 +408,21 @@ public class K8sManifestDefaultsService {
     }
 
     /**
-     * Enhanced condition evaluation with support for complex auth configurations
+     * Evaluate a creation condition (see {@link ManifestCondition} for the syntax).
+     * The expression is compiled on first use and cached.
      */
     public boolean evaluateManifestCondition(String condition, JsonNode appConfig) {
-        if (condition == null || condition.isEmpty()) {
-            return true;
-        }
-
-        switch (condition) {
-            case "auth.enabled":
-                return appConfig.path("auth").path("enabled").asBoolean(false);
-            
-            case "persistence.enabled": 
-                return appConfig.path("persistence").path("enabled").asBoolean(false);
-            
-            case "ingress.enabled":
-                return appConfig.path("ingress").path("enabled").asBoolean(true); // Default true for most apps
-            
-            case "hpa.enabled":
-                return appConfig.path("hpa").path("enabled").asBoolean(false);
-            
-            case "serviceAccount.create":
-                return appConfig.path("serviceAccount").path("create").asBoolean(false);
-            
-            default:
-                // Generic path evaluation
-                if (condition.contains(".")) {
-                    String[] parts = condition.split("\\.");
-                    JsonNode current = appConfig;
-                    for (String part : parts) {
-                        current = current.path(part);
-                    }
-                    return current.asBoolean(false);
-                }
-                return appConfig.path(condition).asBoolean(false);
-        }
+        return ManifestCondition.of(condition).test(appConfig);
     }
 
     /**
-     * Get default configuration for auth based on app category and auth type from database
+     * Get default configuration for auth based on app category and auth type from database.
+     * Returns a copy, so callers may modify it without touching the cached entry.
      */
     public JsonNode getDefaultAuthConfig(String category, String authType) {
-        // Check cache first
-        String cacheKey = category.toLowerCase() + "_" + authType.toLowerCase();
-        if (authCache.containsKey(cacheKey)) {
-            List<AuthDefault> cached = authCache.get(cacheKey);
-            if (!cached.isEmpty()) {
-                return cached.get(0).getDefaultConfig();
-            }
-        }
-        
-        // Load from database
-        Optional<AuthDefault> authDefault = repository.findAuthDefault(category.toLowerCase(), authType.toLowerCase());
-        
+        Optional<JsonNode> authDefault = authCache.get(new AuthKey(category.toLowerCase(), authType.toLowerCase()));
         if (authDefault.isPresent()) {
-            // Cache for future use
-            authCache.put(cacheKey, List.of(authDefault.get()));
-            return authDefault.get().getDefaultConfig();
+            return authDefault.get().deepCopy();
         }
         
         // Fallback to empty auth config
@@ -241,6 +436,8 @@ public class K8sManifestDefaultsService {
      * Get all available auth types for a category from database
      */
     public List<String> getAuthTypesForCategory(String category) {
+        // The reference queries are query-cached, and SQL edits never invalidate that cache
+        defaultsVersion();
         return repository.getAuthTypesForCategory(category.toLowerCase());
     }
 
@@ -248,21 +445,122 @@ public class K8sManifestDefaultsService {
      * Get all available service categories from database
      */
     public List<ServiceCategory> getAllServiceCategories() {
+        defaultsVersion();
         return repository.findAllActiveCategories();
     }
 
+    /**
+     * Active service categories with their manifest and auth default counts (one query)
+     */
+    public List<CategoryStats> getCategoryStats() {
+        defaultsVersion();
+        return repository.getCategoryStats();
+    }
+
+    /**
+     * Active auth defaults of a category with their configs (one query)
+     */
+    public List<AuthDefaultSummary> getAuthDefaultsForCategory(String category) {
+        defaultsVersion();
+        return repository.findAuthDefaultSummaries(category.toLowerCase());
+    }
+
+    /**
+     * Every active category with its manifest and auth defaults, from three set-based queries
+     * whatever the number of categories
+     */
+    public List<CategoryOverviewResponse> getCategoryOverview() {
+        defaultsVersion();
+        Map<String, List<ManifestDefaultSummary>> manifests = new HashMap<>();
+        for (ManifestDefaultSummary manifest : repository.findManifestDefaultSummaries()) {
+            manifests.computeIfAbsent(manifest.category(), name -> new ArrayList<>()).add(manifest);
+        }
+        Map<String, List<AuthDefaultSummary>> authDefaults = new HashMap<>();
+        for (AuthDefaultSummary authDefault : repository.findAuthDefaultSummaries()) {
+            authDefaults.computeIfAbsent(authDefault.category(), name -> new ArrayList<>()).add(authDefault);
+        }
+
+        return repository.getCategoryStats().stream()
+                .map(stats -> CategoryOverviewResponse.builder()
+                        .name(stats.name())
+                        .displayName(stats.displayName())
+                        .description(stats.description())
+                        .icon(stats.icon())
+                        .color(stats.color())
+                        .manifestCount(stats.manifestCount())
+                        .authCount(stats.authCount())
+                        .manifests(manifests.getOrDefault(stats.name(), List.of()))
+                        .authDefaults(authDefaults.getOrDefault(stats.name(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Current version of the reference data (one aggregate query). When it differs from the last one
+     * seen, e.g. after defaults or rules were edited with SQL, the defaults caches are dropped and every
+     * rendered stack and app values block is invalidated before the new version is published.
+     * Called before every read of cached reference data, as SQL edits bypass Hibernate's invalidation.
+     */
+    public String defaultsVersion() {
+        String version = repository.findDefaultsVersion();
+        if (!version.equals(defaultsVersion)) {
+            synchronized (this) {
+                if (!version.equals(defaultsVersion)) {
+                    if (defaultsVersion != null) {
+                        Log.infof("🔄 Manifest defaults changed, reloading the defaults caches");
+                    }
+                    clearCache();
+                    valuesChanged.fire(new StackValuesCache.ValuesChanged(null));
+                    defaultsVersion = version;
+                }
+            }
+        }
+        return version;
+    }
+
     /**
      * Clear manifest cache (useful after database updates)
      */
     public void clearCache() {
-        manifestCache.clear();
-        authCache.clear();
+        manifestCache.invalidateAll();
+        authCache.invalidateAll();
+        ruleCache.invalidateAll();
+        // Rows edited outside the application are also stale in Hibernate's second-level cache
+        repository.evictSecondLevelCache();
+    }
+
+    /**
+     * Size, hit/miss and load statistics of the defaults caches
+     */
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("manifestDefaults", describe(manifestCache.estimatedSize(), manifestCache.stats()));
+        statistics.put("authDefaults", describe(authCache.estimatedSize(), authCache.stats()));
+        statistics.put("manifestRules", describe(ruleCache.estimatedSize(), ruleCache.stats()));
+        statistics.put("secondLevelCache", repository.secondLevelCacheStatistics());
+        return statistics;
+    }
+
+    private Map<String, Object> describe(long size, CacheStats stats) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", size);
+        description.put("maximumSize", maximumSize);
+        description.put("ttlSeconds", ttl.toSeconds());
+        description.put("hitCount", stats.hitCount());
+        description.put("missCount", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("loadSuccessCount", stats.loadSuccessCount());
+        description.put("loadFailureCount", stats.loadFailureCount());
+        description.put("averageLoadTimeMs", TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()));
+        description.put("evictionCount", stats.evictionCount());
+        return description;
     }
 
     /**
      * Check if category exists in database
      */
     public boolean categoryExists(String categoryName) {
+        defaultsVersion();
         return repository.categoryExists(categoryName);
     }
 } 
\ No newline at end of file
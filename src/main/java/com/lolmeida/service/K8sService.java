@@ -1,18 +1,30 @@
 package com.lolmeida.service;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lolmeida.dto.projection.StackSummary;
 import com.lolmeida.entity.core.Environment;
 import com.lolmeida.entity.core.Stack;
+import com.lolmeida.entity.core.ValuesSnapshot;
 import com.lolmeida.entity.k8s.App;
 import com.lolmeida.entity.k8s.AppManifest;
 import com.lolmeida.repository.K8sRepository;
+import com.lolmeida.util.StructuralHash;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 import jakarta.ws.rs.core.Response;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @ApplicationScoped
 public class K8sService {
@@ -26,75 +38,195 @@ public class K8sService {
     @Inject
     K8sManifestDefaultsService manifestDefaultsService;
 
+    @Inject
+    AppValuesFragments appValuesFragments;
+
     public Response generateStackValues(Long envId, String stackName) {
         if (envId == null || stackName == null) {
             return BaseService.result(Response.Status.BAD_REQUEST, "Environment ID and Stack name cannot be null");
         }
 
+        // Stack and environment in one query; the environment lookup only happens for the error message
+        Stack stack = repository.findStackWithEnvironment(envId, stackName).orElse(null);
+        if (stack == null) {
+            if (repository.findEnvironmentById(envId).isEmpty()) {
+                return BaseService.result(Response.Status.NOT_FOUND, "Environment with id " + envId + " not found");
+            }
+            return BaseService.result(Response.Status.NOT_FOUND, "Stack '" + stackName + "' not found in environment " + envId);
+        }
+
+        List<App> apps = repository.findAppsWithManifestsByStackId(stack.id);
+        ObjectNode values = buildStackValues(stack, apps,
+                app -> appValues(app, manifestDefaultsService.getCategoryDefaults(app.category)));
+
+        return BaseService.result(Response.Status.OK, values);
+    }
+    
+    /**
+     * Values document of a stack; the block of each enabled app comes from {@code appValues}
+     * (computed inline, or ahead of time by the bulk export).
+     */
+    public ObjectNode buildStackValues(Stack stack, List<App> apps, Function<App, ObjectNode> appValues) {
         ObjectNode values = objectMapper.createObjectNode();
+        stackValuesEntries(stack, apps, appValues).forEach((key, value) -> values.set(key, value.get()));
+        return values;
+    }
 
-        // Global configuration
-        Environment env = repository.findEnvironmentById(envId).orElse(null);
-        if (env == null) {
-            return BaseService.result(Response.Status.NOT_FOUND, "Environment with id " + envId + " not found");
+    /**
+     * Streams the same document as {@link #buildStackValues} to the generator, one top-level block at a time,
+     * so the stack's values never exist as a single tree
+     */
+    public void writeStackValues(JsonGenerator generator, Stack stack, List<App> apps,
+                                 Function<App, ObjectNode> appValues) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, Supplier<JsonNode>> entry : stackValuesEntries(stack, apps, appValues).entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            generator.writeTree(entry.getValue().get());
         }
-        
-        ObjectNode global = values.putObject("global");
+        generator.writeEndObject();
+    }
+
+    /**
+     * Top-level blocks of a stack's values, in document order. Same merge semantics as the tree:
+     * a repeated key keeps its first position and takes the last value.
+     */
+    private Map<String, Supplier<JsonNode>> stackValuesEntries(Stack stack, List<App> apps,
+                                                              Function<App, ObjectNode> appValues) {
+        Environment env = stack.environment;
+        Map<String, Supplier<JsonNode>> entries = new LinkedHashMap<>();
+
+        // Global configuration
+        ObjectNode global = objectMapper.createObjectNode();
         global.put("namespace", env.name.equals("prod") ? "lolmeida" : env.name);
         global.put("timezone", "Europe/Lisbon");
-
-        // Stack configuration
-        Stack stack = repository.findStackByEnvironmentAndName(envId, stackName).orElse(null);
-        if (stack == null) {
-            return BaseService.result(Response.Status.NOT_FOUND, "Stack '" + stackName + "' not found in environment " + envId);
-        }
+        entries.put("global", () -> global);
 
         // Stack-level flags
-        ObjectNode stackConfig = values.putObject(stackName + "Stack");
+        ObjectNode stackConfig = objectMapper.createObjectNode();
         stackConfig.put("enabled", stack.enabled);
+        entries.put(stack.name + "Stack", () -> stackConfig);
 
         ObjectNode stackApps = stackConfig.putObject("apps");
 
-        // Apps configuration (sorted by deployment priority)
-        List<App> apps = repository.findAppsByStackId(stack.id);
+        // Apps configuration (sorted by deployment priority), blocks resolved when written
         for (App app : apps) {
             stackApps.put(app.name, app.enabled);
 
             if (app.enabled) {
-                ObjectNode appConfig = values.putObject(app.name);
-                appConfig.put("enabled", true);
+                entries.put(app.name, () -> appValues.apply(app));
+            }
+        }
 
-                // App-specific configuration
-                if (app.defaultConfig != null) {
-                    appConfig.setAll((ObjectNode) app.defaultConfig);
-                }
+        return entries;
+    }
 
-                // Image configuration
-                ObjectNode image = appConfig.putObject("image");
-                image.put("repository", app.defaultImageRepository);
-                image.put("tag", app.defaultImageTag);
+    /**
+     * Values block of one app, reused from {@link AppValuesFragments} while the app, its manifests
+     * and the category defaults are unchanged
+     */
+    public ObjectNode appValues(App app, K8sManifestDefaultsService.CategoryDefaults defaults) {
+        return appValuesFragments.get(app, defaults, () -> buildAppValues(app, defaults));
+    }
 
-                // Default ports
-                if (app.defaultPorts != null) {
-                    appConfig.set("ports", app.defaultPorts);
-                }
+    /**
+     * Values block of one app. Only reads the (already loaded) app, its manifests and the given
+     * category defaults, so it can run off the request thread.
+     */
+    public ObjectNode buildAppValues(App app, K8sManifestDefaultsService.CategoryDefaults defaults) {
+        ObjectNode appConfig = objectMapper.createObjectNode();
+        appConfig.put("enabled", true);
 
-                // Default resources
-                if (app.defaultResources != null) {
-                    appConfig.set("resources", app.defaultResources);
-                }
+        // App-specific configuration
+        if (app.defaultConfig != null) {
+            appConfig.setAll((ObjectNode) app.defaultConfig);
+        }
 
-                // Health checks
-                if (app.healthCheckPath != null) {
-                    appConfig.put("healthCheckPath", app.healthCheckPath);
-                }
+        // Image configuration
+        ObjectNode image = appConfig.putObject("image");
+        image.put("repository", app.defaultImageRepository);
+        image.put("tag", app.defaultImageTag);
 
-                // Generate manifest-specific configurations
-                generateAppManifestConfigurations(app, appConfig);
-            }
+        // Default ports
+        if (app.defaultPorts != null) {
+            appConfig.set("ports", app.defaultPorts);
         }
 
-        return BaseService.result(Response.Status.OK, values);
+        // Default resources
+        if (app.defaultResources != null) {
+            appConfig.set("resources", app.defaultResources);
+        }
+
+        // Health checks
+        if (app.healthCheckPath != null) {
+            appConfig.put("healthCheckPath", app.healthCheckPath);
+        }
+
+        // Generate manifest-specific configurations
+        generateAppManifestConfigurations(app, appConfig, defaults);
+        return appConfig;
+    }
+    
+    // ========== VALUES DIFF ==========
+
+    /**
+     * Structural hash of the stack's current values and the changes since the last recorded snapshot
+     */
+    public Response getValuesDiff(Long envId, String stackName) {
+        // Drops the cached defaults and rules first when they were edited
+        manifestDefaultsService.defaultsVersion();
+        Response generated = generateStackValues(envId, stackName);
+        if (generated.getStatus() != Response.Status.OK.getStatusCode()) {
+            return generated;
+        }
+        StructuralHash current = StructuralHash.of((JsonNode) generated.getEntity());
+        ValuesSnapshot snapshot = repository.findValuesSnapshot(envId, stackName).orElse(null);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("environmentId", envId);
+        result.put("stackName", stackName);
+        result.put("hash", current.hex());
+        result.put("previousHash", snapshot != null ? snapshot.valuesHash : null);
+        result.put("recordedAt", snapshot != null ? snapshot.recordedAt : null);
+
+        List<StructuralHash.Change> changes;
+        if (snapshot == null) {
+            changes = List.of(new StructuralHash.Change("", StructuralHash.ChangeType.ADDED, null, null));
+        } else if (snapshot.valuesHash.equals(current.hex())) {
+            changes = List.of();
+        } else {
+            changes = StructuralHash.diff(StructuralHash.of(snapshot.values), current);
+        }
+        result.put("changed", !changes.isEmpty());
+        result.put("changes", changes);
+
+        return BaseService.result(Response.Status.OK, result);
+    }
+
+    /**
+     * Record the stack's current values as the baseline for {@link #getValuesDiff} (e.g. after a deploy)
+     */
+    @Transactional
+    public Response recordValuesSnapshot(Long envId, String stackName) {
+        manifestDefaultsService.defaultsVersion();
+        Response generated = generateStackValues(envId, stackName);
+        if (generated.getStatus() != Response.Status.OK.getStatusCode()) {
+            return generated;
+        }
+        JsonNode values = (JsonNode) generated.getEntity();
+
+        ValuesSnapshot snapshot = repository.findValuesSnapshot(envId, stackName).orElseGet(ValuesSnapshot::new);
+        snapshot.environmentId = envId;
+        snapshot.stackName = stackName;
+        snapshot.values = values.deepCopy();
+        snapshot.valuesHash = StructuralHash.of(values).hex();
+        snapshot.recordedAt = LocalDateTime.now();
+        repository.persistValuesSnapshot(snapshot);
+
+        return BaseService.result(Response.Status.OK, Map.of(
+                "environmentId", envId,
+                "stackName", stackName,
+                "hash", snapshot.valuesHash,
+                "recordedAt", snapshot.recordedAt));
     }
     
     // ========== ENVIRONMENT OPERATIONS ==========
@@ -129,7 +261,7 @@ public class K8sService {
             return BaseService.result(Response.Status.NOT_FOUND, "Environment with id " + envId + " not found");
         }
         
-        return BaseService.result(Response.Status.OK, repository.findStacksByEnvironmentId(envId));
+        return BaseService.result(Response.Status.OK, repository.findStackSummariesByEnvironmentId(envId));
     }
     
     public Response getStackByEnvironmentAndName(Long envId, String stackName) {
@@ -137,7 +269,7 @@ public class K8sService {
             return BaseService.result(Response.Status.BAD_REQUEST, "Environment ID and Stack name cannot be null");
         }
         
-        Stack stack = repository.findStackByEnvironmentAndName(envId, stackName).orElse(null);
+        StackSummary stack = repository.findStackSummaryByEnvironmentAndName(envId, stackName).orElse(null);
         if (stack == null) {
             return BaseService.result(Response.Status.NOT_FOUND, "Stack '" + stackName + "' not found in environment " + envId);
         }
@@ -152,7 +284,7 @@ public class K8sService {
             return BaseService.result(Response.Status.BAD_REQUEST, "Stack ID cannot be null");
         }
         
-        return BaseService.result(Response.Status.OK, repository.findAppsByStackId(stackId));
+        return BaseService.result(Response.Status.OK, repository.findAppSummariesByStackId(stackId));
     }
     
     public Response getAppsByEnvironmentAndStack(Long envId, Long stackId) {
@@ -166,7 +298,7 @@ public class K8sService {
             return BaseService.result(Response.Status.NOT_FOUND, "Stack with id " + stackId + " not found in environment " + envId);
         }
         
-        return BaseService.result(Response.Status.OK, repository.findAppsByEnvironmentAndStack(envId, stackId));
+        return BaseService.result(Response.Status.OK, repository.findAppSummariesByStackId(stackId));
     }
     
     // ========== APP MANIFEST OPERATIONS ==========
@@ -176,33 +308,27 @@ public class K8sService {
             return BaseService.result(Response.Status.BAD_REQUEST, "App ID cannot be null");
         }
         
-        return BaseService.result(Response.Status.OK, repository.findAppManifestsByAppId(appId));
+        return BaseService.result(Response.Status.OK, repository.findAppManifestSummariesByAppId(appId));
     }
 
-    private void generateAppManifestConfigurations(App app, ObjectNode appConfig) {
-        // Get default manifests for this app category
-        List<K8sManifestDefaultsService.ManifestDefaultEntry> defaultManifests = 
-            manifestDefaultsService.getDefaultManifestsForCategory(app.category);
-        
-        // Get existing manifests for this app (if any)
-        List<AppManifest> existingManifests = repository.findAppManifestsByAppId(app.id);
+    private void generateAppManifestConfigurations(App app, ObjectNode appConfig,
+                                                   K8sManifestDefaultsService.CategoryDefaults defaults) {
+        // Existing manifests for this app (if any), already loaded with the app
+        List<AppManifest> existingManifests = app.requiredManifests;
         
         // Generate configurations for default manifests
-        for (K8sManifestDefaultsService.ManifestDefaultEntry defaultManifest : defaultManifests) {
-            if (manifestDefaultsService.evaluateManifestCondition(defaultManifest.creationCondition, appConfig)) {
+        for (K8sManifestDefaultsService.ManifestDefaultEntry defaultManifest : defaults.manifests()) {
+            if (defaultManifest.condition.test(appConfig)) {
                 String manifestKey = defaultManifest.manifestType.name().toLowerCase();
                 
                 ObjectNode manifestConfig = appConfig.putObject(manifestKey);
                 manifestConfig.put("enabled", true);
                 
                 // Add default configuration from the manifest defaults service
-                if (!defaultManifest.defaultConfig.isEmpty()) {
-                    ObjectNode defaultConfigNode = objectMapper.valueToTree(defaultManifest.defaultConfig);
-                    manifestConfig.setAll(defaultConfigNode);
-                }
+                defaultManifest.mergeDefaultConfigInto(manifestConfig);
                 
-                // Add legacy manifest-specific defaults for backwards compatibility
-                addManifestDefaults(defaultManifest.manifestType, manifestConfig, app);
+                // Add per-type/per-category default rules
+                defaults.rule(defaultManifest.manifestType).apply(manifestConfig, app.name);
             }
         }
         
@@ -212,8 +338,7 @@ public class K8sService {
 
             // Only generate config for required manifests or those with conditions met
             if (manifest.isRequired() || shouldCreateManifest(manifest, appConfig)) {
-                ObjectNode manifestConfig = appConfig.hasNonNull(manifestKey) ? 
-                    (ObjectNode) appConfig.get(manifestKey) : appConfig.putObject(manifestKey);
+                ObjectNode manifestConfig = K8sManifestDefaultsService.writableObject(appConfig, manifestKey);
                 
                 manifestConfig.put("enabled", true);
 
@@ -222,8 +347,8 @@ public class K8sService {
                     manifestConfig.setAll((ObjectNode) manifest.defaultConfig);
                 }
 
-                // Add manifest-specific defaults
-                addManifestDefaults(manifest.manifestType, manifestConfig, app);
+                // Add per-type/per-category default rules
+                defaults.rule(manifest.manifestType).apply(manifestConfig, app.name);
             }
         }
     }
@@ -231,134 +356,6 @@ public class K8sService {
     private boolean shouldCreateManifest(AppManifest manifest, ObjectNode appConfig) {
         if (manifest.creationCondition == null) return true;
 
-        // Use the enhanced condition evaluation from manifest defaults service
-        return manifestDefaultsService.evaluateManifestCondition(manifest.creationCondition, appConfig);
-    }
-
-    private void addManifestDefaults(AppManifest.ManifestType manifestType, ObjectNode config, App app) {
-        switch (manifestType) {
-            case DEPLOYMENT:
-                // Enhanced deployment configuration based on app category
-                if (!config.has("replicaCount")) {
-                    int defaultReplicas = "api".equals(app.category) ? 2 : 1;
-                    config.put("replicaCount", defaultReplicas);
-                }
-                if (!config.has("imagePullPolicy")) {
-                    config.put("imagePullPolicy", "IfNotPresent");
-                }
-                if (!config.has("restartPolicy")) {
-                    config.put("restartPolicy", "Always");
-                }
-                
-                // Add rolling update strategy for APIs
-                if ("api".equals(app.category) && !config.has("strategy")) {
-                    ObjectNode strategy = config.putObject("strategy");
-                    strategy.put("type", "RollingUpdate");
-                    ObjectNode rollingUpdate = strategy.putObject("rollingUpdate");
-                    rollingUpdate.put("maxSurge", 1);
-                    rollingUpdate.put("maxUnavailable", 0);
-                }
-                break;
-                
-            case SERVICE:
-                if (!config.has("type")) {
-                    config.put("type", "ClusterIP");
-                }
-                if (!config.has("sessionAffinity")) {
-                    config.put("sessionAffinity", "None");
-                }
-                break;
-                
-            case INGRESS:
-                if (!config.has("className")) {
-                    config.put("className", "nginx");
-                }
-                if (!config.has("host")) {
-                    config.put("host", app.name + ".lolmeida.com");
-                }
-                
-                // Enhanced annotations based on app category
-                ObjectNode annotations = config.has("annotations") ? 
-                    (ObjectNode) config.get("annotations") : config.putObject("annotations");
-                
-                annotations.put("nginx.ingress.kubernetes.io/ssl-redirect", "true");
-                annotations.put("cert-manager.io/cluster-issuer", "letsencrypt-prod");
-                
-                // Add rate limiting for APIs
-                if ("api".equals(app.category)) {
-                    annotations.put("nginx.ingress.kubernetes.io/rate-limit", "100");
-                    annotations.put("nginx.ingress.kubernetes.io/rate-limit-window", "1m");
-                }
-                
-                // Add TLS configuration
-                if (!config.has("tls")) {
-                    ObjectNode tls = config.putObject("tls");
-                    tls.put("enabled", true);
-                }
-                break;
-                
-            case PERSISTENT_VOLUME_CLAIM:
-                if (!config.has("accessMode")) {
-                    config.put("accessMode", "ReadWriteOnce");
-                }
-                if (!config.has("size")) {
-                    // Different default sizes based on app category
-                    String defaultSize = switch (app.category) {
-                        case "database" -> "10Gi";
-                        case "monitoring" -> "20Gi";
-                        case "automation" -> "5Gi";
-                        default -> "2Gi";
-                    };
-                    config.put("size", defaultSize);
-                }
-                if (!config.has("storageClass")) {
-                    config.put("storageClass", "default");
-                }
-                break;
-                
-            case HPA:
-                if (!config.has("minReplicas")) {
-                    int minReplicas = "api".equals(app.category) ? 2 : 1;
-                    config.put("minReplicas", minReplicas);
-                }
-                if (!config.has("maxReplicas")) {
-                    int maxReplicas = "api".equals(app.category) ? 10 : 3;
-                    config.put("maxReplicas", maxReplicas);
-                }
-                if (!config.has("targetCPUUtilizationPercentage")) {
-                    config.put("targetCPUUtilizationPercentage", 70);
-                }
-                if ("api".equals(app.category) && !config.has("targetMemoryUtilizationPercentage")) {
-                    config.put("targetMemoryUtilizationPercentage", 80);
-                }
-                break;
-                
-            case SECRET:
-                if (!config.has("type")) {
-                    config.put("type", "Opaque");
-                }
-                if (!config.has("immutable")) {
-                    config.put("immutable", false);
-                }
-                break;
-                
-            case CONFIG_MAP:
-                if (!config.has("immutable")) {
-                    config.put("immutable", false);
-                }
-                break;
-                
-            case SERVICE_ACCOUNT:
-                if (!config.has("automountServiceAccountToken")) {
-                    config.put("automountServiceAccountToken", true);
-                }
-                break;
-                
-            case CLUSTER_ROLE:
-                if (!config.has("createBinding")) {
-                    config.put("createBinding", true);
-                }
-                break;
-        }
+        return manifest.compiledCondition().test(appConfig);
     }
-}
\ No newline at end of file
+}
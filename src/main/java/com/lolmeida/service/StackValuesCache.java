@@ -0,0 +1,168 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.lolmeida.repository.K8sRepository;
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of rendered values (JSON and YAML bytes) per (environment, stack).
+ * Each request only runs two aggregate queries to read the version of the stack's data and of the
+ * manifest defaults and rules; the values are regenerated when either changes or when a
+ * {@link ValuesChanged} event is observed.
+ * Responses carry a strong ETag so pollers can use If-None-Match and get 304.
+ */
+@ApplicationScoped
+public class StackValuesCache {
+
+    public static final String YAML_MEDIA_TYPE = "application/x-yaml";
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        YAML(YAML_MEDIA_TYPE);
+
+        final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    /**
+     * Fired by the configuration endpoints when data used by values generation changes.
+     * A null envId invalidates every stack; appId is set when the change is limited to one app.
+     */
+    public record ValuesChanged(Long envId, Long appId) {
+        public ValuesChanged(Long envId) {
+            this(envId, null);
+        }
+    }
+
+    private record Key(Long envId, String stackName) {
+    }
+
+    private record Rendered(String version, String digest, byte[] json, byte[] yaml) {
+    }
+
+    @Inject
+    K8sService k8sService;
+
+    @Inject
+    K8sRepository repository;
+
+    @Inject
+    K8sManifestDefaultsService manifestDefaultsService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    private final Map<Key, Rendered> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Rendered values for the stack, or 304 when the client's If-None-Match already matches
+     */
+    public Response getValues(Long envId, String stackName, Format format, String ifNoneMatch) {
+        if (envId == null || stackName == null) {
+            return k8sService.generateStackValues(envId, stackName);
+        }
+
+        Optional<String> stackVersion = repository.findStackValuesVersion(envId, stackName);
+        if (stackVersion.isEmpty()) {
+            // Let the generator produce the usual 404 message
+            return k8sService.generateStackValues(envId, stackName);
+        }
+        // Defaults and rules feed every stack; a change there also drops the stale defaults caches
+        String version = stackVersion.get() + manifestDefaultsService.defaultsVersion();
+
+        Key key = new Key(envId, stackName);
+        Rendered rendered = cache.get(key);
+        if (rendered == null || !rendered.version().equals(version)) {
+            Response generated = k8sService.generateStackValues(envId, stackName);
+            if (generated.getStatus() != Response.Status.OK.getStatusCode()) {
+                return generated;
+            }
+            try {
+                rendered = render(version, (JsonNode) generated.getEntity());
+            } catch (JsonProcessingException e) {
+                return BaseService.result(Response.Status.INTERNAL_SERVER_ERROR,
+                        "Failed to generate values: " + e.getMessage());
+            }
+            cache.put(key, rendered);
+            Log.debugf("📦 Rendered values for stack '%s' in environment %d", stackName, envId);
+        }
+
+        EntityTag etag = new EntityTag(rendered.digest() + "-" + format.name().toLowerCase());
+        if (matches(ifNoneMatch, etag)) {
+            return Response.notModified(etag).build();
+        }
+        byte[] body = format == Format.YAML ? rendered.yaml() : rendered.json();
+        return Response.ok(body, format.mediaType)
+                .tag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .build();
+    }
+
+    public void invalidate(Long envId) {
+        if (envId == null) {
+            cache.clear();
+        } else {
+            cache.keySet().removeIf(key -> key.envId().equals(envId));
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    void onValuesChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ValuesChanged event) {
+        invalidate(event.envId());
+    }
+
+    private Rendered render(String version, JsonNode values) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(values);
+        byte[] yaml = yamlMapper.writeValueAsBytes(values);
+        return new Rendered(version, digest(json), json, yaml);
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String expected = "\"" + etag.getValue() + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(expected) || tag.equals("W/" + expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,145 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.lolmeida.entity.core.Stack;
+import com.lolmeida.entity.k8s.App;
+import com.lolmeida.repository.K8sRepository;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk values export: every enabled stack of one environment (or of all environments) in one response,
+ * streamed as multi-document YAML.
+ * <p>
+ * All data is loaded up front on the request thread (stacks, apps with manifests, and a snapshot of the
+ * category defaults), then the app blocks are computed in parallel on virtual threads. Documents are
+ * streamed straight to the response, one app block at a time, without building a tree per stack.
+ */
+@ApplicationScoped
+public class StackValuesExporter {
+
+    @Inject
+    K8sService k8sService;
+
+    @Inject
+    K8sRepository repository;
+
+    @Inject
+    K8sManifestDefaultsService manifestDefaultsService;
+
+    @ConfigProperty(name = "app.values-export.timeout", defaultValue = "30S")
+    Duration timeout;
+
+    private final ObjectMapper yamlMapper = new ObjectMapper(YAMLFactory.builder()
+            .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build());
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Values of all enabled stacks of the environment, or of every environment when envId is null
+     */
+    public Response exportValues(Long envId) {
+        if (envId != null && repository.findEnvironmentById(envId).isEmpty()) {
+            return BaseService.result(Response.Status.NOT_FOUND, "Environment with id " + envId + " not found");
+        }
+
+        long start = System.nanoTime();
+        List<Stack> stacks = repository.findEnabledStacksWithEnvironment(envId);
+        List<App> apps = repository.findAppsWithManifestsByStackIds(
+                stacks.stream().map(stack -> stack.id).toList());
+        Map<Long, List<App>> appsByStack = apps.stream()
+                .collect(Collectors.groupingBy(app -> app.stack.id));
+
+        // Shared, read-only defaults snapshot so the workers never touch the database;
+        // cached defaults and rules are dropped first when they were edited
+        manifestDefaultsService.defaultsVersion();
+        Map<String, K8sManifestDefaultsService.CategoryDefaults> defaults = new HashMap<>();
+        for (App app : apps) {
+            defaults.computeIfAbsent(app.category, manifestDefaultsService::getCategoryDefaults);
+        }
+
+        Map<Long, Future<ObjectNode>> futures = new HashMap<>();
+        for (App app : apps) {
+            if (app.enabled) {
+                K8sManifestDefaultsService.CategoryDefaults appDefaults = defaults.get(app.category);
+                futures.put(app.id, executor.submit(() -> k8sService.appValues(app, appDefaults)));
+            }
+        }
+
+        // Resolved before the status line is sent, so a failed app is a 5xx and not a truncated document
+        Map<Long, ObjectNode> appValues = new HashMap<>();
+        try {
+            for (Map.Entry<Long, Future<ObjectNode>> entry : futures.entrySet()) {
+                appValues.put(entry.getKey(), await(entry.getValue()));
+            }
+        } catch (IllegalStateException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            Log.errorf("❌ Values export failed: %s", e.getMessage());
+            return BaseService.result(Response.Status.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        Log.infof("📦 Exporting values for %d stacks (%d apps), generated in %d ms",
+                stacks.size(), apps.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        StreamingOutput body = output -> {
+            for (Stack stack : stacks) {
+                String header = "--- # environment: " + stack.environment.name + ", stack: " + stack.name + "\n";
+                output.write(header.getBytes(StandardCharsets.UTF_8));
+
+                // The generator leaves the response stream open
+                try (JsonGenerator generator = yamlMapper.createGenerator(output)) {
+                    k8sService.writeStackValues(generator, stack,
+                            appsByStack.getOrDefault(stack.id, List.of()), app -> appValues.get(app.id));
+                }
+                output.flush();
+            }
+        };
+        return Response.ok(body, StackValuesCache.YAML_MEDIA_TYPE).build();
+    }
+
+    private ObjectNode await(Future<ObjectNode> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Values export interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Failed to generate app values: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.lolmeida.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lolmeida.dto.audit.AnomalyEvent;
+import com.lolmeida.dto.audit.RequestInfo;
+import com.lolmeida.util.RequestInfoExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Stateful detector fed with every completed request.
+ * Keeps a per-IP sliding window of requests / 4xx responses and a per-route EWMA latency baseline
+ * (per matched resource route, unmatched paths share one),
+ * both in bounded, expiring Caffeine caches, and reports bursts, 4xx scanning and latency regressions
+ * as structured log events and Micrometer counters.
+ */
+@ApplicationScoped
+public class TrafficAnomalyDetector {
+
+    static final String ANOMALY_COUNTER = "audit.anomalies";
+
+    // Latency baseline shared by every request that matched no resource
+    static final String UNMATCHED_ROUTE = "{unmatched}";
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "app.audit.anomaly.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.audit.anomaly.window-seconds", defaultValue = "60")
+    int windowSeconds;
+
+    @ConfigProperty(name = "app.audit.anomaly.burst-threshold", defaultValue = "300")
+    int burstThreshold;
+
+    @ConfigProperty(name = "app.audit.anomaly.error-threshold", defaultValue = "30")
+    int errorThreshold;
+
+    @ConfigProperty(name = "app.audit.anomaly.error-ratio", defaultValue = "0.5")
+    double errorRatio;
+
+    @ConfigProperty(name = "app.audit.anomaly.latency-factor", defaultValue = "3.0")
+    double latencyFactor;
+
+    @ConfigProperty(name = "app.audit.anomaly.latency-min-ms", defaultValue = "250")
+    long latencyMinMs;
+
+    @ConfigProperty(name = "app.audit.anomaly.latency-alpha", defaultValue = "0.1")
+    double latencyAlpha;
+
+    @ConfigProperty(name = "app.audit.anomaly.latency-min-samples", defaultValue = "20")
+    int latencyMinSamples;
+
+    @ConfigProperty(name = "app.audit.anomaly.max-tracked-ips", defaultValue = "10000")
+    int maxTrackedIps;
+
+    @ConfigProperty(name = "app.audit.anomaly.max-tracked-routes", defaultValue = "1000")
+    int maxTrackedRoutes;
+
+    // Overridable in tests
+    LongSupplier clock = System::nanoTime;
+
+    private Cache<String, IpWindow> ipWindows;
+    private Cache<String, RouteBaseline> routeBaselines;
+    private final Map<AnomalyEvent.Type, Counter> anomalyCounters = new EnumMap<>(AnomalyEvent.Type.class);
+
+    @PostConstruct
+    void init() {
+        // An IP idle for two windows has nothing left to report
+        ipWindows = Caffeine.newBuilder()
+                .maximumSize(maxTrackedIps)
+                .expireAfterAccess(2L * windowSeconds, TimeUnit.SECONDS)
+                .ticker(() -> clock.getAsLong())
+                .build();
+        routeBaselines = Caffeine.newBuilder()
+                .maximumSize(maxTrackedRoutes)
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .ticker(() -> clock.getAsLong())
+                .build();
+
+        for (AnomalyEvent.Type type : AnomalyEvent.Type.values()) {
+            anomalyCounters.put(type, Counter.builder(ANOMALY_COUNTER)
+                    .description("Traffic anomalies detected by the audit pipeline")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        meterRegistry.gauge("audit.anomaly.tracked.ips", this, detector -> detector.ipWindows.estimatedSize());
+        meterRegistry.gauge("audit.anomaly.tracked.routes", this, detector -> detector.routeBaselines.estimatedSize());
+    }
+
+    /**
+     * Feed a completed request; returns the anomalies it triggered (usually none)
+     */
+    public List<AnomalyEvent> observe(RequestInfo requestInfo) {
+        if (!enabled || requestInfo == null) {
+            return Collections.emptyList();
+        }
+
+        long now = clock.getAsLong();
+        long second = TimeUnit.NANOSECONDS.toSeconds(now);
+        List<AnomalyEvent> events = new ArrayList<>(0);
+        String route = requestInfo.getHttpMethod() + " " + RequestInfoExtractor.routeTemplate(requestInfo.getRequestUri());
+
+        String ip = requestInfo.getUserIp();
+        if (ip != null) {
+            boolean clientError = requestInfo.getResponseStatus() != null
+                    && requestInfo.getResponseStatus() >= 400 && requestInfo.getResponseStatus() < 500;
+            IpWindow window = ipWindows.get(ip, key -> new IpWindow(windowSeconds));
+            window.record(second, clientError, now, TimeUnit.SECONDS.toNanos(windowSeconds), burstThreshold,
+                    errorThreshold, errorRatio, requestInfo, route, events);
+        }
+
+        if (requestInfo.getDuration() != null && requestInfo.getRequestUri() != null) {
+            // Keyed on the matched route only: probes of unknown paths must not evict real baselines
+            String baselineRoute = requestInfo.getHttpMethod() + " "
+                    + (requestInfo.getRouteTemplate() != null ? requestInfo.getRouteTemplate() : UNMATCHED_ROUTE);
+            RouteBaseline baseline = routeBaselines.get(baselineRoute, key -> new RouteBaseline());
+            double threshold = baseline.thresholdFor(latencyFactor, latencyMinMs, latencyMinSamples);
+            if (requestInfo.getDuration() > threshold
+                    && baseline.tryFlag(now, TimeUnit.SECONDS.toNanos(windowSeconds))) {
+                events.add(event(AnomalyEvent.Type.LATENCY_REGRESSION, requestInfo, baselineRoute,
+                        requestInfo.getDuration(), threshold));
+            }
+            baseline.update(requestInfo.getDuration(), latencyAlpha);
+        }
+
+        for (AnomalyEvent event : events) {
+            emit(event);
+        }
+        return events;
+    }
+
+    private void emit(AnomalyEvent event) {
+        anomalyCounters.get(event.getType()).increment();
+        Log.warnf("🚨 ANOMALY type=%s ip=%s route=\"%s\" observed=%.1f threshold=%.1f requestId=%s",
+                event.getType(),
+                event.getUserIp(),
+                event.getRoute(),
+                event.getObserved(),
+                event.getThreshold(),
+                event.getRequestId());
+    }
+
+    private static AnomalyEvent event(AnomalyEvent.Type type, RequestInfo requestInfo, String route,
+                                      double observed, double threshold) {
+        return AnomalyEvent.builder()
+                .type(type)
+                .userIp(requestInfo.getUserIp())
+                .route(route)
+                .observed(observed)
+                .threshold(threshold)
+                .requestId(requestInfo.getRequestId())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private static boolean cooledDown(long lastFlag, long now, long cooldownNanos) {
+        return lastFlag == NEVER || now - lastFlag > cooldownNanos;
+    }
+
+    /**
+     * Per-IP sliding window made of one-second slots.
+     * Each anomaly type is reported at most once per window so an ongoing burst produces a single event.
+     */
+    static final class IpWindow {
+        private final long[] slotSecond;
+        private final int[] requests;
+        private final int[] errors;
+        private long lastBurstFlag = NEVER;
+        private long lastScanFlag = NEVER;
+
+        IpWindow(int windowSeconds) {
+            slotSecond = new long[windowSeconds];
+            requests = new int[windowSeconds];
+            errors = new int[windowSeconds];
+            Arrays.fill(slotSecond, Long.MIN_VALUE);
+        }
+
+        synchronized void record(long second, boolean clientError, long now, long windowNanos,
+                                 int burstThreshold, int errorThreshold, double errorRatio,
+                                 RequestInfo requestInfo, String route, List<AnomalyEvent> events) {
+            int slot = (int) Math.floorMod(second, (long) slotSecond.length);
+            if (slotSecond[slot] != second) {
+                slotSecond[slot] = second;
+                requests[slot] = 0;
+                errors[slot] = 0;
+            }
+            requests[slot]++;
+            if (clientError) {
+                errors[slot]++;
+            }
+
+            long oldest = second - slotSecond.length;
+            int totalRequests = 0;
+            int totalErrors = 0;
+            for (int i = 0; i < slotSecond.length; i++) {
+                if (slotSecond[i] > oldest) {
+                    totalRequests += requests[i];
+                    totalErrors += errors[i];
+                }
+            }
+
+            if (totalRequests > burstThreshold && cooledDown(lastBurstFlag, now, windowNanos)) {
+                lastBurstFlag = now;
+                events.add(event(AnomalyEvent.Type.BURST, requestInfo, route, totalRequests, burstThreshold));
+            }
+            if (totalErrors >= errorThreshold && totalErrors >= errorRatio * totalRequests
+                    && cooledDown(lastScanFlag, now, windowNanos)) {
+                lastScanFlag = now;
+                events.add(event(AnomalyEvent.Type.ERROR_SCAN, requestInfo, route, totalErrors, errorThreshold));
+            }
+        }
+    }
+
+    /**
+     * Exponentially weighted moving average of a route's latency, updated lock-free
+     */
+    static final class RouteBaseline {
+        private final AtomicLong meanBits = new AtomicLong(Double.doubleToLongBits(0.0));
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong lastFlag = new AtomicLong(NEVER);
+
+        double thresholdFor(double factor, long minMs, int minSamples) {
+            if (samples.get() < minSamples) {
+                return Double.MAX_VALUE;
+            }
+            return Math.max(minMs, factor * Double.longBitsToDouble(meanBits.get()));
+        }
+
+        void update(long durationMs, double alpha) {
+            long count = samples.incrementAndGet();
+            long current;
+            long next;
+            do {
+                current = meanBits.get();
+                double mean = Double.longBitsToDouble(current);
+                // Plain average until the baseline has a few samples, then exponential decay
+                double weight = Math.max(alpha, 1.0 / count);
+                next = Double.doubleToLongBits(mean + weight * (durationMs - mean));
+            } while (!meanBits.compareAndSet(current, next));
+        }
+
+        boolean tryFlag(long now, long cooldownNanos) {
+            long previous = lastFlag.get();
+            return cooledDown(previous, now, cooldownNanos) && lastFlag.compareAndSet(previous, now);
+        }
+    }
+}
@@ -1,26 +1,247 @@
 package com.lolmeida.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lolmeida.dto.mapper.MapperService;
+import com.lolmeida.dto.projection.UserIdentity;
+import com.lolmeida.dto.request.UserListRequest;
 import com.lolmeida.dto.request.UserRequest;
 import com.lolmeida.dto.request.UserPatchRequest;
+import com.lolmeida.dto.response.UserImportResponse;
+import com.lolmeida.entity.User;
 import com.lolmeida.repository.UserRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class UserService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final int STREAM_BATCH_SIZE = 500;
     
     @Inject
     UserRepository userRepository;
 
     @Inject
     MapperService mapper;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    @ConfigProperty(name = "app.users.page.default-limit", defaultValue = "50")
+    int defaultLimit;
+
+    @ConfigProperty(name = "app.users.page.max-limit", defaultValue = "500")
+    int maxLimit;
+
+    @ConfigProperty(name = "app.users.import.chunk-size", defaultValue = "500")
+    int importChunkSize;
+    
+    /**
+     * GET /users - One keyset page of users; the X-Next-Cursor header holds the cursor of the next page
+     */
+    public Response getAllUsers(UserListRequest request) {
+        UserRepository.Order order = order(request.getSort());
+        UserRepository.Cursor after;
+        try {
+            after = decodeCursor(request.getAfter(), order);
+        } catch (IllegalArgumentException e) {
+            return BaseService.result(Response.Status.BAD_REQUEST, "Invalid cursor");
+        }
+        int limit = Math.max(1, Math.min(request.getLimit() != null ? request.getLimit() : defaultLimit, maxLimit));
+
+        // One extra row tells whether there is a next page
+        List<User> users = userRepository.findPage(order, after, request.getUsername(), request.getEmail(), limit + 1);
+        boolean hasNext = users.size() > limit;
+        List<User> page = hasNext ? users.subList(0, limit) : users;
+
+        Response.ResponseBuilder response = Response.ok(page.stream().map(mapper::toUserResponse).toList());
+        if (hasNext) {
+            response.header(NEXT_CURSOR_HEADER, encodeCursor(page.get(page.size() - 1), order));
+        }
+        return response.build();
+    }
+
+    /**
+     * GET /users as NDJSON - Every matching user, one JSON object per line, read through a database cursor
+     */
+    public Response streamUsers(UserListRequest request) {
+        UserRepository.Order order = order(request.getSort());
+        UserRepository.Cursor after;
+        try {
+            after = decodeCursor(request.getAfter(), order);
+        } catch (IllegalArgumentException e) {
+            return BaseService.result(Response.Status.BAD_REQUEST, "Invalid cursor");
+        }
+
+        StreamingOutput body = output -> QuarkusTransaction.requiringNew().run(() -> {
+            try (Stream<User> users = userRepository.stream(order, after, request.getUsername(), request.getEmail())) {
+                int written = 0;
+                for (Iterator<User> iterator = users.iterator(); iterator.hasNext(); ) {
+                    output.write(objectMapper.writeValueAsBytes(mapper.toUserResponse(iterator.next())));
+                    output.write('\n');
+                    // Keep the persistence context (and memory) bounded to one batch
+                    if (++written % STREAM_BATCH_SIZE == 0) {
+                        userRepository.getEntityManager().clear();
+                        output.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return Response.ok(body, NDJSON).build();
+    }
     
-    public Response getAllUsers() {
-        return BaseService.result(Response.Status.OK,userRepository.listAll());
+    /**
+     * POST /users/import - Bulk creation from a JSON array or NDJSON, read and inserted chunk by chunk.
+     * Each chunk is validated, checked for conflicts with one query and inserted in its own transaction,
+     * so a failing chunk does not undo the chunks already imported.
+     */
+    public Response importUsers(InputStream body) {
+        UserImportResponse report = new UserImportResponse();
+        // Usernames and emails already used by earlier rows of this import
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<UserRequest> chunk = new ArrayList<>(importChunkSize);
+        int row = 0;
+
+        // A top-level array is iterated element by element, otherwise the input is read as NDJSON
+        try (MappingIterator<UserRequest> requests = objectMapper.readerFor(UserRequest.class).readValues(body)) {
+            while (requests.hasNextValue()) {
+                UserRequest request = requests.nextValue();
+                row++;
+                chunk.add(request);
+                if (chunk.size() == importChunkSize) {
+                    importChunk(chunk, row - chunk.size() + 1, seenUsernames, seenEmails, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            importChunk(chunk, row - chunk.size() + 1, seenUsernames, seenEmails, report);
+            chunk.clear();
+            report.getRows().add(UserImportResponse.Row.builder()
+                    .row(row + 1)
+                    .status(UserImportResponse.Status.FAILED)
+                    .message("Malformed input, import stopped: " + e.getMessage())
+                    .build());
+            row++;
+        }
+        importChunk(chunk, row - chunk.size() + 1, seenUsernames, seenEmails, report);
+
+        report.setTotal(row);
+        report.setRejected(row - report.getCreated());
+        Log.infof("📥 User import: %d rows, %d created, %d rejected", row, report.getCreated(), report.getRejected());
+        return BaseService.result(Response.Status.OK, report);
+    }
+
+    private void importChunk(List<UserRequest> chunk, int firstRow, Set<String> seenUsernames, Set<String> seenEmails,
+                             UserImportResponse report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        UserImportResponse.Row[] outcomes = new UserImportResponse.Row[chunk.size()];
+
+        // Bean Validation and duplicates inside the input, without touching the database
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserRequest request = chunk.get(i);
+            UserImportResponse.Row outcome = UserImportResponse.Row.builder()
+                    .row(firstRow + i)
+                    .username(request != null ? request.getUsername() : null)
+                    .build();
+            outcomes[i] = outcome;
+
+            Set<ConstraintViolation<UserRequest>> violations = request != null ? validator.validate(request) : Set.of();
+            if (request == null || !violations.isEmpty()) {
+                outcome.setStatus(UserImportResponse.Status.INVALID);
+                outcome.setMessage(request == null ? "Empty row" : violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (seenUsernames.contains(request.getUsername()) || seenEmails.contains(request.getEmail())) {
+                outcome.setStatus(UserImportResponse.Status.DUPLICATE);
+                outcome.setMessage("Username or email repeated in the import");
+            } else {
+                seenUsernames.add(request.getUsername());
+                seenEmails.add(request.getEmail());
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            report.getRows().addAll(List.of(outcomes));
+            return;
+        }
+
+        // One set-based query for the conflicts of the whole chunk
+        List<UserIdentity> taken = userRepository.findIdentities(
+                candidates.stream().map(i -> chunk.get(i).getUsername()).toList(),
+                candidates.stream().map(i -> chunk.get(i).getEmail()).toList());
+        Set<String> takenUsernames = taken.stream().map(UserIdentity::username).collect(Collectors.toSet());
+        Set<String> takenEmails = taken.stream().map(UserIdentity::email).collect(Collectors.toSet());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(candidates.size());
+        List<UserImportResponse.Row> inserted = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            UserRequest request = chunk.get(i);
+            if (takenUsernames.contains(request.getUsername()) || takenEmails.contains(request.getEmail())) {
+                outcomes[i].setStatus(UserImportResponse.Status.CONFLICT);
+                outcomes[i].setMessage("Username or email already exists");
+                continue;
+            }
+            User user = mapper.toUser(request);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            users.add(user);
+            inserted.add(outcomes[i]);
+        }
+
+        if (!users.isEmpty()) {
+            try {
+                userRepository.insertBatch(users);
+                for (int i = 0; i < users.size(); i++) {
+                    inserted.get(i).setStatus(UserImportResponse.Status.CREATED);
+                    inserted.get(i).setId(users.get(i).getId());
+                }
+                report.setCreated(report.getCreated() + users.size());
+            } catch (RuntimeException e) {
+                // e.g. a concurrent insert of the same username: the chunk's transaction was rolled back
+                Log.warnf("⚠️ User import chunk starting at row %d failed: %s", firstRow, e.getMessage());
+                for (UserImportResponse.Row outcome : inserted) {
+                    outcome.setStatus(UserImportResponse.Status.FAILED);
+                    outcome.setMessage("Chunk rolled back: " + e.getMessage());
+                }
+            }
+        }
+        report.getRows().addAll(List.of(outcomes));
     }
     
     public Response getUserById(Long id) {
@@ -38,17 +259,17 @@ public class UserService {
     @Transactional
     public Response createUser(UserRequest userRequest) {
         // Check for unique constraint violations
-        if (isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), null)) {
+        if (userRepository.isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), null)) {
             return BaseService.result(Response.Status.CONFLICT, "Username or email already exists");
         }
 
-        
+        User user = mapper.toUser(userRequest);
         LocalDateTime now = LocalDateTime.now();
-        mapper.toUser(userRequest).setCreatedAt(now);
-        mapper.toUser(userRequest).setUpdatedAt(now);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
         
-        userRepository.createOrUpdate(mapper.toUser(userRequest));
-        return BaseService.result(Response.Status.CREATED, mapper.toUserResponse(mapper.toUser(userRequest)));
+        userRepository.createOrUpdate(user);
+        return BaseService.result(Response.Status.CREATED, mapper.toUserResponse(user));
     }
 
     /**
@@ -61,19 +282,21 @@ public class UserService {
             return BaseService.result(Response.Status.BAD_REQUEST, "User ID cannot be null");
         }
 
-        if (userRepository.findByIdOptional(id).isEmpty()) {
+        User user = userRepository.findByIdOptional(id).orElse(null);
+        if (user == null) {
             return BaseService.result(Response.Status.NOT_FOUND, "User with id " + id + " not found");
         }
 
-        if (isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), id)) {
+        if (userRepository.isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), id)) {
             return BaseService.result(Response.Status.CONFLICT, "Username or email already exists");
         }
 
-        mapper.toUserWithId(userRequest, id).setUpdatedAt(LocalDateTime.now());
-        mapper.toUserWithId(userRequest, id).setCreatedAt(userRepository.findByIdOptional(id).get().getCreatedAt()); // Keep original createdAt
+        // The loaded entity is updated in place, so createdAt is kept
+        mapper.updateUserFromRequest(userRequest, user);
+        user.setUpdatedAt(LocalDateTime.now());
         
-        userRepository.createOrUpdate(mapper.toUserWithId(userRequest, id));
-        return BaseService.result(Response.Status.OK, mapper.toUserResponse(mapper.toUserWithId(userRequest, id)));
+        userRepository.createOrUpdate(user);
+        return BaseService.result(Response.Status.OK, mapper.toUserResponse(user));
     }
 
     /**
@@ -86,24 +309,25 @@ public class UserService {
             return BaseService.result(Response.Status.BAD_REQUEST, "User ID cannot be null");
         }
 
-        if (userRepository.findByIdOptional(id).isEmpty()) {
+        User user = userRepository.findByIdOptional(id).orElse(null);
+        if (user == null) {
             return BaseService.result(Response.Status.NOT_FOUND, "User with id " + id + " not found");
         }
 
-
-        String newUsername = patchRequest.getUsername() != null ? patchRequest.getUsername() : userRepository.findByIdOptional(id).get().getUsername();
-        String newEmail = patchRequest.getEmail() != null ? patchRequest.getEmail() : userRepository.findByIdOptional(id).get().getEmail();
-        
-        if (isUsernameOrEmailTaken(newUsername, newEmail, id)) {
-            return BaseService.result(Response.Status.CONFLICT, "Username or email already exists");
+        // Uniqueness only needs checking when the patch touches username or email
+        if (patchRequest.getUsername() != null || patchRequest.getEmail() != null) {
+            String newUsername = patchRequest.getUsername() != null ? patchRequest.getUsername() : user.getUsername();
+            String newEmail = patchRequest.getEmail() != null ? patchRequest.getEmail() : user.getEmail();
+            if (userRepository.isUsernameOrEmailTaken(newUsername, newEmail, id)) {
+                return BaseService.result(Response.Status.CONFLICT, "Username or email already exists");
+            }
         }
 
-        mapper.updateUserFromPatch(patchRequest, userRepository.findByIdOptional(id).get());
-        
-        userRepository.findByIdOptional(id).get().setUpdatedAt(LocalDateTime.now());
+        mapper.updateUserFromPatch(patchRequest, user);
+        user.setUpdatedAt(LocalDateTime.now());
         
-        userRepository.createOrUpdate(userRepository.findByIdOptional(id).get());
-        return BaseService.result(Response.Status.OK, mapper.toUserResponse(userRepository.findByIdOptional(id).get()));
+        userRepository.createOrUpdate(user);
+        return BaseService.result(Response.Status.OK, mapper.toUserResponse(user));
     }
 
     /**
@@ -114,29 +338,30 @@ public class UserService {
     @Deprecated
     @Transactional
     public Response createOrUpdateUser(Long id, UserRequest userRequest) {
-        boolean isCreating = userRepository.findByIdOptional(id).isEmpty();
+        User existing = userRepository.findByIdOptional(id).orElse(null);
 
-        if (isCreating) {
-            if (isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), null)) {
+        if (existing == null) {
+            if (userRepository.isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), null)) {
                 return BaseService.result(Response.Status.CONFLICT, "Username or email already exists");
             }
 
+            User user = mapper.toUserWithId(userRequest, id);
             LocalDateTime now = LocalDateTime.now();
-            mapper.toUserWithId(userRequest, id).setCreatedAt(now);
-            mapper.toUserWithId(userRequest, id).setUpdatedAt(now);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
             
-            userRepository.createOrUpdate(mapper.toUserWithId(userRequest, id));
-            return BaseService.result(Response.Status.CREATED, mapper.toUserResponse(mapper.toUserWithId(userRequest, id)));
+            userRepository.createOrUpdate(user);
+            return BaseService.result(Response.Status.CREATED, mapper.toUserResponse(user));
         } else {
-            if (isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), id)) {
+            if (userRepository.isUsernameOrEmailTaken(userRequest.getUsername(), userRequest.getEmail(), id)) {
                 return BaseService.result(Response.Status.CONFLICT, "Username or email already exists");
             }
 
-            mapper.toUserWithId(userRequest, id).setUpdatedAt(LocalDateTime.now());
-            mapper.toUserWithId(userRequest, id).setCreatedAt(userRepository.findByIdOptional(id).get().getCreatedAt()); // Keep original createdAt
+            mapper.updateUserFromRequest(userRequest, existing);
+            existing.setUpdatedAt(LocalDateTime.now());
             
-            userRepository.createOrUpdate(mapper.toUserWithId(userRequest, id));
-            return BaseService.result(Response.Status.OK, mapper.toUserResponse(mapper.toUserWithId(userRequest, id)));
+            userRepository.createOrUpdate(existing);
+            return BaseService.result(Response.Status.OK, mapper.toUserResponse(existing));
         }
     }
 
@@ -151,12 +376,36 @@ public class UserService {
 
     // Helpers:
 
-    private boolean isUsernameOrEmailTaken(String username, String email, Long excludeId) {
-        if (userRepository.findByUsername(username).isPresent() && !userRepository.findByUsername(username).get().getId().equals(excludeId)) {
-            return true;
-        }
+    private static UserRepository.Order order(String sort) {
+        return "createdAt".equalsIgnoreCase(sort) ? UserRepository.Order.CREATED_AT : UserRepository.Order.ID;
+    }
 
-        return userRepository.findByEmail(email).isPresent() && !userRepository.findByEmail(email).get().getId().equals(excludeId);
+    /**
+     * Opaque cursor: base64url of "id" or "createdAt|id"
+     */
+    static String encodeCursor(User user, UserRepository.Order order) {
+        String position = order == UserRepository.Order.CREATED_AT
+                ? user.getCreatedAt() + "|" + user.getId()
+                : String.valueOf(user.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static UserRepository.Cursor decodeCursor(String cursor, UserRepository.Order order) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (order == UserRepository.Order.CREATED_AT) {
+                int separator = position.lastIndexOf('|');
+                return new UserRepository.Cursor(Long.parseLong(position.substring(separator + 1)),
+                        LocalDateTime.parse(position.substring(0, separator)));
+            }
+            return new UserRepository.Cursor(Long.parseLong(position), null);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
     }
 
+
 }
\ No newline at end of file
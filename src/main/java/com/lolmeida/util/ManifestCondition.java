@@ -0,0 +1,324 @@
+package com.lolmeida.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled manifest creation condition, evaluated against an app's values.
+ * <p>
+ * Supported syntax: dotted paths ({@code persistence.enabled}), literals (numbers, 'text' / "text",
+ * true, false, null), comparisons ({@code == != > >= < <=}), {@code !}, {@code &&}, {@code ||} and parentheses.
+ * A bare path is true when the value is truthy; {@code ingress.enabled} defaults to true when absent.
+ * <p>
+ * Conditions are parsed once (paths pre-split, literals pre-built) and cached by source text,
+ * so evaluation only walks the JSON tree.
+ */
+@FunctionalInterface
+public interface ManifestCondition {
+
+    ManifestCondition ALWAYS = config -> true;
+    ManifestCondition NEVER = config -> false;
+
+    boolean test(JsonNode config);
+
+    /**
+     * Compiled form of the condition, cached; null or blank conditions are always true.
+     * Invalid expressions never match (and are logged once).
+     */
+    static ManifestCondition of(String condition) {
+        if (condition == null || condition.isBlank()) {
+            return ALWAYS;
+        }
+        return Compiler.CACHE.get(condition, source -> {
+            try {
+                return compile(source);
+            } catch (IllegalArgumentException e) {
+                Log.warnf("Invalid manifest condition '%s': %s", source, e.getMessage());
+                return NEVER;
+            }
+        });
+    }
+
+    /**
+     * Parse the condition; throws IllegalArgumentException on syntax errors
+     */
+    static ManifestCondition compile(String condition) {
+        return new Compiler(condition).parse();
+    }
+
+    // ========== AST ==========
+
+    interface Operand {
+        JsonNode resolve(JsonNode config);
+    }
+
+    final class PathOperand implements Operand, ManifestCondition {
+        private final String[] segments;
+        private final boolean defaultValue;
+
+        PathOperand(String path) {
+            List<String> parts = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i <= path.length(); i++) {
+                if (i == path.length() || path.charAt(i) == '.') {
+                    if (i == start) {
+                        throw new IllegalArgumentException("empty segment in path '" + path + "'");
+                    }
+                    parts.add(path.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            this.segments = parts.toArray(new String[0]);
+            // Ingress is on unless explicitly disabled (historical behaviour)
+            this.defaultValue = "ingress.enabled".equals(path);
+        }
+
+        @Override
+        public JsonNode resolve(JsonNode config) {
+            JsonNode current = config;
+            for (String segment : segments) {
+                current = current.path(segment);
+            }
+            return current;
+        }
+
+        @Override
+        public boolean test(JsonNode config) {
+            return resolve(config).asBoolean(defaultValue);
+        }
+    }
+
+    record LiteralOperand(JsonNode value) implements Operand, ManifestCondition {
+        @Override
+        public JsonNode resolve(JsonNode config) {
+            return value;
+        }
+
+        @Override
+        public boolean test(JsonNode config) {
+            return value.asBoolean(false);
+        }
+    }
+
+    record Not(ManifestCondition operand) implements ManifestCondition {
+        @Override
+        public boolean test(JsonNode config) {
+            return !operand.test(config);
+        }
+    }
+
+    record And(ManifestCondition left, ManifestCondition right) implements ManifestCondition {
+        @Override
+        public boolean test(JsonNode config) {
+            return left.test(config) && right.test(config);
+        }
+    }
+
+    record Or(ManifestCondition left, ManifestCondition right) implements ManifestCondition {
+        @Override
+        public boolean test(JsonNode config) {
+            return left.test(config) || right.test(config);
+        }
+    }
+
+    record Comparison(Operand left, String operator, Operand right) implements ManifestCondition {
+        @Override
+        public boolean test(JsonNode config) {
+            JsonNode a = left.resolve(config);
+            JsonNode b = right.resolve(config);
+
+            boolean aAbsent = a.isMissingNode() || a.isNull();
+            boolean bAbsent = b.isMissingNode() || b.isNull();
+            if (aAbsent || bAbsent) {
+                boolean equal = aAbsent && bAbsent;
+                return switch (operator) {
+                    case "==" -> equal;
+                    case "!=" -> !equal;
+                    default -> false;
+                };
+            }
+
+            int order;
+            if (a.isNumber() && b.isNumber()) {
+                order = Double.compare(a.doubleValue(), b.doubleValue());
+            } else if (a.isBoolean() && b.isBoolean()) {
+                order = Boolean.compare(a.booleanValue(), b.booleanValue());
+            } else {
+                order = text(a).compareTo(text(b));
+            }
+            return switch (operator) {
+                case "==" -> order == 0;
+                case "!=" -> order != 0;
+                case ">" -> order > 0;
+                case ">=" -> order >= 0;
+                case "<" -> order < 0;
+                default -> order <= 0;
+            };
+        }
+
+        private static String text(JsonNode node) {
+            return node.isTextual() ? node.textValue() : node.asText();
+        }
+    }
+
+    // ========== PARSER ==========
+
+    /**
+     * Recursive-descent parser: or := and ('||' and)*, and := unary ('&&' unary)*,
+     * unary := '!' unary | '(' or ')' | operand (comparator operand)?
+     */
+    final class Compiler {
+        // Conditions come from the defaults tables, so a few hundred distinct ones at most
+        private static final Cache<String, ManifestCondition> CACHE = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .build();
+
+        private final String source;
+        private int pos;
+
+        private Compiler(String source) {
+            this.source = source;
+        }
+
+        private ManifestCondition parse() {
+            ManifestCondition condition = parseOr();
+            skipWhitespace();
+            if (pos < source.length()) {
+                throw error("unexpected '" + source.charAt(pos) + "'");
+            }
+            return condition;
+        }
+
+        private ManifestCondition parseOr() {
+            ManifestCondition left = parseAnd();
+            while (consume("||")) {
+                left = new Or(left, parseAnd());
+            }
+            return left;
+        }
+
+        private ManifestCondition parseAnd() {
+            ManifestCondition left = parseUnary();
+            while (consume("&&")) {
+                left = new And(left, parseUnary());
+            }
+            return left;
+        }
+
+        private ManifestCondition parseUnary() {
+            skipWhitespace();
+            if (peek('!') && !peekAt(1, '=')) {
+                pos++;
+                return new Not(parseUnary());
+            }
+            if (consume("(")) {
+                ManifestCondition inner = parseOr();
+                if (!consume(")")) {
+                    throw error("missing ')'");
+                }
+                return inner;
+            }
+
+            Operand left = parseOperand();
+            String operator = parseComparator();
+            if (operator == null) {
+                return (ManifestCondition) left;
+            }
+            return new Comparison(left, operator, parseOperand());
+        }
+
+        private String parseComparator() {
+            skipWhitespace();
+            for (String operator : new String[]{"==", "!=", ">=", "<=", ">", "<"}) {
+                if (source.startsWith(operator, pos)) {
+                    pos += operator.length();
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        private Operand parseOperand() {
+            skipWhitespace();
+            if (pos >= source.length()) {
+                throw error("expected a value");
+            }
+            char c = source.charAt(pos);
+            if (c == '\'' || c == '"') {
+                int end = source.indexOf(c, pos + 1);
+                if (end < 0) {
+                    throw error("unterminated string");
+                }
+                String text = source.substring(pos + 1, end);
+                pos = end + 1;
+                return new LiteralOperand(TextNode.valueOf(text));
+            }
+            if (c == '-' || Character.isDigit(c)) {
+                int start = pos++;
+                while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+                    pos++;
+                }
+                try {
+                    return new LiteralOperand(DoubleNode.valueOf(Double.parseDouble(source.substring(start, pos))));
+                } catch (NumberFormatException e) {
+                    throw error("invalid number");
+                }
+            }
+
+            int start = pos;
+            while (pos < source.length() && isPathChar(source.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("unexpected '" + c + "'");
+            }
+            String word = source.substring(start, pos);
+            return switch (word) {
+                case "true" -> new LiteralOperand(BooleanNode.TRUE);
+                case "false" -> new LiteralOperand(BooleanNode.FALSE);
+                case "null" -> new LiteralOperand(NullNode.getInstance());
+                default -> new PathOperand(word);
+            };
+        }
+
+        private static boolean isPathChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '-';
+        }
+
+        private boolean consume(String token) {
+            skipWhitespace();
+            if (source.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean peek(char c) {
+            return pos < source.length() && source.charAt(pos) == c;
+        }
+
+        private boolean peekAt(int offset, char c) {
+            return pos + offset < source.length() && source.charAt(pos + offset) == c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
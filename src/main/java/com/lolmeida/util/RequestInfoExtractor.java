@@ -1,20 +1,45 @@
 package com.lolmeida.util;
 
 import com.lolmeida.dto.audit.RequestInfo;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Path;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.core.MultivaluedMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @ApplicationScoped
 public class RequestInfoExtractor {
+
+    // Proxies (IPs or CIDR ranges) allowed to set X-Forwarded-For / X-Real-IP
+    @ConfigProperty(name = "app.client-ip.trusted-proxies")
+    Optional<List<String>> trustedProxyAddresses;
+
+    @Inject
+    CurrentVertxRequest currentVertxRequest;
+
+    private TrustedProxies trustedProxies = TrustedProxies.NONE;
+
+    @PostConstruct
+    void init() {
+        trustedProxies = TrustedProxies.parse(trustedProxyAddresses.orElse(List.of()));
+    }
     
     // Patterns for User-Agent parsing
     private static final Pattern CHROME_PATTERN = Pattern.compile("Chrome/([\\d\\.]+)");
@@ -39,26 +64,59 @@ public class RequestInfoExtractor {
      * Extract complete request information from ContainerRequestContext
      */
     public RequestInfo extractRequestInfo(ContainerRequestContext requestContext) {
+        String userIp = extractUserIp(requestContext);
+        return buildRequestInfo(
+                headerName -> getHeader(requestContext, headerName),
+                userIp,
+                requestContext.getMethod(),
+                requestContext.getUriInfo().getPath(),
+                requestContext.getUriInfo().getRequestUri().getQuery(),
+                extractCustomHeaders(requestContext));
+    }
+
+    /**
+     * Extract complete request information straight from the Vert.x request (no JAX-RS context needed)
+     */
+    public RequestInfo extractRequestInfo(HttpServerRequest request) {
+        Map<String, String> customHeaders = new HashMap<>();
+        request.headers().forEach(header -> {
+            if (isCustomHeader(header.getKey())) {
+                customHeaders.putIfAbsent(header.getKey(), header.getValue());
+            }
+        });
+
+        return buildRequestInfo(
+                request::getHeader,
+                resolveUserIp(request::getHeader, remoteHost(request)),
+                request.method().name(),
+                request.path(),
+                request.query(),
+                customHeaders);
+    }
+
+    private RequestInfo buildRequestInfo(Function<String, String> headers, String userIp, String httpMethod,
+                                         String requestUri, String queryString, Map<String, String> customHeaders) {
         LocalDateTime timestamp = LocalDateTime.now();
-        
+        String userAgent = headers.apply("User-Agent");
+
         return RequestInfo.builder()
-                .userIp(extractUserIp(requestContext))
-                .realIp(extractRealIp(requestContext))
-                .userAgent(getHeader(requestContext, "User-Agent"))
-                .httpMethod(requestContext.getMethod())
-                .requestUri(requestContext.getUriInfo().getPath())
-                .queryString(requestContext.getUriInfo().getRequestUri().getQuery())
-                .referer(getHeader(requestContext, "Referer"))
-                .acceptLanguage(getHeader(requestContext, "Accept-Language"))
-                .contentType(getHeader(requestContext, "Content-Type"))
+                .userIp(userIp)
+                .realIp(userIp) // Same as user IP for now
+                .userAgent(userAgent)
+                .httpMethod(httpMethod)
+                .requestUri(requestUri)
+                .queryString(queryString)
+                .referer(headers.apply("Referer"))
+                .acceptLanguage(headers.apply("Accept-Language"))
+                .contentType(headers.apply("Content-Type"))
                 .sessionId(generateSessionId()) // Generate a unique session ID
                 .requestId(generateRequestId())
                 .timestamp(timestamp)
-                .browserName(extractBrowserName(getHeader(requestContext, "User-Agent")))
-                .browserVersion(extractBrowserVersion(getHeader(requestContext, "User-Agent")))
-                .operatingSystem(extractOperatingSystem(getHeader(requestContext, "User-Agent")))
-                .deviceType(extractDeviceType(getHeader(requestContext, "User-Agent")))
-                .customHeaders(extractCustomHeaders(requestContext))
+                .browserName(extractBrowserName(userAgent))
+                .browserVersion(extractBrowserVersion(userAgent))
+                .operatingSystem(extractOperatingSystem(userAgent))
+                .deviceType(extractDeviceType(userAgent))
+                .customHeaders(customHeaders)
                 .build();
     }
     
@@ -66,50 +124,63 @@ public class RequestInfoExtractor {
      * Extract user IP address from request headers
      */
     private String extractUserIp(ContainerRequestContext requestContext) {
-        // Check for forwarded headers first (proxy/load balancer scenario)
-        String ip = getHeader(requestContext, "X-Forwarded-For");
-        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-            // X-Forwarded-For can contain multiple IPs, take the first one
-            return ip.split(",")[0].trim();
-        }
-        
-        ip = getHeader(requestContext, "X-Real-IP");
-        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-            return ip;
-        }
-        
-        ip = getHeader(requestContext, "X-Forwarded");
-        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-            return ip;
-        }
-        
-        ip = getHeader(requestContext, "X-Cluster-Client-IP");
-        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-            return ip;
-        }
-        
+        String remoteHost = null;
+
         // Try to get real IP from Vert.x routing context
         try {
             RoutingContext routingContext = (RoutingContext) requestContext.getProperty("io.vertx.ext.web.RoutingContext");
+            if (routingContext == null && currentVertxRequest != null) {
+                routingContext = currentVertxRequest.getCurrent();
+            }
             if (routingContext != null && routingContext.request() != null) {
-                String remoteAddress = routingContext.request().remoteAddress().host();
-                if (remoteAddress != null && !remoteAddress.isEmpty()) {
-                    return remoteAddress;
-                }
+                remoteHost = remoteHost(routingContext.request());
             }
         } catch (Exception e) {
             // Ignore if routing context not available
         }
-        
-        // Fallback to localhost for local development
-        return "127.0.0.1";
+
+        return resolveUserIp(headerName -> getHeader(requestContext, headerName), remoteHost);
     }
-    
+
     /**
-     * Extract real IP address (same as user IP for now)
+     * Resolve the client IP: the socket address, unless the connection comes from a trusted proxy.
+     * Then X-Forwarded-For is read right to left and the first hop that is not a trusted proxy wins,
+     * since the entries on its left are whatever the client chose to send.
      */
-    private String extractRealIp(ContainerRequestContext requestContext) {
-        return extractUserIp(requestContext);
+    String resolveUserIp(Function<String, String> headers, String remoteHost) {
+        if (remoteHost == null || remoteHost.isEmpty()) {
+            // Fallback to localhost for local development
+            return "127.0.0.1";
+        }
+        if (!trustedProxies.contains(remoteHost)) {
+            return remoteHost;
+        }
+
+        String forwardedFor = headers.apply("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (hop.isEmpty() || "unknown".equalsIgnoreCase(hop)) {
+                    break;
+                }
+                if (i == 0 || !trustedProxies.contains(hop)) {
+                    return hop;
+                }
+            }
+            return remoteHost;
+        }
+
+        String realIp = headers.apply("X-Real-IP");
+        if (realIp != null && !realIp.isBlank() && !"unknown".equalsIgnoreCase(realIp)) {
+            return realIp.trim();
+        }
+        return remoteHost;
+    }
+
+    private String remoteHost(HttpServerRequest request) {
+        SocketAddress remoteAddress = request.remoteAddress();
+        return remoteAddress != null ? remoteAddress.host() : null;
     }
     
     /**
@@ -232,16 +303,23 @@ public class RequestInfoExtractor {
         MultivaluedMap<String, String> headers = requestContext.getHeaders();
         
         for (String headerName : headers.keySet()) {
-            // Include custom headers (those starting with X- or custom app headers)
-            if (headerName.toLowerCase().startsWith("x-") || 
-                headerName.toLowerCase().startsWith("custom-") ||
-                headerName.toLowerCase().startsWith("app-")) {
+            if (isCustomHeader(headerName)) {
                 customHeaders.put(headerName, headers.getFirst(headerName));
             }
         }
         
         return customHeaders;
     }
+
+    /**
+     * Include custom headers (those starting with X- or custom app headers)
+     */
+    private boolean isCustomHeader(String headerName) {
+        String lowerCase = headerName.toLowerCase();
+        return lowerCase.startsWith("x-") ||
+               lowerCase.startsWith("custom-") ||
+               lowerCase.startsWith("app-");
+    }
     
     /**
      * Generate a unique session ID
@@ -268,8 +346,13 @@ public class RequestInfoExtractor {
      * Extract request information with additional context
      */
     public RequestInfo extractRequestInfo(ContainerRequestContext requestContext, Long duration, Integer responseStatus, Long responseSize) {
-        RequestInfo baseInfo = extractRequestInfo(requestContext);
-        
+        return completeRequestInfo(extractRequestInfo(requestContext), duration, responseStatus, responseSize);
+    }
+
+    /**
+     * Copy already extracted request information and add the response data
+     */
+    public RequestInfo completeRequestInfo(RequestInfo baseInfo, Long duration, Integer responseStatus, Long responseSize) {
         return RequestInfo.builder()
                 .userIp(baseInfo.getUserIp())
                 .realIp(baseInfo.getRealIp())
@@ -292,6 +375,73 @@ public class RequestInfoExtractor {
                 .responseStatus(responseStatus)
                 .responseSize(responseSize)
                 .isSuccess(responseStatus != null && responseStatus >= 200 && responseStatus < 300)
+                .routeTemplate(baseInfo.getRouteTemplate())
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Route template of a resource method from the class and method @Path, e.g. /api/users/{id};
+     * null when no resource method matched
+     */
+    public static String resourceTemplate(Class<?> resourceClass, Method resourceMethod) {
+        if (resourceClass == null || resourceMethod == null) {
+            return null;
+        }
+        StringBuilder template = new StringBuilder();
+        appendPath(template, resourceClass.getAnnotation(Path.class));
+        appendPath(template, resourceMethod.getAnnotation(Path.class));
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    private static void appendPath(StringBuilder template, Path path) {
+        if (path == null) {
+            return;
+        }
+        for (String segment : path.value().split("/")) {
+            if (!segment.isEmpty()) {
+                template.append('/').append(segment);
+            }
+        }
+    }
+
+    /**
+     * Collapse identifier segments of a path into {id} so metrics and limits are kept per route,
+     * e.g. /api/users/42 -> /api/users/{id}
+     */
+    public static String routeTemplate(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        StringBuilder route = new StringBuilder(path.length());
+        int start = path.charAt(0) == '/' ? 1 : 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+            route.append('/').append(isIdentifierSegment(segment) ? "{id}" : segment);
+            start = end + 1;
+        }
+        return route.toString();
+    }
+
+    private static boolean isIdentifierSegment(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        boolean allDigits = true;
+        boolean hexOrDash = true;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                allDigits = false;
+            }
+            if (Character.digit(c, 16) < 0 && c != '-') {
+                hexOrDash = false;
+            }
+        }
+        // Numeric ids, or UUID / hash-like tokens
+        return allDigits || (hexOrDash && segment.length() >= 16);
+    }
+}
@@ -0,0 +1,163 @@
+package com.lolmeida.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merkle-style SHA-256 hashes of a JSON tree: every subtree gets a hash derived from its children.
+ * Object hashes do not depend on field order (field hashes are summed), array hashes do.
+ * Numbers are compared by value, so 1 and 1.0 hash the same.
+ * <p>
+ * Hashes are computed once per tree in a single pass; {@link #diff} skips every subtree whose
+ * hashes match, so comparing two trees is linear in their size.
+ */
+public final class StructuralHash {
+
+    private static final byte NULL = 0, BOOLEAN = 1, NUMBER = 2, TEXT = 3, ARRAY = 4, OBJECT = 5, FIELD = 6;
+
+    public enum ChangeType { ADDED, REMOVED, CHANGED }
+
+    /**
+     * One difference, located by a JSON Pointer ("" is the whole document)
+     */
+    public record Change(String path, ChangeType type, JsonNode previous, JsonNode current) {
+    }
+
+    private final Map<JsonNode, byte[]> hashes = new IdentityHashMap<>();
+    private final MessageDigest digest;
+    private final JsonNode root;
+
+    private StructuralHash(JsonNode root) {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        this.root = root;
+        compute(root);
+    }
+
+    public static StructuralHash of(JsonNode root) {
+        return new StructuralHash(root);
+    }
+
+    public String hex() {
+        return HexFormat.of().formatHex(hashes.get(root));
+    }
+
+    /**
+     * Differences between two trees; both must have been hashed with {@link #of}
+     */
+    public static List<Change> diff(StructuralHash previous, StructuralHash current) {
+        List<Change> changes = new ArrayList<>();
+        diff("", previous.root, current.root, previous, current, changes);
+        return changes;
+    }
+
+    private static void diff(String path, JsonNode a, JsonNode b, StructuralHash hashesA, StructuralHash hashesB,
+                             List<Change> changes) {
+        if (MessageDigest.isEqual(hashesA.hashes.get(a), hashesB.hashes.get(b))) {
+            return;
+        }
+        if (a.isObject() && b.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields = a.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String childPath = path + "/" + escape(field.getKey());
+                JsonNode other = b.get(field.getKey());
+                if (other == null) {
+                    changes.add(new Change(childPath, ChangeType.REMOVED, field.getValue(), null));
+                } else {
+                    diff(childPath, field.getValue(), other, hashesA, hashesB, changes);
+                }
+            }
+            for (Iterator<Map.Entry<String, JsonNode>> fields = b.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!a.has(field.getKey())) {
+                    changes.add(new Change(path + "/" + escape(field.getKey()), ChangeType.ADDED, null, field.getValue()));
+                }
+            }
+        } else if (a.isArray() && b.isArray()) {
+            int common = Math.min(a.size(), b.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + i, a.get(i), b.get(i), hashesA, hashesB, changes);
+            }
+            for (int i = common; i < a.size(); i++) {
+                changes.add(new Change(path + "/" + i, ChangeType.REMOVED, a.get(i), null));
+            }
+            for (int i = common; i < b.size(); i++) {
+                changes.add(new Change(path + "/" + i, ChangeType.ADDED, null, b.get(i)));
+            }
+        } else {
+            changes.add(new Change(path, ChangeType.CHANGED, a, b));
+        }
+    }
+
+    private byte[] compute(JsonNode node) {
+        byte[] hash;
+        if (node.isObject()) {
+            // Sum of the field hashes: independent of field order
+            byte[] sum = new byte[32];
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                byte[] child = compute(field.getValue());
+                digest.update(FIELD);
+                digest.update(field.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update(child);
+                add(sum, digest.digest());
+            }
+            digest.update(OBJECT);
+            digest.update(sum);
+            hash = digest.digest();
+        } else if (node.isArray()) {
+            List<byte[]> children = new ArrayList<>(node.size());
+            for (JsonNode element : node) {
+                children.add(compute(element));
+            }
+            digest.update(ARRAY);
+            children.forEach(digest::update);
+            hash = digest.digest();
+        } else {
+            hash = scalar(node);
+        }
+        hashes.put(node, hash);
+        return hash;
+    }
+
+    private byte[] scalar(JsonNode node) {
+        if (node.isNumber()) {
+            digest.update(NUMBER);
+            digest.update(node.decimalValue().stripTrailingZeros().toPlainString().getBytes(StandardCharsets.UTF_8));
+        } else if (node.isBoolean()) {
+            digest.update(BOOLEAN);
+            digest.update((byte) (node.booleanValue() ? 1 : 0));
+        } else if (node.isNull() || node.isMissingNode()) {
+            digest.update(NULL);
+        } else {
+            digest.update(TEXT);
+            digest.update(node.asText().getBytes(StandardCharsets.UTF_8));
+        }
+        return digest.digest();
+    }
+
+    private static void add(byte[] sum, byte[] value) {
+        int carry = 0;
+        for (int i = sum.length - 1; i >= 0; i--) {
+            int total = (sum[i] & 0xff) + (value[i] & 0xff) + carry;
+            sum[i] = (byte) total;
+            carry = total >>> 8;
+        }
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+}
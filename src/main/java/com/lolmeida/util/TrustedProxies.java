@@ -0,0 +1,117 @@
+package com.lolmeida.util;
+
+import io.netty.util.NetUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Addresses (single IPs or CIDR ranges, IPv4 or IPv6) of the proxies whose forwarding headers are believed.
+ * Only literal addresses are parsed, never host names, so matching does no DNS lookup.
+ */
+public final class TrustedProxies {
+
+    public static final TrustedProxies NONE = new TrustedProxies(List.of());
+
+    private final List<Range> ranges;
+
+    private TrustedProxies(List<Range> ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Parse entries such as 10.0.0.0/8, 127.0.0.1 or ::1; invalid entries are rejected
+     */
+    public static TrustedProxies parse(List<String> entries) {
+        List<Range> ranges = new ArrayList<>();
+        for (String entry : entries) {
+            String spec = entry.trim();
+            int slash = spec.indexOf('/');
+            byte[] address = toBytes(slash < 0 ? spec : spec.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + entry);
+            }
+            int prefixLength = address.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(spec.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid trusted proxy prefix: " + entry);
+                }
+                if (prefixLength < 0 || prefixLength > address.length * 8) {
+                    throw new IllegalArgumentException("Invalid trusted proxy prefix: " + entry);
+                }
+            }
+            ranges.add(new Range(address, prefixLength));
+        }
+        return new TrustedProxies(List.copyOf(ranges));
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    public boolean contains(String ip) {
+        if (ranges.isEmpty() || ip == null) {
+            return false;
+        }
+        byte[] address = toBytes(ip.trim());
+        if (address == null) {
+            return false;
+        }
+        for (Range range : ranges) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bytes of an IPv4 dotted quad or an IPv6 literal, null for anything else (host names included)
+     */
+    private static byte[] toBytes(String ip) {
+        if (ip.indexOf(':') >= 0) {
+            // Non-resolving parser: returns null for anything that is not an IPv6 literal
+            return NetUtil.createByteArrayFromIpAddressString(ip);
+        }
+        String[] octets = ip.split("\\.", -1);
+        if (octets.length != 4) {
+            return null;
+        }
+        byte[] address = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            String octet = octets[i];
+            if (octet.isEmpty() || octet.length() > 3 || !octet.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                return null;
+            }
+            int value = Integer.parseInt(octet);
+            if (value > 255) {
+                return null;
+            }
+            address[i] = (byte) value;
+        }
+        return address;
+    }
+
+    private record Range(byte[] network, int prefixLength) {
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- V2.5.0__Index_users_created_at.sql
+-- Keyset pagination of GET /api/users ordered by creation date (newest first)
+
+-- Rows inserted with an explicit NULL timestamp would fall out of the keyset order
+UPDATE users SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+UPDATE users SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX idx_users_created_at_id ON users(created_at, id);
@@ -0,0 +1,13 @@
+-- V2.6.0__Create_id_generators.sql
+-- Pooled id generator table (JPA @TableGenerator), one row per entity.
+-- Hibernate reserves a block of ids per round trip instead of reading an AUTO_INCREMENT per row,
+-- which allows JDBC insert batching.
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(100) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- next_val is the upper bound of the next block of 50 ids, so it starts one block above the current ids
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 51 FROM users;
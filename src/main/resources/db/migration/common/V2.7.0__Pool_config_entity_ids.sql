@@ -0,0 +1,22 @@
+-- V2.7.0__Pool_config_entity_ids.sql
+-- Pooled ids for every BaseEntity table (see V2.6.0): one id_generators row per table, named after it.
+-- next_val starts one block of 50 above the current ids.
+-- Later migrations that insert rows into these tables must raise the matching next_val past the new ids.
+
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_environments', COALESCE(MAX(id), 0) + 51 FROM config_environments;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_stacks', COALESCE(MAX(id), 0) + 51 FROM config_stacks;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_apps', COALESCE(MAX(id), 0) + 51 FROM config_apps;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_app_manifests', COALESCE(MAX(id), 0) + 51 FROM config_app_manifests;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_deployments', COALESCE(MAX(id), 0) + 51 FROM config_deployments;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_kubernetes_services', COALESCE(MAX(id), 0) + 51 FROM config_kubernetes_services;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_ingresses', COALESCE(MAX(id), 0) + 51 FROM config_ingresses;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_persistent_volume_claims', COALESCE(MAX(id), 0) + 51 FROM config_persistent_volume_claims;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_configmaps', COALESCE(MAX(id), 0) + 51 FROM config_configmaps;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_secrets', COALESCE(MAX(id), 0) + 51 FROM config_secrets;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_service_accounts', COALESCE(MAX(id), 0) + 51 FROM config_service_accounts;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_cluster_roles', COALESCE(MAX(id), 0) + 51 FROM config_cluster_roles;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_hpa', COALESCE(MAX(id), 0) + 51 FROM config_hpa;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_manifest_defaults', COALESCE(MAX(id), 0) + 51 FROM config_manifest_defaults;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_auth_defaults', COALESCE(MAX(id), 0) + 51 FROM config_auth_defaults;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_values_snapshots', COALESCE(MAX(id), 0) + 51 FROM config_values_snapshots;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'config_manifest_default_rules', COALESCE(MAX(id), 0) + 51 FROM config_manifest_default_rules;
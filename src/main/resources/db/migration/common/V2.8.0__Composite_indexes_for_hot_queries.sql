@@ -0,0 +1,24 @@
+-- V2.8.0__Composite_indexes_for_hot_queries.sql
+-- Composite indexes matching the filters and ORDER BY of the hot lookups in K8sRepository and
+-- ManifestDefaultsRepository, so the rows come out of the index already sorted (no filesort).
+-- The older single-column indexes stay in place (DROP INDEX syntax differs between vendors).
+-- Auth defaults (category_id, auth_type) and stacks (environment_id, name) are already served in order
+-- by their unique keys.
+
+-- Manifest defaults of a category: category_id = ? AND is_active = true ORDER BY creation_priority
+CREATE INDEX idx_manifest_defaults_category_active_priority
+    ON config_manifest_defaults(category_id, is_active, creation_priority);
+
+-- Manifests of an app: app_id = ? ORDER BY creation_priority
+CREATE INDEX idx_app_manifests_app_priority
+    ON config_app_manifests(app_id, creation_priority);
+
+-- Apps of a stack: stack_id = ? ORDER BY deployment_priority, name
+CREATE INDEX idx_apps_stack_priority_name
+    ON config_apps(stack_id, deployment_priority, name);
+
+-- Stack values version (COUNT / MAX(updated_at) per stack and per app) answered from the index alone
+CREATE INDEX idx_apps_stack_updated
+    ON config_apps(stack_id, updated_at);
+CREATE INDEX idx_app_manifests_app_updated
+    ON config_app_manifests(app_id, updated_at);
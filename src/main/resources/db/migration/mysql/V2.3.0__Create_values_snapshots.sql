@@ -0,0 +1,13 @@
+-- V2.3.0__Create_values_snapshots.sql
+-- Last recorded values per stack, baseline for the values diff endpoint
+
+CREATE TABLE IF NOT EXISTS config_values_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    environment_id BIGINT NOT NULL,
+    stack_name VARCHAR(50) NOT NULL,
+    values_hash CHAR(64) NOT NULL,
+    values_json JSON,
+    recorded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_values_snapshot_stack (environment_id, stack_name),
+    CONSTRAINT fk_values_snapshot_environment FOREIGN KEY (environment_id) REFERENCES config_environments(id) ON DELETE CASCADE
+);
@@ -0,0 +1,56 @@
+-- V2.4.0__Create_manifest_default_rules.sql
+-- Manifest default rules - Move the hardcoded per-type/per-category defaults of values generation to database
+
+-- =================================================
+-- MANIFEST DEFAULT RULES TABLE
+-- =================================================
+
+-- defaults: top-level fields set only when missing; overrides: fields always set (objects merged)
+-- category_id NULL applies to every category, category rows are layered on top
+-- Text values may use ${app.name}
+CREATE TABLE IF NOT EXISTS config_manifest_default_rules (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    category_id BIGINT NULL,
+    manifest_type VARCHAR(50) NOT NULL,
+    defaults JSON,
+    overrides JSON,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_category_manifest_rule (category_id, manifest_type),
+    CONSTRAINT fk_manifest_rule_category FOREIGN KEY (category_id) REFERENCES config_service_categories(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_config_manifest_default_rules_type ON config_manifest_default_rules(manifest_type);
+
+-- =================================================
+-- SEED DATA (same values as the previous hardcoded defaults)
+-- =================================================
+
+SET @database_cat_id = (SELECT id FROM config_service_categories WHERE name = 'database');
+SET @monitoring_cat_id = (SELECT id FROM config_service_categories WHERE name = 'monitoring');
+SET @automation_cat_id = (SELECT id FROM config_service_categories WHERE name = 'automation');
+SET @api_cat_id = (SELECT id FROM config_service_categories WHERE name = 'api');
+
+-- All categories
+INSERT INTO config_manifest_default_rules (category_id, manifest_type, defaults, overrides) VALUES
+(NULL, 'DEPLOYMENT', '{"replicaCount": 1, "imagePullPolicy": "IfNotPresent", "restartPolicy": "Always"}', NULL),
+(NULL, 'SERVICE', '{"type": "ClusterIP", "sessionAffinity": "None"}', NULL),
+(NULL, 'INGRESS', '{"className": "nginx", "host": "${app.name}.lolmeida.com", "tls": {"enabled": true}}',
+ '{"annotations": {"nginx.ingress.kubernetes.io/ssl-redirect": "true", "cert-manager.io/cluster-issuer": "letsencrypt-prod"}}'),
+(NULL, 'PERSISTENT_VOLUME_CLAIM', '{"accessMode": "ReadWriteOnce", "size": "2Gi", "storageClass": "default"}', NULL),
+(NULL, 'HPA', '{"minReplicas": 1, "maxReplicas": 3, "targetCPUUtilizationPercentage": 70}', NULL),
+(NULL, 'SECRET', '{"type": "Opaque", "immutable": false}', NULL),
+(NULL, 'CONFIG_MAP', '{"immutable": false}', NULL),
+(NULL, 'SERVICE_ACCOUNT', '{"automountServiceAccountToken": true}', NULL),
+(NULL, 'CLUSTER_ROLE', '{"createBinding": true}', NULL);
+
+-- Category specific
+INSERT INTO config_manifest_default_rules (category_id, manifest_type, defaults, overrides) VALUES
+(@api_cat_id, 'DEPLOYMENT', '{"replicaCount": 2, "strategy": {"type": "RollingUpdate", "rollingUpdate": {"maxSurge": 1, "maxUnavailable": 0}}}', NULL),
+(@api_cat_id, 'INGRESS', NULL,
+ '{"annotations": {"nginx.ingress.kubernetes.io/rate-limit": "100", "nginx.ingress.kubernetes.io/rate-limit-window": "1m"}}'),
+(@api_cat_id, 'HPA', '{"minReplicas": 2, "maxReplicas": 10, "targetMemoryUtilizationPercentage": 80}', NULL),
+(@database_cat_id, 'PERSISTENT_VOLUME_CLAIM', '{"size": "10Gi"}', NULL),
+(@monitoring_cat_id, 'PERSISTENT_VOLUME_CLAIM', '{"size": "20Gi"}', NULL),
+(@automation_cat_id, 'PERSISTENT_VOLUME_CLAIM', '{"size": "5Gi"}', NULL);
@@ -0,0 +1,9 @@
+-- V2.9.0__Unique_global_manifest_rules.sql
+-- One global rule (category_id NULL) per manifest type. uk_category_manifest_rule never fires for
+-- global rules because NULLs do not collide, so the key is repeated on a generated column that maps
+-- NULL to 0 (category ids start at 1). The old key stays, the category foreign key may be using it.
+
+ALTER TABLE config_manifest_default_rules
+    ADD COLUMN category_key BIGINT GENERATED ALWAYS AS (COALESCE(category_id, 0));
+
+CREATE UNIQUE INDEX uk_manifest_rule_category_key ON config_manifest_default_rules(category_key, manifest_type);
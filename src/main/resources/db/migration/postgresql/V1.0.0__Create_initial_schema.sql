@@ -0,0 +1,54 @@
+-- V1.0.0__Create_initial_schema.sql
+-- PostgreSQL version of mysql/V1.0.0__Create_initial_schema.sql; updated_at is bumped by the set_updated_at()
+-- trigger, like ON UPDATE CURRENT_TIMESTAMP in MySQL, so edits made with plain SQL change it too
+-- Initial database schema migration
+
+-- Create a sample table to demonstrate the migration structure
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    email VARCHAR(100) UNIQUE NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create an index on email for faster lookups
+CREATE INDEX idx_users_email ON users(email);
+
+-- Create an index on username for faster lookups
+CREATE INDEX idx_users_username ON users(username);
+
+-- Create a sample configuration table
+CREATE TABLE IF NOT EXISTS app_config (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    config_key VARCHAR(100) UNIQUE NOT NULL,
+    config_value TEXT NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Insert default configuration values for MySQL compatibility
+INSERT INTO app_config (config_key, config_value, description) VALUES
+    ('app.name', 'PeahDB', 'Application name'),
+    ('app.version', '1.0.0', 'Application version'),
+    ('app.environment', 'development', 'Current environment')
+ON CONFLICT (config_key) DO UPDATE SET
+    config_value = EXCLUDED.config_value,
+    description = EXCLUDED.description;
+
+-- Sets updated_at on every UPDATE; shared by the tables of all later migrations
+CREATE OR REPLACE FUNCTION set_updated_at() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- =================================================
+-- updated_at ON UPDATE (MySQL ON UPDATE CURRENT_TIMESTAMP)
+-- =================================================
+
+CREATE TRIGGER trg_users_updated_at BEFORE UPDATE ON users FOR EACH ROW EXECUTE FUNCTION set_updated_at();
+CREATE TRIGGER trg_app_config_updated_at BEFORE UPDATE ON app_config FOR EACH ROW EXECUTE FUNCTION set_updated_at();
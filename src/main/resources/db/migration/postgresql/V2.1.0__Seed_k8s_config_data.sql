@@ -0,0 +1,118 @@
+-- V2.1.0__Seed_k8s_config_data.sql
+-- PostgreSQL version of mysql/V2.1.0__Seed_k8s_config_data.sql
+-- Seed data for K8s configuration
+
+-- Insert environments
+INSERT INTO config_environments (name, description, is_active) VALUES 
+('prod', 'Production environment', true),
+('staging', 'Staging environment', true),
+('dev', 'Development environment', true);
+
+-- Insert stacks for production environment
+INSERT INTO config_stacks (environment_id, name, enabled, description) VALUES 
+((SELECT id FROM config_environments WHERE name = 'prod'), 'database', true, 'Database services stack'),
+((SELECT id FROM config_environments WHERE name = 'prod'), 'monitoring', true, 'Monitoring and observability stack'),
+((SELECT id FROM config_environments WHERE name = 'prod'), 'apps', false, 'Applications stack');
+
+-- Insert database stack apps
+INSERT INTO config_apps (stack_id, name, display_name, description, category, enabled, default_image_repository, default_image_tag, deployment_priority, health_check_path, default_config, dependencies, default_ports, default_resources) VALUES 
+((SELECT id FROM config_stacks WHERE environment_id = (SELECT id FROM config_environments WHERE name = 'prod') AND name = 'database'), 'postgresql', 'PostgreSQL Database', 'PostgreSQL relational database', 'database', true, 'postgres', '14', 10, '/health',
+ '{"persistence": {"enabled": true, "size": "10Gi"}}',
+ '[]',
+ '{"postgres": 5432}',
+ '{"limits": {"memory": "512Mi", "cpu": "200m"}, "requests": {"memory": "256Mi", "cpu": "100m"}}'),
+ 
+((SELECT id FROM config_stacks WHERE environment_id = (SELECT id FROM config_environments WHERE name = 'prod') AND name = 'database'), 'redis', 'Redis Cache', 'Redis in-memory data store', 'database', true, 'redis', '7-alpine', 10, '/health',
+ '{"auth": {"enabled": true}}',
+ '[]',
+ '{"redis": 6379}',
+ '{"limits": {"memory": "256Mi", "cpu": "100m"}, "requests": {"memory": "128Mi", "cpu": "50m"}}');
+
+-- Insert monitoring stack apps
+INSERT INTO config_apps (stack_id, name, display_name, description, category, enabled, default_image_repository, default_image_tag, deployment_priority, health_check_path, default_config, dependencies, default_ports, default_resources) VALUES
+((SELECT id FROM config_stacks WHERE environment_id = (SELECT id FROM config_environments WHERE name = 'prod') AND name = 'monitoring'), 'prometheus', 'Prometheus Monitoring', 'Prometheus metrics collection', 'monitoring', true, 'prom/prometheus', 'v2.45.0', 20, '/healthy',
+ '{"retention": "30d", "scrapeInterval": "30s"}',
+ '[]',
+ '{"http": 9090}',
+ '{"limits": {"memory": "512Mi", "cpu": "200m"}, "requests": {"memory": "256Mi", "cpu": "100m"}}'),
+ 
+((SELECT id FROM config_stacks WHERE environment_id = (SELECT id FROM config_environments WHERE name = 'prod') AND name = 'monitoring'), 'grafana', 'Grafana Dashboard', 'Grafana visualization dashboards', 'monitoring', false, 'grafana/grafana', '10.2.0', 30, '/api/health',
+ '{"adminPassword": "admin", "persistence": {"enabled": true, "size": "1Gi"}}',
+ '["prometheus"]',
+ '{"http": 3000}',
+ '{"limits": {"memory": "512Mi", "cpu": "200m"}, "requests": {"memory": "256Mi", "cpu": "100m"}}');
+
+-- Insert application stack apps
+INSERT INTO config_apps (stack_id, name, display_name, description, category, enabled, default_image_repository, default_image_tag, deployment_priority, health_check_path, readiness_check_path, default_config, dependencies, default_ports, default_resources) VALUES
+((SELECT id FROM config_stacks WHERE environment_id = (SELECT id FROM config_environments WHERE name = 'prod') AND name = 'apps'), 'n8n', 'N8N Automation', 'N8N workflow automation platform', 'automation', false, 'n8nio/n8n', 'latest', 50, '/healthz', '/healthz',
+ '{"timezone": "Europe/Lisbon", "encryption_key": "n8n-secret-key"}',
+ '["postgresql", "redis"]',
+ '{"http": 5678}',
+ '{"limits": {"memory": "512Mi", "cpu": "200m"}, "requests": {"memory": "256Mi", "cpu": "50m"}}'),
+ 
+((SELECT id FROM config_stacks WHERE environment_id = (SELECT id FROM config_environments WHERE name = 'prod') AND name = 'apps'), 'peahdb', 'peah-be Logistics API', 'Quarkus-based logistics API', 'api', false, 'lolmeida/peah-be', 'latest', 60, '/q/health/live', '/q/health/ready',
+ '{"profile": "prod", "logging_level": "INFO"}',
+ '["postgresql"]',
+ '{"http": 8080}',
+ '{"limits": {"memory": "512Mi", "cpu": "500m"}, "requests": {"memory": "256Mi", "cpu": "250m"}}');
+
+-- Insert app manifests for PostgreSQL
+INSERT INTO config_app_manifests (app_id, manifest_type, required, creation_priority, description) VALUES
+((SELECT id FROM config_apps WHERE name = 'postgresql'), 'DEPLOYMENT', true, 1, 'PostgreSQL deployment with persistent storage'),
+((SELECT id FROM config_apps WHERE name = 'postgresql'), 'SERVICE', true, 2, 'PostgreSQL service for internal access'),
+((SELECT id FROM config_apps WHERE name = 'postgresql'), 'PERSISTENT_VOLUME_CLAIM', true, 3, 'Persistent storage for PostgreSQL data'),
+((SELECT id FROM config_apps WHERE name = 'postgresql'), 'SECRET', true, 4, 'PostgreSQL passwords and credentials');
+
+-- Insert app manifests for Redis
+INSERT INTO config_app_manifests (app_id, manifest_type, required, creation_priority, description) VALUES
+((SELECT id FROM config_apps WHERE name = 'redis'), 'DEPLOYMENT', true, 1, 'Redis deployment'),
+((SELECT id FROM config_apps WHERE name = 'redis'), 'SERVICE', true, 2, 'Redis service for internal access'),
+((SELECT id FROM config_apps WHERE name = 'redis'), 'SECRET', true, 3, 'Redis authentication password');
+
+-- Insert app manifests for Prometheus
+INSERT INTO config_app_manifests (app_id, manifest_type, required, creation_priority, description) VALUES
+((SELECT id FROM config_apps WHERE name = 'prometheus'), 'SERVICE_ACCOUNT', true, 1, 'Service account for Prometheus'),
+((SELECT id FROM config_apps WHERE name = 'prometheus'), 'CLUSTER_ROLE', true, 2, 'Cluster role for metrics scraping'),
+((SELECT id FROM config_apps WHERE name = 'prometheus'), 'CONFIG_MAP', true, 5, 'Prometheus configuration'),
+((SELECT id FROM config_apps WHERE name = 'prometheus'), 'DEPLOYMENT', true, 10, 'Prometheus deployment'),
+((SELECT id FROM config_apps WHERE name = 'prometheus'), 'SERVICE', true, 11, 'Prometheus service');
+
+-- Insert app manifests for Grafana
+INSERT INTO config_app_manifests (app_id, manifest_type, required, creation_priority, description) VALUES
+((SELECT id FROM config_apps WHERE name = 'grafana'), 'DEPLOYMENT', true, 30, 'Grafana deployment'),
+((SELECT id FROM config_apps WHERE name = 'grafana'), 'SERVICE', true, 31, 'Grafana service'),
+((SELECT id FROM config_apps WHERE name = 'grafana'), 'SECRET', true, 32, 'Grafana admin credentials'),
+((SELECT id FROM config_apps WHERE name = 'grafana'), 'INGRESS', true, 80, 'Grafana external access');
+
+-- Insert app manifests for N8N
+INSERT INTO config_app_manifests (app_id, manifest_type, required, creation_priority, description) VALUES
+((SELECT id FROM config_apps WHERE name = 'n8n'), 'DEPLOYMENT', true, 50, 'N8N automation platform'),
+((SELECT id FROM config_apps WHERE name = 'n8n'), 'SERVICE', true, 51, 'N8N service'),
+((SELECT id FROM config_apps WHERE name = 'n8n'), 'SECRET', true, 52, 'N8N authentication credentials'),
+((SELECT id FROM config_apps WHERE name = 'n8n'), 'PERSISTENT_VOLUME_CLAIM', true, 53, 'N8N workflow storage'),
+((SELECT id FROM config_apps WHERE name = 'n8n'), 'INGRESS', true, 80, 'N8N external access');
+
+-- Insert app manifests for PeahDB
+INSERT INTO config_app_manifests (app_id, manifest_type, required, creation_priority, description) VALUES
+((SELECT id FROM config_apps WHERE name = 'peahdb'), 'DEPLOYMENT', true, 60, 'peah-be API deployment'),
+((SELECT id FROM config_apps WHERE name = 'peahdb'), 'SERVICE', true, 61, 'peah-be service'),
+((SELECT id FROM config_apps WHERE name = 'peahdb'), 'INGRESS', true, 80, 'peah-be external access'),
+((SELECT id FROM config_apps WHERE name = 'peahdb'), 'HPA', false, 90, 'Horizontal Pod Autoscaler');
+
+-- Update the HPA manifest with condition
+UPDATE config_app_manifests 
+SET creation_condition = 'hpa.enabled' 
+WHERE app_id = (SELECT id FROM config_apps WHERE name = 'peahdb') AND manifest_type = 'HPA';
+
+-- Also create stacks and apps for staging and dev environments (simplified version)
+-- Staging
+INSERT INTO config_stacks (environment_id, name, enabled, description) VALUES 
+((SELECT id FROM config_environments WHERE name = 'staging'), 'database', true, 'Database services stack'),
+((SELECT id FROM config_environments WHERE name = 'staging'), 'monitoring', true, 'Monitoring and observability stack'),
+((SELECT id FROM config_environments WHERE name = 'staging'), 'apps', true, 'Applications stack');
+
+-- Dev
+INSERT INTO config_stacks (environment_id, name, enabled, description) VALUES 
+((SELECT id FROM config_environments WHERE name = 'dev'), 'database', true, 'Database services stack'),
+((SELECT id FROM config_environments WHERE name = 'dev'), 'monitoring', false, 'Monitoring and observability stack'),
+((SELECT id FROM config_environments WHERE name = 'dev'), 'apps', true, 'Applications stack');
\ No newline at end of file
@@ -0,0 +1,14 @@
+-- V2.3.0__Create_values_snapshots.sql
+-- PostgreSQL version of mysql/V2.3.0__Create_values_snapshots.sql
+-- Last recorded values per stack, baseline for the values diff endpoint
+
+CREATE TABLE IF NOT EXISTS config_values_snapshots (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    environment_id BIGINT NOT NULL,
+    stack_name VARCHAR(50) NOT NULL,
+    values_hash CHAR(64) NOT NULL,
+    values_json JSONB,
+    recorded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_values_snapshot_stack UNIQUE (environment_id, stack_name),
+    CONSTRAINT fk_values_snapshot_environment FOREIGN KEY (environment_id) REFERENCES config_environments(id) ON DELETE CASCADE
+);
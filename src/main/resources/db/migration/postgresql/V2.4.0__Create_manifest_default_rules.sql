@@ -0,0 +1,60 @@
+-- V2.4.0__Create_manifest_default_rules.sql
+-- PostgreSQL version of mysql/V2.4.0__Create_manifest_default_rules.sql; updated_at is bumped by the set_updated_at()
+-- trigger, like ON UPDATE CURRENT_TIMESTAMP in MySQL, so edits made with plain SQL change it too
+-- Manifest default rules - Move the hardcoded per-type/per-category defaults of values generation to database
+
+-- =================================================
+-- MANIFEST DEFAULT RULES TABLE
+-- =================================================
+
+-- defaults: top-level fields set only when missing; overrides: fields always set (objects merged)
+-- category_id NULL applies to every category, category rows are layered on top
+-- Text values may use ${app.name}
+CREATE TABLE IF NOT EXISTS config_manifest_default_rules (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_id BIGINT NULL,
+    manifest_type VARCHAR(50) NOT NULL,
+    defaults JSONB,
+    overrides JSONB,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_category_manifest_rule UNIQUE (category_id, manifest_type),
+    CONSTRAINT fk_manifest_rule_category FOREIGN KEY (category_id) REFERENCES config_service_categories(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_config_manifest_default_rules_type ON config_manifest_default_rules(manifest_type);
+
+-- =================================================
+-- SEED DATA (same values as the previous hardcoded defaults)
+-- =================================================
+
+
+-- All categories
+INSERT INTO config_manifest_default_rules (category_id, manifest_type, defaults, overrides) VALUES
+(NULL, 'DEPLOYMENT', '{"replicaCount": 1, "imagePullPolicy": "IfNotPresent", "restartPolicy": "Always"}', NULL),
+(NULL, 'SERVICE', '{"type": "ClusterIP", "sessionAffinity": "None"}', NULL),
+(NULL, 'INGRESS', '{"className": "nginx", "host": "${app.name}.lolmeida.com", "tls": {"enabled": true}}',
+ '{"annotations": {"nginx.ingress.kubernetes.io/ssl-redirect": "true", "cert-manager.io/cluster-issuer": "letsencrypt-prod"}}'),
+(NULL, 'PERSISTENT_VOLUME_CLAIM', '{"accessMode": "ReadWriteOnce", "size": "2Gi", "storageClass": "default"}', NULL),
+(NULL, 'HPA', '{"minReplicas": 1, "maxReplicas": 3, "targetCPUUtilizationPercentage": 70}', NULL),
+(NULL, 'SECRET', '{"type": "Opaque", "immutable": false}', NULL),
+(NULL, 'CONFIG_MAP', '{"immutable": false}', NULL),
+(NULL, 'SERVICE_ACCOUNT', '{"automountServiceAccountToken": true}', NULL),
+(NULL, 'CLUSTER_ROLE', '{"createBinding": true}', NULL);
+
+-- Category specific
+INSERT INTO config_manifest_default_rules (category_id, manifest_type, defaults, overrides) VALUES
+((SELECT id FROM config_service_categories WHERE name = 'api'), 'DEPLOYMENT', '{"replicaCount": 2, "strategy": {"type": "RollingUpdate", "rollingUpdate": {"maxSurge": 1, "maxUnavailable": 0}}}', NULL),
+((SELECT id FROM config_service_categories WHERE name = 'api'), 'INGRESS', NULL,
+ '{"annotations": {"nginx.ingress.kubernetes.io/rate-limit": "100", "nginx.ingress.kubernetes.io/rate-limit-window": "1m"}}'),
+((SELECT id FROM config_service_categories WHERE name = 'api'), 'HPA', '{"minReplicas": 2, "maxReplicas": 10, "targetMemoryUtilizationPercentage": 80}', NULL),
+((SELECT id FROM config_service_categories WHERE name = 'database'), 'PERSISTENT_VOLUME_CLAIM', '{"size": "10Gi"}', NULL),
+((SELECT id FROM config_service_categories WHERE name = 'monitoring'), 'PERSISTENT_VOLUME_CLAIM', '{"size": "20Gi"}', NULL),
+((SELECT id FROM config_service_categories WHERE name = 'automation'), 'PERSISTENT_VOLUME_CLAIM', '{"size": "5Gi"}', NULL);
+
+-- =================================================
+-- updated_at ON UPDATE (MySQL ON UPDATE CURRENT_TIMESTAMP)
+-- =================================================
+
+CREATE TRIGGER trg_config_manifest_default_rules_updated_at BEFORE UPDATE ON config_manifest_default_rules FOR EACH ROW EXECUTE FUNCTION set_updated_at();
@@ -0,0 +1,6 @@
+-- V2.9.0__Unique_global_manifest_rules.sql
+-- PostgreSQL version of mysql/V2.9.0__Unique_global_manifest_rules.sql
+-- One global rule (category_id NULL) per manifest type. uk_category_manifest_rule never fires for
+-- global rules because NULLs do not collide, so they get their own partial unique index.
+
+CREATE UNIQUE INDEX uk_global_manifest_rule ON config_manifest_default_rules(manifest_type) WHERE category_id IS NULL;
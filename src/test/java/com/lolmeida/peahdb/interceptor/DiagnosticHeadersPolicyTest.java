@@ -0,0 +1,92 @@
+package com.lolmeida.interceptor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DiagnosticHeadersPolicy")
+class DiagnosticHeadersPolicyTest {
+
+    private DiagnosticHeadersPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new DiagnosticHeadersPolicy();
+        policy.enabled = true;
+        policy.include = List.of("X-Request-ID", "x-response-time", "X-Unknown");
+        policy.excludedPaths = Optional.empty();
+    }
+
+    @Nested
+    @DisplayName("Header Set Tests")
+    class HeaderSetTest {
+
+        @Test
+        @DisplayName("Should resolve included names case-insensitively and skip unknown ones")
+        void testInclude() {
+            policy.init();
+
+            assertEquals(EnumSet.of(DiagnosticHeader.REQUEST_ID, DiagnosticHeader.RESPONSE_TIME),
+                    policy.headersFor("/api/users"));
+        }
+
+        @Test
+        @DisplayName("Should emit nothing when disabled")
+        void testDisabled() {
+            policy.enabled = false;
+            policy.excludedPaths = Optional.of(List.of("/q"));
+            policy.init();
+
+            assertTrue(policy.headersFor("/api/users").isEmpty());
+            assertTrue(policy.headersFor("/q/health").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Excluded Path Tests")
+    class ExcludedPathTest {
+
+        @Test
+        @DisplayName("Should exclude the prefix itself and everything below it, with or without a trailing slash")
+        void testSegmentBoundary() {
+            policy.excludedPaths = Optional.of(List.of("/api/", " q "));
+            policy.init();
+
+            assertTrue(policy.headersFor("/api").isEmpty());
+            assertTrue(policy.headersFor("/api/").isEmpty());
+            assertTrue(policy.headersFor("/api/users/1").isEmpty());
+            assertTrue(policy.headersFor("/q/health").isEmpty());
+            assertFalse(policy.headersFor("/apix").isEmpty());
+            assertFalse(policy.headersFor("/quarkus").isEmpty());
+            assertFalse(policy.headersFor("/").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should normalize request paths without a leading slash")
+        void testPathNormalization() {
+            policy.excludedPaths = Optional.of(List.of("/api"));
+            policy.init();
+
+            assertTrue(policy.headersFor("api/users").isEmpty());
+            assertFalse(policy.headersFor(null).isEmpty());
+            assertFalse(policy.headersFor("").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should exclude every path when the root is excluded")
+        void testRoot() {
+            policy.excludedPaths = Optional.of(List.of("/", ""));
+            policy.init();
+
+            assertTrue(policy.headersFor("/").isEmpty());
+            assertTrue(policy.headersFor("/api/users").isEmpty());
+        }
+    }
+}
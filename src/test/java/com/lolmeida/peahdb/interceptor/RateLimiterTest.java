@@ -0,0 +1,123 @@
+package com.lolmeida.interceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimiter")
+class RateLimiterTest {
+
+    private RateLimiter rateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+    private long nanos;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanos = TimeUnit.SECONDS.toNanos(1_000);
+
+        rateLimiter = new RateLimiter();
+        rateLimiter.meterRegistry = meterRegistry;
+        rateLimiter.enabled = true;
+        rateLimiter.pathPrefix = "/api/";
+        rateLimiter.readRequestsPerMinute = 60;
+        rateLimiter.readBurst = 5;
+        rateLimiter.writeRequestsPerMinute = 6;
+        rateLimiter.writeBurst = 2;
+        rateLimiter.routeLimits = Optional.of(List.of("/api/config/cache=6:1", "not-a-rule"));
+        rateLimiter.maxTrackedClients = 100;
+        rateLimiter.clock = () -> nanos;
+        rateLimiter.init();
+    }
+
+    @Nested
+    @DisplayName("Category Limit Tests")
+    class CategoryLimitTest {
+
+        @Test
+        @DisplayName("Should allow the burst and reject the next request")
+        void testBurstThenReject() {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users").isEmpty());
+            }
+
+            OptionalLong retryAfter = rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users");
+            assertTrue(retryAfter.isPresent());
+            assertEquals(1, retryAfter.getAsLong());
+            assertEquals(1.0, meterRegistry.counter("http.rate.limited", "limit", "read").count());
+        }
+
+        @Test
+        @DisplayName("Should refill tokens over time")
+        void testRefill() {
+            for (int i = 0; i < 5; i++) {
+                rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users");
+            }
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users").isPresent());
+
+            nanos += TimeUnit.SECONDS.toNanos(1);
+
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should apply the stricter write limit with a longer Retry-After")
+        void testWriteLimit() {
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "POST", "/api/users").isEmpty());
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "DELETE", "/api/users/1").isEmpty());
+
+            OptionalLong retryAfter = rateLimiter.checkLimit("10.0.0.1", "PUT", "/api/users/1");
+            assertTrue(retryAfter.isPresent());
+            assertEquals(10, retryAfter.getAsLong());
+
+            // Reads use their own bucket
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep separate buckets per IP")
+        void testPerIp() {
+            for (int i = 0; i < 5; i++) {
+                rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users");
+            }
+
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users").isPresent());
+            assertTrue(rateLimiter.checkLimit("10.0.0.2", "GET", "/api/users").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Route Limit Tests")
+    class RouteLimitTest {
+
+        @Test
+        @DisplayName("Should apply the route override regardless of method")
+        void testRouteOverride() {
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/api/config/cache/stats").isEmpty());
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "POST", "/api/config/cache/clear").isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not limit paths outside the prefix, unknown clients or when disabled")
+    void testNotLimited() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/q/health").isEmpty());
+            assertTrue(rateLimiter.checkLimit(null, "GET", "/api/users").isEmpty());
+        }
+
+        rateLimiter.enabled = false;
+        for (int i = 0; i < 20; i++) {
+            assertTrue(rateLimiter.checkLimit("10.0.0.1", "GET", "/api/users").isEmpty());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.lolmeida.interceptor;
+
+import com.lolmeida.dto.audit.RequestInfo;
+import com.lolmeida.service.AuditCostProfiler;
+import com.lolmeida.service.AuditService;
+import com.lolmeida.util.RequestInfoExtractor;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RequestInfoInterceptor")
+class RequestInfoInterceptorTest {
+
+    @Mock
+    private RequestInfoExtractor requestInfoExtractor;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ResourceInfo resourceInfo;
+
+    @Mock
+    private ContainerResponseContext responseContext;
+
+    private RequestInfoInterceptor interceptor;
+    private ContainerRequestContext requestContext;
+
+    @BeforeEach
+    void setUp() {
+        DiagnosticHeadersPolicy diagnosticHeadersPolicy = new DiagnosticHeadersPolicy();
+        diagnosticHeadersPolicy.enabled = true;
+        diagnosticHeadersPolicy.include = List.of("X-Request-ID");
+        diagnosticHeadersPolicy.excludedPaths = Optional.empty();
+        diagnosticHeadersPolicy.init();
+
+        interceptor = new RequestInfoInterceptor();
+        interceptor.requestInfoExtractor = requestInfoExtractor;
+        interceptor.auditService = auditService;
+        interceptor.diagnosticHeadersPolicy = diagnosticHeadersPolicy;
+        interceptor.rateLimiter = rateLimiter;
+        interceptor.auditCostProfiler = new AuditCostProfiler();
+        interceptor.resourceInfo = resourceInfo;
+        interceptor.auditFilter = RequestInfoInterceptor.MODE;
+
+        requestContext = requestContext();
+    }
+
+    @Nested
+    @DisplayName("Mode Tests")
+    class ModeTest {
+
+        @Test
+        @DisplayName("Should leave requests to the Vert.x filter in vertx mode")
+        void testVertxMode() throws Exception {
+            interceptor.auditFilter = VertxRequestAuditFilter.MODE;
+
+            interceptor.filter(requestContext);
+            interceptor.filter(requestContext, responseContext);
+
+            verifyNoInteractions(requestInfoExtractor, rateLimiter, auditService);
+            verify(requestContext, never()).abortWith(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Audit Tests")
+    class AuditTest {
+
+        @BeforeEach
+        void setUp() {
+            when(requestInfoExtractor.extractRequestInfo(requestContext)).thenReturn(requestInfo());
+        }
+
+        @Test
+        @DisplayName("Should audit once with headers and the matched route template")
+        void testAuditsResponse() throws Exception {
+            MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+            when(rateLimiter.checkLimit("198.51.100.7", "GET", "/api/things/42")).thenReturn(OptionalLong.empty());
+            when(requestInfoExtractor.extractRequestInfo(eq(requestContext), anyLong(), eq(200), eq(0L)))
+                    .thenReturn(requestInfo());
+            when(responseContext.getStatus()).thenReturn(200);
+            when(responseContext.getHeaders()).thenReturn(headers);
+            doReturn(ThingResource.class).when(resourceInfo).getResourceClass();
+            when(resourceInfo.getResourceMethod()).thenReturn(ThingResource.class.getMethod("get", String.class));
+
+            interceptor.filter(requestContext);
+            interceptor.filter(requestContext, responseContext);
+
+            verify(requestContext, never()).abortWith(any());
+            assertEquals("req-1", headers.getFirst("X-Request-ID"));
+            ArgumentCaptor<RequestInfo> audited = ArgumentCaptor.forClass(RequestInfo.class);
+            verify(auditService, times(1)).processCompleteAudit(audited.capture());
+            assertEquals("/api/things/{id}", audited.getValue().getRouteTemplate());
+        }
+
+        @Test
+        @DisplayName("Should abort with 429 and Retry-After when rate limited")
+        void testRateLimited() throws Exception {
+            when(rateLimiter.checkLimit("198.51.100.7", "GET", "/api/things/42")).thenReturn(OptionalLong.of(7));
+
+            interceptor.filter(requestContext);
+
+            ArgumentCaptor<Response> aborted = ArgumentCaptor.forClass(Response.class);
+            verify(requestContext).abortWith(aborted.capture());
+            assertEquals(429, aborted.getValue().getStatus());
+            assertEquals("7", aborted.getValue().getHeaderString(RateLimiter.RETRY_AFTER));
+        }
+    }
+
+    /**
+     * Request context whose properties are kept in a map, as the runtime does
+     */
+    private ContainerRequestContext requestContext() {
+        Map<String, Object> properties = new HashMap<>();
+        ContainerRequestContext context = mock(ContainerRequestContext.class);
+        lenient().doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(context).setProperty(anyString(), any());
+        lenient().when(context.getProperty(anyString()))
+                .thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+        return context;
+    }
+
+    private RequestInfo requestInfo() {
+        return RequestInfo.builder()
+                .userIp("198.51.100.7")
+                .httpMethod("GET")
+                .requestUri("/api/things/42")
+                .requestId("req-1")
+                .build();
+    }
+
+    @Path("/api/things")
+    public static class ThingResource {
+
+        @GET
+        @Path("/{id}")
+        public String get(String id) {
+            return id;
+        }
+    }
+}
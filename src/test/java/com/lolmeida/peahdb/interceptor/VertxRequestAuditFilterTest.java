@@ -0,0 +1,156 @@
+package com.lolmeida.interceptor;
+
+import com.lolmeida.dto.audit.RequestInfo;
+import com.lolmeida.service.AuditCostProfiler;
+import com.lolmeida.service.AuditService;
+import com.lolmeida.util.RequestInfoExtractor;
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VertxRequestAuditFilter")
+class VertxRequestAuditFilterTest {
+
+    @Mock
+    private RequestInfoExtractor requestInfoExtractor;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private RoutingContext routingContext;
+
+    @Mock
+    private HttpServerRequest request;
+
+    @Mock
+    private HttpServerResponse response;
+
+    private VertxRequestAuditFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        DiagnosticHeadersPolicy diagnosticHeadersPolicy = new DiagnosticHeadersPolicy();
+        diagnosticHeadersPolicy.enabled = true;
+        diagnosticHeadersPolicy.include = List.of("X-Request-ID");
+        diagnosticHeadersPolicy.excludedPaths = Optional.empty();
+        diagnosticHeadersPolicy.init();
+
+        filter = new VertxRequestAuditFilter();
+        filter.requestInfoExtractor = requestInfoExtractor;
+        filter.auditService = auditService;
+        filter.diagnosticHeadersPolicy = diagnosticHeadersPolicy;
+        filter.rateLimiter = rateLimiter;
+        filter.auditCostProfiler = new AuditCostProfiler();
+        filter.auditFilter = VertxRequestAuditFilter.MODE;
+    }
+
+    @Nested
+    @DisplayName("Mode Tests")
+    class ModeTest {
+
+        @Test
+        @DisplayName("Should register the route filter only in vertx mode")
+        void testRegistration() {
+            Filters filters = mock(Filters.class);
+
+            filter.auditFilter = RequestInfoInterceptor.MODE;
+            filter.registerFilter(filters);
+            verify(filters, never()).register(any(), anyInt());
+
+            filter.auditFilter = "VERTX";
+            filter.registerFilter(filters);
+            verify(filters, times(1)).register(any(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Audit Tests")
+    class AuditTest {
+
+        @BeforeEach
+        void setUp() {
+            when(routingContext.request()).thenReturn(request);
+            when(routingContext.response()).thenReturn(response);
+            when(requestInfoExtractor.extractRequestInfo(request)).thenReturn(requestInfo());
+        }
+
+        @Test
+        @DisplayName("Should add diagnostic headers and audit the response with its route template")
+        @SuppressWarnings("unchecked")
+        void testAuditsResponse() {
+            when(rateLimiter.checkLimit("198.51.100.7", "GET", "/api/users/42")).thenReturn(OptionalLong.empty());
+            when(requestInfoExtractor.completeRequestInfo(any(), any(), any(), any())).thenCallRealMethod();
+            when(response.getStatusCode()).thenReturn(200);
+            when(response.bytesWritten()).thenReturn(42L);
+            when(routingContext.get("UrlPathTemplate")).thenReturn("/api/users/{id}");
+
+            filter.audit(routingContext);
+
+            verify(routingContext).next();
+            ArgumentCaptor<Handler<Void>> headersEnd = ArgumentCaptor.forClass(Handler.class);
+            verify(routingContext).addHeadersEndHandler(headersEnd.capture());
+            headersEnd.getValue().handle(null);
+            verify(response).putHeader("X-Request-ID", "req-1");
+
+            ArgumentCaptor<Handler<AsyncResult<Void>>> end = ArgumentCaptor.forClass(Handler.class);
+            verify(routingContext).addEndHandler(end.capture());
+            end.getValue().handle(null);
+            ArgumentCaptor<RequestInfo> audited = ArgumentCaptor.forClass(RequestInfo.class);
+            verify(auditService, times(1)).processCompleteAudit(audited.capture());
+            assertEquals("/api/users/{id}", audited.getValue().getRouteTemplate());
+            assertEquals(200, audited.getValue().getResponseStatus());
+            assertEquals(42L, audited.getValue().getResponseSize());
+        }
+
+        @Test
+        @DisplayName("Should answer 429 with Retry-After from the event loop when rate limited")
+        void testRateLimited() {
+            when(rateLimiter.checkLimit("198.51.100.7", "GET", "/api/users/42")).thenReturn(OptionalLong.of(7));
+            when(response.setStatusCode(anyInt())).thenReturn(response);
+            when(response.putHeader(anyString(), anyString())).thenReturn(response);
+            when(response.putHeader(any(CharSequence.class), any(CharSequence.class))).thenReturn(response);
+
+            filter.audit(routingContext);
+
+            verify(response).setStatusCode(429);
+            verify(response).putHeader(RateLimiter.RETRY_AFTER, "7");
+            verify(response).end(anyString());
+            verify(routingContext, never()).next();
+            // The end handler still audits the rejected request
+            verify(routingContext).addEndHandler(any());
+        }
+    }
+
+    private RequestInfo requestInfo() {
+        return RequestInfo.builder()
+                .userIp("198.51.100.7")
+                .httpMethod("GET")
+                .requestUri("/api/users/42")
+                .requestId("req-1")
+                .build();
+    }
+}
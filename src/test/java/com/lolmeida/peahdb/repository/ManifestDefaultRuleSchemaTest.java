@@ -0,0 +1,42 @@
+package com.lolmeida.repository;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uniqueness of manifest default rules on the test database, global rules (no category) included
+ */
+@QuarkusTest
+@DisplayName("Manifest default rule schema")
+class ManifestDefaultRuleSchemaTest {
+
+    @Inject
+    EntityManager em;
+
+    @Test
+    @DisplayName("Should reject a second global rule for the same manifest type")
+    void testUniqueGlobalRule() {
+        assertThrows(RuntimeException.class, () -> QuarkusTransaction.requiringNew().run(() ->
+                em.createNativeQuery("INSERT INTO config_manifest_default_rules (category_id, manifest_type, defaults) " +
+                        "VALUES (NULL, 'DEPLOYMENT', '{}')").executeUpdate()));
+    }
+
+    @Test
+    @DisplayName("Should still allow a category rule next to the global one")
+    void testCategoryRuleAllowed() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Number categoryId = (Number) em.createNativeQuery(
+                    "SELECT id FROM config_service_categories WHERE name = 'default'").getSingleResult();
+            em.createNativeQuery("INSERT INTO config_manifest_default_rules (category_id, manifest_type, defaults) " +
+                    "VALUES (?1, 'HPA', '{}')").setParameter(1, categoryId).executeUpdate();
+            em.createNativeQuery("DELETE FROM config_manifest_default_rules WHERE category_id = ?1 AND manifest_type = 'HPA'")
+                    .setParameter(1, categoryId).executeUpdate();
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.lolmeida.repository;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EXPLAIN of the hot config lookups on the test database (H2), checking that the composite indexes of
+ * V2.8.0 are picked. The SQL has the shape Hibernate generates for the repository queries.
+ */
+@QuarkusTest
+@DisplayName("Query plans")
+class QueryPlanTest {
+
+    @Inject
+    EntityManager em;
+
+    @Test
+    @DisplayName("Manifest defaults of a category use the (category, active, priority) index")
+    void testManifestDefaultsByCategory() {
+        String plan = explain("SELECT * FROM config_manifest_defaults " +
+                "WHERE category_id = 1 AND is_active = TRUE ORDER BY creation_priority");
+
+        assertTrue(plan.contains("IDX_MANIFEST_DEFAULTS_CATEGORY_ACTIVE_PRIORITY"), plan);
+    }
+
+    @Test
+    @DisplayName("Manifests of an app use the (app, priority) index")
+    void testAppManifestsByApp() {
+        String plan = explain("SELECT * FROM config_app_manifests WHERE app_id = 1 ORDER BY creation_priority");
+
+        assertTrue(plan.contains("IDX_APP_MANIFESTS_APP_PRIORITY"), plan);
+    }
+
+    @Test
+    @DisplayName("Apps of a stack use the (stack, priority, name) index")
+    void testAppsByStack() {
+        String plan = explain("SELECT * FROM config_apps WHERE stack_id = 1 ORDER BY deployment_priority, name");
+
+        assertTrue(plan.contains("IDX_APPS_STACK_PRIORITY_NAME"), plan);
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(em.createNativeQuery("EXPLAIN " + sql).getSingleResult()).toUpperCase();
+    }
+}
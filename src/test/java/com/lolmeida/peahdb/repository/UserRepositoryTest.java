@@ -8,8 +8,10 @@ import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -493,6 +495,144 @@ class UserRepositoryTest {
         assertEquals(0, userRepository.count());
     }
 
+    @Test
+    @Order(29)
+    @Transactional
+    @DisplayName("Should detect a taken username or email in one query, ignoring the excluded user")
+    void testIsUsernameOrEmailTaken() {
+        // Arrange
+        User user = createTestUser();
+        userRepository.persist(user);
+        
+        // Act & Assert
+        assertTrue(userRepository.isUsernameOrEmailTaken("testuser", "other@example.com", null));
+        assertTrue(userRepository.isUsernameOrEmailTaken("other", "test@example.com", null));
+        assertFalse(userRepository.isUsernameOrEmailTaken("other", "other@example.com", null));
+        assertFalse(userRepository.isUsernameOrEmailTaken("testuser", "test@example.com", user.getId()));
+        assertTrue(userRepository.isUsernameOrEmailTaken("testuser", "test@example.com", user.getId() + 1));
+    }
+
+    @Test
+    @Order(30)
+    @Transactional
+    @DisplayName("Should report a match when several users match the existence check")
+    void testIsUsernameOrEmailTakenSeveralMatches() {
+        // Arrange
+        userRepository.persist(createTestUser());
+        User other = createTestUser();
+        other.setUsername("otheruser");
+        other.setEmail("other@example.com");
+        userRepository.persist(other);
+
+        // Act & Assert
+        assertTrue(userRepository.isUsernameOrEmailTaken("testuser", "other@example.com", null));
+        assertTrue(userRepository.existsByEmail("other@example.com"));
+    }
+
+    @Test
+    @Order(31)
+    @Transactional
+    @DisplayName("Should page by ascending id, each page starting after the previous cursor")
+    void testFindPageById() {
+        // Arrange
+        List<User> users = persistUsers(5, LocalDateTime.of(2026, 1, 1, 10, 0));
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        UserRepository.Cursor after = null;
+        List<User> page;
+        do {
+            page = userRepository.findPage(UserRepository.Order.ID, after, null, null, 2);
+            page.forEach(user -> ids.add(user.getId()));
+            after = page.isEmpty() ? null : new UserRepository.Cursor(page.get(page.size() - 1).getId(), null);
+        } while (page.size() == 2);
+
+        // Assert
+        assertEquals(users.stream().map(User::getId).sorted().toList(), ids);
+    }
+
+    @Test
+    @Order(32)
+    @Transactional
+    @DisplayName("Should page newest first without skipping or repeating users that share a createdAt")
+    void testFindPageByCreatedAt() {
+        // Arrange: pages of 2 split the three users created at the same time
+        LocalDateTime tied = LocalDateTime.of(2026, 1, 1, 11, 0);
+        List<User> users = List.of(
+                persistUser("user_a", LocalDateTime.of(2026, 1, 1, 10, 0)),
+                persistUser("user_b", tied),
+                persistUser("user_c", tied),
+                persistUser("user_d", tied),
+                persistUser("user_e", LocalDateTime.of(2026, 1, 1, 12, 0)));
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        UserRepository.Cursor after = null;
+        List<User> page;
+        do {
+            page = userRepository.findPage(UserRepository.Order.CREATED_AT, after, null, null, 2);
+            page.forEach(user -> ids.add(user.getId()));
+            if (!page.isEmpty()) {
+                User last = page.get(page.size() - 1);
+                after = new UserRepository.Cursor(last.getId(), last.getCreatedAt());
+            }
+        } while (page.size() == 2);
+
+        // Assert: createdAt descending, then id descending
+        List<Long> expected = List.of(users.get(4).getId(), users.get(3).getId(), users.get(2).getId(),
+                users.get(1).getId(), users.get(0).getId());
+        assertEquals(expected, ids);
+        try (Stream<User> streamed = userRepository.stream(UserRepository.Order.CREATED_AT,
+                new UserRepository.Cursor(users.get(3).getId(), tied), null, null)) {
+            assertEquals(expected.subList(2, 5), streamed.map(User::getId).toList());
+        }
+    }
+
+    @Test
+    @Order(33)
+    @Transactional
+    @DisplayName("Should match LIKE wildcards in prefixes literally")
+    void testFindPageEscapedPrefixes() {
+        // Arrange
+        User underscore = persistUser("ab_one", "a%b@example.com", LocalDateTime.of(2026, 1, 1, 10, 0));
+        persistUser("abxone", "axb@example.com", LocalDateTime.of(2026, 1, 1, 10, 0));
+        User bang = persistUser("abzone", "a!b@example.com", LocalDateTime.of(2026, 1, 1, 10, 0));
+
+        // Act & Assert
+        assertEquals(List.of(underscore.getId()), ids(userRepository.findPage(
+                UserRepository.Order.ID, null, "ab_", null, 10)));
+        assertEquals(List.of(underscore.getId()), ids(userRepository.findPage(
+                UserRepository.Order.ID, null, null, "a%", 10)));
+        assertEquals(List.of(bang.getId()), ids(userRepository.findPage(
+                UserRepository.Order.ID, null, null, "a!", 10)));
+        assertEquals(3, userRepository.findPage(UserRepository.Order.ID, null, "ab", "a", 10).size());
+    }
+
+    private List<User> persistUsers(int count, LocalDateTime createdAt) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(persistUser("user" + i, createdAt.plusMinutes(i)));
+        }
+        return users;
+    }
+
+    private User persistUser(String username, LocalDateTime createdAt) {
+        return persistUser(username, username + "@example.com", createdAt);
+    }
+
+    private User persistUser(String username, String email, LocalDateTime createdAt) {
+        User user = createTestUser();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setCreatedAt(createdAt);
+        userRepository.persist(user);
+        return user;
+    }
+
+    private List<Long> ids(List<User> users) {
+        return users.stream().map(User::getId).toList();
+    }
+
     private User createTestUser() {
         User user = new User();
         user.setUsername("testuser");
@@ -234,4 +234,19 @@ class MonitoringResourceTest {
         }
     }
 
-} 
\ No newline at end of file
+    @Nested
+    class GetAuditCostTest {
+        @Test
+        @DisplayName("Should report profiling state")
+        void shouldReportProfilingState() {
+            given()
+                    .when().get("/monitoring/audit-cost")
+                    .then()
+                    .statusCode(200)
+                    .contentType(ContentType.JSON)
+                    .body("enabled", is(false))
+                    .body("$", hasKey("allocationTracking"));
+        }
+    }
+
+}
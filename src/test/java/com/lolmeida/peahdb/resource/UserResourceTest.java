@@ -1,6 +1,7 @@
 package com.lolmeida.resource;
 
 import com.lolmeida.dto.request.UserRequest;
+import com.lolmeida.dto.response.UserImportResponse;
 import com.lolmeida.dto.response.UserResponse;
 import com.lolmeida.service.UserService;
 import io.quarkus.test.InjectMock;
@@ -20,6 +21,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -55,7 +59,7 @@ class UserResourceTest {
         @DisplayName("Should return all users")
         void shouldReturnAllUsers() {
             List<UserResponse> users = Arrays.asList(userResponse);
-            when(userService.getAllUsers()).thenReturn(
+            when(userService.getAllUsers(any())).thenReturn(
                     Response.ok(users).build()
             );
 
@@ -72,7 +76,7 @@ class UserResourceTest {
         @Test
         @DisplayName("Should return empty list when no users")
         void shouldReturnEmptyListWhenNoUsers() {
-            when(userService.getAllUsers()).thenReturn(
+            when(userService.getAllUsers(any())).thenReturn(
                     Response.ok(List.of()).build()
             );
 
@@ -83,6 +87,45 @@ class UserResourceTest {
                     .contentType(ContentType.JSON)
                     .body("$", hasSize(0));
         }
+
+        @Test
+        @DisplayName("Should pass paging and filter parameters to the service")
+        void shouldPassQueryParameters() {
+            when(userService.getAllUsers(any())).thenReturn(
+                    Response.ok(List.of(userResponse)).header(UserService.NEXT_CURSOR_HEADER, "MQ").build()
+            );
+
+            given()
+                    .queryParam("limit", 1)
+                    .queryParam("sort", "createdAt")
+                    .queryParam("username", "john")
+                    .when().get("/api/users")
+                    .then()
+                    .statusCode(200)
+                    .header(UserService.NEXT_CURSOR_HEADER, is("MQ"));
+
+            verify(userService).getAllUsers(argThat(request -> request.getLimit() == 1
+                    && "createdAt".equals(request.getSort())
+                    && "john".equals(request.getUsername())
+                    && request.getAfter() == null));
+        }
+
+        @Test
+        @DisplayName("Should stream NDJSON when requested")
+        void shouldStreamNdjson() {
+            when(userService.streamUsers(any())).thenReturn(
+                    Response.ok("{\"id\":1}\n", UserService.NDJSON).build()
+            );
+
+            given()
+                    .accept(UserService.NDJSON)
+                    .when().get("/api/users")
+                    .then()
+                    .statusCode(200)
+                    .contentType(UserService.NDJSON);
+
+            verify(userService, never()).getAllUsers(any());
+        }
     }
 
     @Nested
@@ -192,6 +235,37 @@ class UserResourceTest {
         }
     }
 
+    @Nested
+    class ImportUsersTest {
+        @Test
+        @DisplayName("Should accept NDJSON and return the import report")
+        void shouldImportNdjson() {
+            UserImportResponse report = UserImportResponse.builder()
+                    .total(1)
+                    .created(1)
+                    .rows(List.of(UserImportResponse.Row.builder()
+                            .row(1)
+                            .status(UserImportResponse.Status.CREATED)
+                            .id(51L)
+                            .username("john_doe")
+                            .build()))
+                    .build();
+            when(userService.importUsers(any())).thenReturn(Response.ok(report).build());
+
+            given()
+                    .contentType(UserService.NDJSON)
+                    .body("{\"username\":\"john_doe\",\"email\":\"john.doe@email.com\",\"passwordHash\":\"$2a$10$hashedpassword\"}\n")
+                    .when().post("/api/users/import")
+                    .then()
+                    .statusCode(200)
+                    .contentType(ContentType.JSON)
+                    .body("created", is(1))
+                    .body("rows[0].status", is("CREATED"));
+
+            verify(userService, never()).createUser(any());
+        }
+    }
+
     @Nested
     class UpdateUserTest {
         @Test
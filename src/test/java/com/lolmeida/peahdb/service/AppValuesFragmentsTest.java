@@ -0,0 +1,120 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lolmeida.entity.k8s.App;
+import com.lolmeida.entity.k8s.AppManifest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AppValuesFragments")
+class AppValuesFragmentsTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private AppValuesFragments fragments;
+    private App app;
+    private K8sManifestDefaultsService.CategoryDefaults defaults;
+    private final AtomicInteger generated = new AtomicInteger();
+    private final Supplier<ObjectNode> generator = () -> {
+        generated.incrementAndGet();
+        return new ObjectMapper().createObjectNode().put("enabled", true);
+    };
+
+    @BeforeEach
+    void setUp() {
+        fragments = new AppValuesFragments();
+        fragments.meterRegistry = new SimpleMeterRegistry();
+        fragments.maximumSize = 100;
+        fragments.init();
+
+        app = new App();
+        app.id = 1L;
+        app.category = "api";
+        app.updatedAt = T0;
+
+        K8sManifestDefaultsService.ManifestDefaultEntry entry = new K8sManifestDefaultsService.ManifestDefaultEntry(
+                AppManifest.ManifestType.DEPLOYMENT, true, 1, "Main workload");
+        entry.updatedAt = T0;
+        defaults = new K8sManifestDefaultsService.CategoryDefaults(List.of(entry), Map.of());
+    }
+
+    @Nested
+    @DisplayName("Fingerprint Tests")
+    class FingerprintTest {
+
+        @Test
+        @DisplayName("Should reuse the fragment while nothing changed")
+        void testReuse() {
+            ObjectNode first = fragments.get(app, defaults, generator);
+            ObjectNode second = fragments.get(app, defaults, generator);
+
+            assertSame(first, second);
+            assertEquals(1, generated.get());
+        }
+
+        @Test
+        @DisplayName("Should recompute when the app, its manifests or the defaults change")
+        void testRecompute() {
+            fragments.get(app, defaults, generator);
+
+            app.updatedAt = T0.plusMinutes(1);
+            fragments.get(app, defaults, generator);
+            assertEquals(2, generated.get());
+
+            AppManifest manifest = new AppManifest();
+            manifest.id = 7L;
+            manifest.updatedAt = T0;
+            app.requiredManifests.add(manifest);
+            fragments.get(app, defaults, generator);
+            assertEquals(3, generated.get());
+
+            defaults.manifests().get(0).updatedAt = T0.plusMinutes(2);
+            fragments.get(app, defaults, generator);
+            assertEquals(4, generated.get());
+        }
+
+        @Test
+        @DisplayName("Should not cache unsaved apps")
+        void testUnsavedApp() {
+            app.id = null;
+            fragments.get(app, defaults, generator);
+
+            assertEquals(0, fragments.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTest {
+
+        @Test
+        @DisplayName("Should drop only the changed app, or everything on a global change")
+        void testEvents() {
+            fragments.get(app, defaults, generator);
+
+            fragments.onValuesChanged(new StackValuesCache.ValuesChanged(1L));
+            fragments.get(app, defaults, generator);
+            assertEquals(1, generated.get());
+
+            fragments.onValuesChanged(new StackValuesCache.ValuesChanged(1L, 1L));
+            fragments.get(app, defaults, generator);
+            assertEquals(2, generated.get());
+
+            fragments.onValuesChanged(new StackValuesCache.ValuesChanged(null));
+            fragments.get(app, defaults, generator);
+            assertEquals(3, generated.get());
+        }
+    }
+}
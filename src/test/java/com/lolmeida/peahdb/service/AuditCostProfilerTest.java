@@ -0,0 +1,61 @@
+package com.lolmeida.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditCostProfiler")
+class AuditCostProfilerTest {
+
+    private AuditCostProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        profiler = new AuditCostProfiler();
+        profiler.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should hand out a no-op probe when disabled")
+    void testDisabled() {
+        profiler.enabled = false;
+        profiler.init();
+
+        AuditCostProfiler.Probe probe = profiler.begin();
+        assertDoesNotThrow(() -> probe.lap(AuditCostProfiler.Stage.STORE));
+        assertSame(probe, profiler.begin());
+
+        Map<String, Object> report = profiler.getReport();
+        assertEquals(false, report.get("enabled"));
+        assertFalse(report.containsKey("stages"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should aggregate laps per stage")
+    void testRecordsStages() {
+        profiler.enabled = true;
+        profiler.init();
+
+        for (int i = 0; i < 3; i++) {
+            AuditCostProfiler.Probe probe = profiler.begin();
+            probe.lap(AuditCostProfiler.Stage.EXTRACT);
+            probe.lap(AuditCostProfiler.Stage.RATE_LIMIT);
+        }
+
+        Map<String, Object> report = profiler.getReport();
+        assertEquals(true, report.get("enabled"));
+
+        Map<String, Map<String, Object>> stages = (Map<String, Map<String, Object>>) report.get("stages");
+        assertEquals(AuditCostProfiler.Stage.values().length, stages.size());
+        assertEquals(3L, stages.get("extract").get("count"));
+        assertEquals(3L, stages.get("rate_limit").get("count"));
+        assertEquals(0L, stages.get("store").get("count"));
+        assertTrue(stages.get("extract").containsKey("p99Nanos"));
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -31,6 +32,13 @@ class AuditServiceTest {
     @Mock
     private RequestLogService requestLogService;
 
+    @Mock
+    private TrafficAnomalyDetector trafficAnomalyDetector;
+
+    // Profiling disabled: begin() hands out the no-op probe
+    @Spy
+    private AuditCostProfiler auditCostProfiler = new AuditCostProfiler();
+
     private RequestInfo testRequestInfo;
 
     @BeforeEach
@@ -207,6 +215,15 @@ class AuditServiceTest {
             assertDoesNotThrow(() -> auditService.detectSuspiciousActivity(testRequestInfo));
         }
 
+        @Test
+        @DisplayName("Should feed every request to the anomaly detector")
+        void testFeedsAnomalyDetector() {
+            testRequestInfo.setResponseStatus(404);
+            auditService.detectSuspiciousActivity(testRequestInfo);
+
+            verify(trafficAnomalyDetector, times(1)).observe(testRequestInfo);
+        }
+
         @Test
         @DisplayName("Should detect missing user agent")
         void testDetectMissingUserAgent() {
@@ -0,0 +1,131 @@
+package com.lolmeida.service;
+
+import com.lolmeida.dto.mapper.MapperService;
+import com.lolmeida.dto.projection.AppManifestSummary;
+import com.lolmeida.dto.projection.AppSummary;
+import com.lolmeida.dto.projection.StackSummary;
+import com.lolmeida.dto.response.AppManifestResponse;
+import com.lolmeida.dto.response.AppResponse;
+import com.lolmeida.dto.response.EnvironmentResponse;
+import com.lolmeida.dto.response.StackResponse;
+import com.lolmeida.entity.core.Environment;
+import com.lolmeida.entity.k8s.AppManifest;
+import com.lolmeida.repository.K8sRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConfigSnapshot")
+class ConfigSnapshotTest {
+
+    @Mock
+    private K8sRepository repository;
+
+    @Mock
+    private MapperService mapperService;
+
+    private ConfigSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new ConfigSnapshot();
+        snapshot.repository = repository;
+        snapshot.mapperService = mapperService;
+
+        Environment dev = new Environment();
+        dev.id = 1L;
+        dev.name = "dev";
+        StackSummary core = new StackSummary(10L, 1L, "core", true, null, null, null, null);
+        AppSummary redis = new AppSummary(100L, 10L, true, "redis", null, null, "database", null, null, null,
+                null, null, null, null, null, null, null, null, 50, null, null);
+        AppManifestSummary deployment = new AppManifestSummary(1000L, 100L, AppManifest.ManifestType.DEPLOYMENT,
+                true, 10, null, null, null, null, null, null);
+
+        when(repository.findAllEnvironments()).thenReturn(List.of(dev));
+        when(repository.findStackSummaries()).thenReturn(List.of(core));
+        when(repository.findAppSummaries()).thenReturn(List.of(redis));
+        when(repository.findAppManifestSummaries()).thenReturn(List.of(deployment));
+        when(mapperService.toEnvironmentResponse(any())).thenAnswer(invocation -> {
+            Environment env = invocation.getArgument(0);
+            return EnvironmentResponse.builder().id(env.id).name(env.name).build();
+        });
+        when(mapperService.toStackResponse(any(StackSummary.class))).thenAnswer(invocation -> {
+            StackSummary stack = invocation.getArgument(0);
+            return StackResponse.builder().id(stack.id()).name(stack.name()).environmentId(stack.environmentId()).build();
+        });
+        when(mapperService.toAppResponse(any(AppSummary.class))).thenAnswer(invocation -> {
+            AppSummary app = invocation.getArgument(0);
+            return AppResponse.builder().id(app.id()).name(app.name()).stackId(app.stackId()).build();
+        });
+        when(mapperService.toAppManifestResponse(any(AppManifestSummary.class))).thenAnswer(invocation -> {
+            AppManifestSummary manifest = invocation.getArgument(0);
+            return AppManifestResponse.builder().id(manifest.id()).appId(manifest.appId()).build();
+        });
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTest {
+
+        @Test
+        @DisplayName("Should resolve the model by id and by name, scoped to the parent")
+        void testLookups() {
+            ConfigSnapshot.Model model = snapshot.get();
+
+            assertEquals("dev", model.environment(1L).orElseThrow().getName());
+            assertEquals(1, model.stacks(1L).size());
+            assertEquals("redis", model.app(1L, 10L, 100L).orElseThrow().getName());
+            assertEquals(1, model.apps(1L, "core").size());
+            assertEquals(1000L, model.manifests(1L, "core", "redis").get(0).getId());
+            assertEquals(1, model.app(1L, 10L, 100L).orElseThrow().getRequiredManifests().size());
+            assertTrue(model.manifest(1L, 10L, 100L, 1000L).isPresent());
+
+            // Ids from another environment or stack do not leak through
+            assertTrue(model.environment(2L).isEmpty());
+            assertTrue(model.apps(2L, 10L).isEmpty());
+            assertTrue(model.manifest(1L, 11L, 100L, 1000L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should expose unmodifiable collections")
+        void testImmutable() {
+            ConfigSnapshot.Model model = snapshot.get();
+
+            assertThrows(UnsupportedOperationException.class, () -> model.environments().clear());
+            assertThrows(UnsupportedOperationException.class, () -> model.stacks(1L).clear());
+            assertThrows(UnsupportedOperationException.class, () -> model.appsByStack().clear());
+        }
+    }
+
+    @Nested
+    @DisplayName("Versioning Tests")
+    class VersioningTest {
+
+        @Test
+        @DisplayName("Should serve the same model until a write is committed")
+        void testSwapOnWrite() {
+            ConfigSnapshot.Model first = snapshot.get();
+            assertSame(first, snapshot.get());
+            verify(repository, times(1)).findAppSummaries();
+
+            snapshot.onValuesChanged(new StackValuesCache.ValuesChanged(1L, 100L));
+            ConfigSnapshot.Model second = snapshot.get();
+
+            assertNotSame(first, second);
+            assertEquals(first.version() + 1, second.version());
+            assertSame(second, snapshot.get());
+            verify(repository, times(2)).findAppSummaries();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lolmeida.dto.projection.AuthDefaultSummary;
+import com.lolmeida.dto.projection.CategoryStats;
+import com.lolmeida.dto.projection.ManifestDefaultSummary;
+import com.lolmeida.dto.response.CategoryOverviewResponse;
+import com.lolmeida.entity.k8s.App;
+import com.lolmeida.entity.k8s.AppManifest;
+import com.lolmeida.entity.k8s.AuthDefault;
+import com.lolmeida.entity.k8s.ManifestDefault;
+import com.lolmeida.entity.k8s.ManifestDefaultRule;
+import com.lolmeida.repository.ManifestDefaultsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("K8sManifestDefaultsService")
+class K8sManifestDefaultsServiceTest {
+
+    @Mock
+    private ManifestDefaultsRepository repository;
+
+    @Mock
+    private Event<StackValuesCache.ValuesChanged> valuesChanged;
+
+    private K8sManifestDefaultsService service;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        service = new K8sManifestDefaultsService();
+        service.repository = repository;
+        service.objectMapper = objectMapper;
+        service.meterRegistry = new SimpleMeterRegistry();
+        service.valuesChanged = valuesChanged;
+        service.maximumSize = 100;
+        service.ttl = Duration.ofMinutes(10);
+        service.init();
+    }
+
+    @Nested
+    @DisplayName("Manifest Defaults Cache Tests")
+    class ManifestDefaultsCacheTest {
+
+        @Test
+        @DisplayName("Should load a category once and serve it from the cache")
+        void testLoadsOnce() {
+            when(repository.findManifestDefaultsByCategory("api")).thenReturn(List.of(manifestDefault()));
+
+            List<K8sManifestDefaultsService.ManifestDefaultEntry> first = service.getDefaultManifestsForCategory("API");
+            List<K8sManifestDefaultsService.ManifestDefaultEntry> second = service.getDefaultManifestsForCategory("api");
+
+            assertSame(first, second);
+            assertEquals(AppManifest.ManifestType.DEPLOYMENT, first.get(0).manifestType);
+            assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)));
+            verify(repository, times(1)).findManifestDefaultsByCategory("api");
+        }
+
+        @Test
+        @DisplayName("Should fall back to the default category")
+        void testFallback() {
+            when(repository.findManifestDefaultsByCategory("unknown")).thenReturn(List.of());
+            when(repository.findManifestDefaultsByCategory("default")).thenReturn(List.of(manifestDefault()));
+
+            assertEquals(1, service.getDefaultManifestsForCategory("unknown").size());
+        }
+
+        @Test
+        @DisplayName("Should reload after the cache is cleared, second-level cache included")
+        void testClearCache() {
+            when(repository.findManifestDefaultsByCategory("api")).thenReturn(List.of(manifestDefault()));
+
+            service.getDefaultManifestsForCategory("api");
+            service.clearCache();
+            service.getDefaultManifestsForCategory("api");
+
+            verify(repository, times(2)).findManifestDefaultsByCategory("api");
+            verify(repository).evictSecondLevelCache();
+        }
+    }
+
+    @Nested
+    @DisplayName("Auth Defaults Cache Tests")
+    class AuthDefaultsCacheTest {
+
+        @Test
+        @DisplayName("Should cache auth defaults including misses")
+        void testAuthDefaults() {
+            AuthDefault authDefault = new AuthDefault();
+            authDefault.setDefaultConfig(objectMapper.createObjectNode().put("enabled", true));
+            when(repository.findAuthDefault("api", "jwt")).thenReturn(Optional.of(authDefault));
+            when(repository.findAuthDefault("api", "basic")).thenReturn(Optional.empty());
+
+            service.getDefaultAuthConfig("api", "JWT");
+            JsonNode jwt = service.getDefaultAuthConfig("api", "jwt");
+            service.getDefaultAuthConfig("api", "basic");
+            JsonNode basic = service.getDefaultAuthConfig("api", "basic");
+
+            assertTrue(jwt.path("enabled").asBoolean());
+            assertEquals("basic", basic.path("type").asText());
+            verify(repository, times(1)).findAuthDefault("api", "jwt");
+            verify(repository, times(1)).findAuthDefault("api", "basic");
+        }
+
+        @Test
+        @DisplayName("Should hand out copies that do not change the cached config")
+        void testAuthDefaultIsCopied() {
+            AuthDefault authDefault = new AuthDefault();
+            authDefault.setDefaultConfig(objectMapper.createObjectNode().put("enabled", true));
+            when(repository.findAuthDefault("api", "jwt")).thenReturn(Optional.of(authDefault));
+
+            ((ObjectNode) service.getDefaultAuthConfig("api", "jwt")).put("enabled", false);
+
+            assertTrue(service.getDefaultAuthConfig("api", "jwt").path("enabled").asBoolean());
+        }
+    }
+
+    @Nested
+    @DisplayName("Default Config Template Tests")
+    class DefaultConfigTemplateTest {
+
+        @Test
+        @DisplayName("Should build the template once, detached from the entity")
+        void testTemplateDetached() {
+            ManifestDefault manifestDefault = manifestDefault();
+            when(repository.findManifestDefaultsByCategory("api")).thenReturn(List.of(manifestDefault));
+
+            K8sManifestDefaultsService.ManifestDefaultEntry entry = service.getDefaultManifestsForCategory("api").get(0);
+            ((ObjectNode) manifestDefault.getDefaultConfig()).put("replicas", 5);
+
+            assertEquals(1, entry.defaultConfig.path("replicas").asInt());
+        }
+
+        @Test
+        @DisplayName("Should merge the template without copying and give persisted manifests their own copy")
+        void testMerge() {
+            when(repository.findManifestDefaultsByCategory("api")).thenReturn(List.of(manifestDefault()));
+            K8sManifestDefaultsService.ManifestDefaultEntry entry = service.getDefaultManifestsForCategory("api").get(0);
+
+            ObjectNode target = objectMapper.createObjectNode().put("enabled", true);
+            entry.mergeDefaultConfigInto(target);
+            assertEquals(1, target.path("replicas").asInt());
+            assertTrue(target.path("enabled").asBoolean());
+
+            App app = new App();
+            app.category = "api";
+            AppManifest manifest = service.generateAppManifests(app, target).get(0);
+            ((ObjectNode) manifest.defaultConfig).put("replicas", 3);
+
+            assertEquals(1, entry.defaultConfig.path("replicas").asInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Default Rule Tests")
+    class DefaultRuleTest {
+
+        @Test
+        @DisplayName("Should layer category rules over global ones and fill only missing fields")
+        void testLayering() {
+            when(repository.findManifestDefaultRules("api")).thenReturn(List.of(
+                    rule(AppManifest.ManifestType.DEPLOYMENT, "{'replicaCount': 1, 'restartPolicy': 'Always'}", null),
+                    rule(AppManifest.ManifestType.DEPLOYMENT, "{'replicaCount': 2}", null)));
+
+            K8sManifestDefaultsService.ManifestRule rule =
+                    service.getCategoryDefaults("api").rule(AppManifest.ManifestType.DEPLOYMENT);
+            ObjectNode config = objectMapper.createObjectNode().put("restartPolicy", "Never");
+            rule.apply(config, "peah-be");
+
+            assertEquals(2, config.path("replicaCount").asInt());
+            assertEquals("Never", config.path("restartPolicy").asText());
+            assertSame(K8sManifestDefaultsService.ManifestRule.EMPTY,
+                    service.getCategoryDefaults("api").rule(AppManifest.ManifestType.HPA));
+            verify(repository, times(1)).findManifestDefaultRules("api");
+        }
+
+        @Test
+        @DisplayName("Should merge overrides without touching shared objects and resolve ${app.name}")
+        void testOverridesAndTemplates() {
+            when(repository.findManifestDefaultRules("api")).thenReturn(List.of(
+                    rule(AppManifest.ManifestType.INGRESS, "{'host': '${app.name}.lolmeida.com'}",
+                            "{'annotations': {'cert-manager.io/cluster-issuer': 'letsencrypt-prod'}}")));
+
+            ObjectNode sharedAnnotations = objectMapper.createObjectNode().put("custom", "yes");
+            ObjectNode config = objectMapper.createObjectNode();
+            config.set("annotations", sharedAnnotations);
+            service.getCategoryDefaults("api").rule(AppManifest.ManifestType.INGRESS).apply(config, "grafana");
+
+            assertEquals("grafana.lolmeida.com", config.path("host").asText());
+            assertEquals("yes", config.path("annotations").path("custom").asText());
+            assertEquals("letsencrypt-prod", config.path("annotations").path("cert-manager.io/cluster-issuer").asText());
+            assertFalse(sharedAnnotations.has("cert-manager.io/cluster-issuer"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Defaults Version Tests")
+    class DefaultsVersionTest {
+
+        @Test
+        @DisplayName("Should reload the defaults caches and invalidate values when defaults change")
+        void testVersionChange() {
+            when(repository.findDefaultsVersion()).thenReturn("v1", "v1", "v2");
+            when(repository.findManifestDefaultsByCategory("api")).thenReturn(List.of(manifestDefault()));
+
+            service.defaultsVersion();
+            service.getDefaultManifestsForCategory("api");
+            service.defaultsVersion();
+            service.getDefaultManifestsForCategory("api");
+            verify(repository, times(1)).findManifestDefaultsByCategory("api");
+
+            assertEquals("v2", service.defaultsVersion());
+            service.getDefaultManifestsForCategory("api");
+            verify(repository, times(2)).findManifestDefaultsByCategory("api");
+            verify(valuesChanged, times(2)).fire(new StackValuesCache.ValuesChanged(null));
+        }
+
+        @Test
+        @DisplayName("Should evict the query-cached reference data on read when it was edited with SQL")
+        void testReadPathsCheckVersion() {
+            when(repository.findDefaultsVersion()).thenReturn("v1", "v1", "v2");
+
+            service.getAuthDefaultsForCategory("API");
+            service.getAuthDefaultsForCategory("api");
+            verify(repository, times(1)).evictSecondLevelCache();
+
+            service.getAuthDefaultsForCategory("api");
+            verify(repository, times(2)).evictSecondLevelCache();
+            verify(repository, times(3)).findAuthDefaultSummaries("api");
+        }
+    }
+
+    @Nested
+    @DisplayName("Category Overview Tests")
+    class CategoryOverviewTest {
+
+        @Test
+        @DisplayName("Should group manifest and auth defaults under their category from set-based queries")
+        void testOverview() {
+            when(repository.findDefaultsVersion()).thenReturn("2|2026-10-18T10:00");
+            when(repository.getCategoryStats()).thenReturn(List.of(
+                    new CategoryStats("api", "API", null, "api", "blue", true, 1L, 0L),
+                    new CategoryStats("database", "Database", null, "database", "green", true, 1L, 1L)));
+            when(repository.findManifestDefaultSummaries()).thenReturn(List.of(
+                    new ManifestDefaultSummary("api", AppManifest.ManifestType.DEPLOYMENT, true, 10, "Main workload", null),
+                    new ManifestDefaultSummary("database", AppManifest.ManifestType.PERSISTENT_VOLUME_CLAIM, true, 20, "Data volume", null)));
+            when(repository.findAuthDefaultSummaries()).thenReturn(List.of(
+                    new AuthDefaultSummary("database", "password", "Password", null, objectMapper.createObjectNode())));
+
+            List<CategoryOverviewResponse> overview = service.getCategoryOverview();
+
+            assertEquals(2, overview.size());
+            assertEquals(AppManifest.ManifestType.DEPLOYMENT, overview.get(0).getManifests().get(0).manifestType());
+            assertTrue(overview.get(0).getAuthDefaults().isEmpty());
+            assertEquals(1L, overview.get(1).getAuthCount());
+            assertEquals("password", overview.get(1).getAuthDefaults().get(0).authType());
+            verify(repository, never()).findAuthDefault(any(), any());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should report hit and miss statistics")
+    void testStatistics() {
+        when(repository.findManifestDefaultsByCategory("api")).thenReturn(List.of(manifestDefault()));
+
+        service.getDefaultManifestsForCategory("api");
+        service.getDefaultManifestsForCategory("api");
+        service.getDefaultManifestsForCategory("api");
+
+        Map<String, Object> manifestStats = (Map<String, Object>) service.getCacheStatistics().get("manifestDefaults");
+        assertEquals(1L, manifestStats.get("size"));
+        assertEquals(2L, manifestStats.get("hitCount"));
+        assertEquals(1L, manifestStats.get("missCount"));
+        assertEquals(1L, manifestStats.get("loadSuccessCount"));
+    }
+
+    private ManifestDefaultRule rule(AppManifest.ManifestType type, String defaults, String overrides) {
+        try {
+            ManifestDefaultRule rule = new ManifestDefaultRule();
+            rule.setManifestType(type);
+            rule.setDefaults(defaults != null ? objectMapper.readTree(defaults.replace('\'', '"')) : null);
+            rule.setOverrides(overrides != null ? objectMapper.readTree(overrides.replace('\'', '"')) : null);
+            return rule;
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private ManifestDefault manifestDefault() {
+        ManifestDefault manifestDefault = new ManifestDefault();
+        manifestDefault.setManifestType(AppManifest.ManifestType.DEPLOYMENT);
+        manifestDefault.setDescription("Main workload");
+        manifestDefault.setDefaultConfig(objectMapper.createObjectNode().put("replicas", 1));
+        return manifestDefault;
+    }
+}
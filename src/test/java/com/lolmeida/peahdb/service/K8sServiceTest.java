@@ -0,0 +1,139 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lolmeida.entity.core.Environment;
+import com.lolmeida.entity.core.Stack;
+import com.lolmeida.entity.k8s.App;
+import com.lolmeida.entity.k8s.AppManifest;
+import com.lolmeida.repository.K8sRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("K8sService")
+class K8sServiceTest {
+
+    @Mock
+    private K8sRepository repository;
+
+    @Mock
+    private K8sManifestDefaultsService manifestDefaultsService;
+
+    private K8sService service;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        service = new K8sService();
+        service.objectMapper = objectMapper;
+        service.repository = repository;
+        service.manifestDefaultsService = manifestDefaultsService;
+        service.appValuesFragments = new AppValuesFragments();
+        service.appValuesFragments.meterRegistry = new SimpleMeterRegistry();
+        service.appValuesFragments.maximumSize = 100;
+        service.appValuesFragments.init();
+    }
+
+    @Nested
+    @DisplayName("Stack Values Query Tests")
+    class StackValuesQueryTest {
+
+        @Test
+        @DisplayName("Should load the stack graph in two queries whatever the number of apps")
+        void testTwoQueries() {
+            Environment env = new Environment();
+            env.id = 1L;
+            env.name = "dev";
+            Stack stack = new Stack();
+            stack.id = 10L;
+            stack.name = "core";
+            stack.enabled = true;
+            stack.environment = env;
+            List<App> apps = List.of(
+                    app(100L, "redis", stack, AppManifest.ManifestType.DEPLOYMENT),
+                    app(101L, "postgres", stack, AppManifest.ManifestType.PERSISTENT_VOLUME_CLAIM),
+                    app(102L, "grafana", stack, AppManifest.ManifestType.INGRESS));
+
+            when(repository.findStackWithEnvironment(1L, "core")).thenReturn(Optional.of(stack));
+            when(repository.findAppsWithManifestsByStackId(10L)).thenReturn(apps);
+            when(manifestDefaultsService.getCategoryDefaults("database"))
+                    .thenReturn(K8sManifestDefaultsService.CategoryDefaults.EMPTY);
+
+            Response response = service.generateStackValues(1L, "core");
+
+            assertEquals(200, response.getStatus());
+            ObjectNode values = (ObjectNode) response.getEntity();
+            assertTrue(values.path("redis").path("deployment").path("enabled").asBoolean());
+            assertTrue(values.path("postgres").path("persistent_volume_claim").path("enabled").asBoolean());
+            assertTrue(values.path("grafana").path("ingress").path("enabled").asBoolean());
+
+            verify(repository, times(1)).findStackWithEnvironment(1L, "core");
+            verify(repository, times(1)).findAppsWithManifestsByStackId(10L);
+            verify(repository, never()).findAppManifestsByAppId(any());
+            verify(repository, never()).findEnvironmentById(any());
+        }
+
+        @Test
+        @DisplayName("Should look the environment up only to tell a missing stack from a missing environment")
+        void testMissingStack() {
+            when(repository.findStackWithEnvironment(1L, "core")).thenReturn(Optional.empty());
+            when(repository.findEnvironmentById(1L)).thenReturn(Optional.of(new Environment()));
+            when(repository.findStackWithEnvironment(9L, "core")).thenReturn(Optional.empty());
+            when(repository.findEnvironmentById(9L)).thenReturn(Optional.empty());
+
+            assertEquals("Stack 'core' not found in environment 1",
+                    service.generateStackValues(1L, "core").getEntity());
+            assertEquals("Environment with id 9 not found",
+                    service.generateStackValues(9L, "core").getEntity());
+            verify(repository, never()).findAppsWithManifestsByStackId(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Values Diff Tests")
+    class ValuesDiffTest {
+
+        @Test
+        @DisplayName("Should check the defaults version before rendering, so edited rules are picked up")
+        void testRefreshesDefaultsFirst() {
+            when(repository.findStackWithEnvironment(1L, "core")).thenReturn(Optional.empty());
+            when(repository.findEnvironmentById(1L)).thenReturn(Optional.of(new Environment()));
+
+            service.getValuesDiff(1L, "core");
+
+            InOrder inOrder = inOrder(manifestDefaultsService, repository);
+            inOrder.verify(manifestDefaultsService).defaultsVersion();
+            inOrder.verify(repository).findStackWithEnvironment(1L, "core");
+        }
+    }
+
+    private App app(Long id, String name, Stack stack, AppManifest.ManifestType manifestType) {
+        App app = new App();
+        app.id = id;
+        app.name = name;
+        app.enabled = true;
+        app.category = "database";
+        app.defaultImageRepository = name;
+        app.stack = stack;
+        AppManifest manifest = new AppManifest(app, manifestType, true);
+        manifest.id = id * 10;
+        app.requiredManifests.add(manifest);
+        return app;
+    }
+}
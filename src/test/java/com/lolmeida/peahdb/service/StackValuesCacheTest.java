@@ -0,0 +1,161 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lolmeida.repository.K8sRepository;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StackValuesCache")
+class StackValuesCacheTest {
+
+    @InjectMocks
+    private StackValuesCache valuesCache;
+
+    @Mock
+    private K8sService k8sService;
+
+    @Mock
+    private K8sRepository repository;
+
+    @Mock
+    private K8sManifestDefaultsService manifestDefaultsService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private ObjectNode values;
+
+    @BeforeEach
+    void setUp() {
+        values = new ObjectMapper().createObjectNode();
+        values.putObject("global").put("namespace", "dev");
+    }
+
+    @Nested
+    @DisplayName("Caching Tests")
+    class CachingTest {
+
+        @Test
+        @DisplayName("Should generate once while the stack version is unchanged")
+        void testCachedWhileVersionUnchanged() {
+            when(repository.findStackValuesVersion(1L, "core")).thenReturn(Optional.of("v1"));
+            when(k8sService.generateStackValues(1L, "core")).thenReturn(Response.ok(values).build());
+
+            Response first = valuesCache.getValues(1L, "core", StackValuesCache.Format.JSON, null);
+            Response second = valuesCache.getValues(1L, "core", StackValuesCache.Format.YAML, null);
+
+            assertEquals(200, first.getStatus());
+            assertEquals(200, second.getStatus());
+            assertTrue(new String((byte[]) second.getEntity(), StandardCharsets.UTF_8).contains("namespace: \"dev\""));
+            assertNotEquals(first.getEntityTag(), second.getEntityTag());
+            verify(k8sService, times(1)).generateStackValues(1L, "core");
+        }
+
+        @Test
+        @DisplayName("Should regenerate when the stack version changes")
+        void testRegeneratesOnNewVersion() {
+            when(repository.findStackValuesVersion(1L, "core")).thenReturn(Optional.of("v1"), Optional.of("v2"));
+            when(k8sService.generateStackValues(1L, "core")).thenReturn(Response.ok(values).build());
+
+            valuesCache.getValues(1L, "core", StackValuesCache.Format.JSON, null);
+            valuesCache.getValues(1L, "core", StackValuesCache.Format.JSON, null);
+
+            verify(k8sService, times(2)).generateStackValues(1L, "core");
+        }
+
+        @Test
+        @DisplayName("Should regenerate after an invalidation event")
+        void testRegeneratesAfterEvent() {
+            when(repository.findStackValuesVersion(1L, "core")).thenReturn(Optional.of("v1"));
+            when(k8sService.generateStackValues(1L, "core")).thenReturn(Response.ok(values).build());
+
+            valuesCache.getValues(1L, "core", StackValuesCache.Format.JSON, null);
+            valuesCache.onValuesChanged(new StackValuesCache.ValuesChanged(1L));
+            assertEquals(0, valuesCache.size());
+            valuesCache.getValues(1L, "core", StackValuesCache.Format.JSON, null);
+
+            verify(k8sService, times(2)).generateStackValues(1L, "core");
+        }
+
+        @Test
+        @DisplayName("Should propagate generator errors without caching")
+        void testPropagatesErrors() {
+            Response notFound = Response.status(Response.Status.NOT_FOUND).entity("Stack 'core' not found").build();
+            when(repository.findStackValuesVersion(1L, "core")).thenReturn(Optional.empty());
+            when(k8sService.generateStackValues(1L, "core")).thenReturn(notFound);
+
+            Response response = valuesCache.getValues(1L, "core", StackValuesCache.Format.JSON, null);
+
+            assertSame(notFound, response);
+            assertEquals(0, valuesCache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("ETag Tests")
+    class EtagTest {
+
+        @Test
+        @DisplayName("Should answer 304 when If-None-Match matches")
+        void testNotModified() {
+            when(repository.findStackValuesVersion(1L, "core")).thenReturn(Optional.of("v1"));
+            when(k8sService.generateStackValues(1L, "core")).thenReturn(Response.ok(values).build());
+
+            Response first = valuesCache.getValues(1L, "core", StackValuesCache.Format.YAML, null);
+            String etag = "\"" + first.getEntityTag().getValue() + "\"";
+
+            Response second = valuesCache.getValues(1L, "core", StackValuesCache.Format.YAML, "\"other\", " + etag);
+
+            assertEquals(304, second.getStatus());
+            assertEquals(first.getEntityTag(), second.getEntityTag());
+            assertNull(second.getEntity());
+        }
+
+        @Test
+        @DisplayName("Should change the ETag when a manifest default is edited")
+        void testEtagChangesWithDefaults() {
+            ObjectNode edited = values.deepCopy();
+            edited.putObject("redis").putObject("service").put("port", 6380);
+            when(repository.findStackValuesVersion(1L, "core")).thenReturn(Optional.of("v1"));
+            when(manifestDefaultsService.defaultsVersion()).thenReturn("defaults-1", "defaults-2");
+            when(k8sService.generateStackValues(1L, "core"))
+                    .thenReturn(Response.ok(values).build(), Response.ok(edited).build());
+
+            Response first = valuesCache.getValues(1L, "core", StackValuesCache.Format.YAML, null);
+            String etag = "\"" + first.getEntityTag().getValue() + "\"";
+            Response second = valuesCache.getValues(1L, "core", StackValuesCache.Format.YAML, etag);
+
+            assertEquals(200, second.getStatus());
+            assertNotEquals(first.getEntityTag(), second.getEntityTag());
+            verify(k8sService, times(2)).generateStackValues(1L, "core");
+        }
+
+        @Test
+        @DisplayName("Should return the body when If-None-Match is stale")
+        void testStaleEtag() {
+            when(repository.findStackValuesVersion(1L, "core")).thenReturn(Optional.of("v1"));
+            when(k8sService.generateStackValues(1L, "core")).thenReturn(Response.ok(values).build());
+
+            Response response = valuesCache.getValues(1L, "core", StackValuesCache.Format.JSON, "\"stale\"");
+
+            assertEquals(200, response.getStatus());
+            assertNotNull(response.getEntity());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.lolmeida.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.lolmeida.entity.core.Environment;
+import com.lolmeida.entity.core.Stack;
+import com.lolmeida.entity.k8s.App;
+import com.lolmeida.repository.K8sRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StackValuesExporter")
+class StackValuesExporterTest {
+
+    @Mock
+    private K8sRepository repository;
+
+    @Mock
+    private K8sManifestDefaultsService manifestDefaultsService;
+
+    private StackValuesExporter exporter;
+    private K8sService k8sService;
+
+    @BeforeEach
+    void setUp() {
+        k8sService = new K8sService();
+        k8sService.objectMapper = new ObjectMapper();
+        k8sService.repository = repository;
+        k8sService.manifestDefaultsService = manifestDefaultsService;
+        k8sService.appValuesFragments = new AppValuesFragments();
+        k8sService.appValuesFragments.meterRegistry = new SimpleMeterRegistry();
+        k8sService.appValuesFragments.maximumSize = 100;
+        k8sService.appValuesFragments.init();
+
+        exporter = new StackValuesExporter();
+        exporter.k8sService = k8sService;
+        exporter.repository = repository;
+        exporter.manifestDefaultsService = manifestDefaultsService;
+        exporter.timeout = Duration.ofSeconds(5);
+        exporter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should stream one YAML document per enabled stack")
+    void testExport() throws Exception {
+        Environment env = new Environment();
+        env.id = 1L;
+        env.name = "dev";
+        Stack core = stack(10L, "core", env);
+        Stack monitoring = stack(11L, "monitoring", env);
+
+        when(repository.findEnvironmentById(1L)).thenReturn(Optional.of(env));
+        when(repository.findEnabledStacksWithEnvironment(1L)).thenReturn(List.of(core, monitoring));
+        when(repository.findAppsWithManifestsByStackIds(anyCollection()))
+                .thenReturn(List.of(app(100L, "redis", core), app(101L, "grafana", monitoring)));
+        when(manifestDefaultsService.getCategoryDefaults("database"))
+                .thenReturn(K8sManifestDefaultsService.CategoryDefaults.EMPTY);
+
+        Response response = exporter.exportValues(1L);
+
+        assertEquals(200, response.getStatus());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        String yaml = output.toString(StandardCharsets.UTF_8);
+
+        assertTrue(yaml.startsWith("--- # environment: dev, stack: core\n"));
+        assertTrue(yaml.contains("--- # environment: dev, stack: monitoring\n"));
+        assertTrue(yaml.contains("redis:\n  enabled: true"));
+        assertTrue(yaml.indexOf("grafana:") > yaml.indexOf("stack: monitoring"));
+        verify(manifestDefaultsService, times(1)).getCategoryDefaults("database");
+    }
+
+    @Test
+    @DisplayName("Should stream the same document as the tree builder, including key collisions")
+    void testStreamingMatchesTree() throws Exception {
+        Environment env = new Environment();
+        env.name = "prod";
+        Stack core = stack(10L, "core", env);
+        List<App> apps = List.of(app(100L, "redis", core), app(101L, "global", core));
+
+        ObjectNode tree = k8sService.buildStackValues(core, apps,
+                app -> k8sService.appValues(app, K8sManifestDefaultsService.CategoryDefaults.EMPTY));
+
+        ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = yamlMapper.createGenerator(output)) {
+            k8sService.writeStackValues(generator, core, apps,
+                    app -> k8sService.appValues(app, K8sManifestDefaultsService.CategoryDefaults.EMPTY));
+        }
+        JsonNode streamed = yamlMapper.readTree(output.toByteArray());
+
+        assertEquals(tree, streamed);
+        assertEquals(List.of("global", "coreStack", "redis"), fieldNames(streamed));
+        assertEquals("redis", streamed.path("redis").path("image").path("repository").asText());
+        assertFalse(streamed.path("global").has("namespace"));
+    }
+
+    @Test
+    @DisplayName("Should return 500 before streaming when one app's values fail to generate")
+    void testAppFailure() {
+        Environment env = new Environment();
+        env.id = 1L;
+        env.name = "dev";
+        Stack core = stack(10L, "core", env);
+        App redis = app(100L, "redis", core);
+        App grafana = app(101L, "grafana", core);
+
+        K8sService failing = spy(k8sService);
+        doThrow(new IllegalArgumentException("bad manifest")).when(failing).appValues(same(grafana), any());
+        exporter.k8sService = failing;
+        when(repository.findEnvironmentById(1L)).thenReturn(Optional.of(env));
+        when(repository.findEnabledStacksWithEnvironment(1L)).thenReturn(List.of(core));
+        when(repository.findAppsWithManifestsByStackIds(anyCollection())).thenReturn(List.of(redis, grafana));
+        when(manifestDefaultsService.getCategoryDefaults("database"))
+                .thenReturn(K8sManifestDefaultsService.CategoryDefaults.EMPTY);
+
+        Response response = exporter.exportValues(1L);
+
+        assertEquals(500, response.getStatus());
+        assertFalse(response.getEntity() instanceof StreamingOutput);
+        assertTrue(response.getEntity().toString().contains("bad manifest"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown environment")
+    void testUnknownEnvironment() {
+        when(repository.findEnvironmentById(9L)).thenReturn(Optional.empty());
+
+        assertEquals(404, exporter.exportValues(9L).getStatus());
+        verify(repository, never()).findEnabledStacksWithEnvironment(any());
+    }
+
+    private List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private Stack stack(Long id, String name, Environment env) {
+        Stack stack = new Stack();
+        stack.id = id;
+        stack.name = name;
+        stack.enabled = true;
+        stack.environment = env;
+        return stack;
+    }
+
+    private App app(Long id, String name, Stack stack) {
+        App app = new App();
+        app.id = id;
+        app.name = name;
+        app.enabled = true;
+        app.category = "database";
+        app.defaultImageRepository = name;
+        app.stack = stack;
+        return app;
+    }
+}
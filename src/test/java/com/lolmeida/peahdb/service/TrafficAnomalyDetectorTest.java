@@ -0,0 +1,193 @@
+package com.lolmeida.service;
+
+import com.lolmeida.dto.audit.AnomalyEvent;
+import com.lolmeida.dto.audit.RequestInfo;
+import com.lolmeida.util.RequestInfoExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TrafficAnomalyDetector")
+class TrafficAnomalyDetectorTest {
+
+    private TrafficAnomalyDetector detector;
+    private SimpleMeterRegistry meterRegistry;
+    private long nanos;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanos = TimeUnit.SECONDS.toNanos(1_000);
+
+        detector = new TrafficAnomalyDetector();
+        detector.meterRegistry = meterRegistry;
+        detector.enabled = true;
+        detector.windowSeconds = 60;
+        detector.burstThreshold = 10;
+        detector.errorThreshold = 5;
+        detector.errorRatio = 0.5;
+        detector.latencyFactor = 3.0;
+        detector.latencyMinMs = 100;
+        detector.latencyAlpha = 0.1;
+        detector.latencyMinSamples = 5;
+        detector.maxTrackedIps = 100;
+        detector.maxTrackedRoutes = 100;
+        detector.clock = () -> nanos;
+        detector.init();
+    }
+
+    @Nested
+    @DisplayName("Burst Tests")
+    class BurstTest {
+
+        @Test
+        @DisplayName("Should report a burst once per window")
+        void testBurstReportedOnce() {
+            List<AnomalyEvent> events = observeMany(request("10.0.0.1", "/api/users", 200, 10L), 20);
+
+            assertEquals(1, countOf(events, AnomalyEvent.Type.BURST));
+            assertEquals(1.0, meterRegistry.counter(TrafficAnomalyDetector.ANOMALY_COUNTER,
+                    "type", "BURST").count());
+        }
+
+        @Test
+        @DisplayName("Should not report requests spread beyond the window")
+        void testRequestsOutsideWindow() {
+            List<AnomalyEvent> events = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                events.addAll(detector.observe(request("10.0.0.1", "/api/users", 200, 10L)));
+                nanos += TimeUnit.SECONDS.toNanos(10);
+            }
+
+            assertEquals(0, countOf(events, AnomalyEvent.Type.BURST));
+        }
+
+        @Test
+        @DisplayName("Should track IPs independently")
+        void testIpsIndependent() {
+            List<AnomalyEvent> events = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                events.addAll(detector.observe(request("10.0.0." + i, "/api/users", 200, 10L)));
+            }
+
+            assertTrue(events.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Scan Tests")
+    class ErrorScanTest {
+
+        @Test
+        @DisplayName("Should report 4xx scanning from one IP")
+        void testErrorScan() {
+            List<AnomalyEvent> events = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                events.addAll(detector.observe(request("10.0.0.2", "/api/users/" + i, 404, 5L)));
+            }
+
+            assertEquals(1, countOf(events, AnomalyEvent.Type.ERROR_SCAN));
+            assertEquals("GET /api/users/{id}", events.get(0).getRoute());
+        }
+
+        @Test
+        @DisplayName("Should ignore errors that are a small share of the traffic")
+        void testErrorsBelowRatio() {
+            detector.burstThreshold = 1_000;
+            List<AnomalyEvent> events = observeMany(request("10.0.0.3", "/api/users", 200, 5L), 50);
+            events.addAll(observeMany(request("10.0.0.3", "/api/missing", 404, 5L), 6));
+
+            assertEquals(0, countOf(events, AnomalyEvent.Type.ERROR_SCAN));
+        }
+
+        @Test
+        @DisplayName("Should not count server errors as scanning")
+        void testServerErrorsIgnored() {
+            List<AnomalyEvent> events = observeMany(request("10.0.0.4", "/api/users", 500, 5L), 8);
+
+            assertEquals(0, countOf(events, AnomalyEvent.Type.ERROR_SCAN));
+        }
+    }
+
+    @Nested
+    @DisplayName("Latency Regression Tests")
+    class LatencyRegressionTest {
+
+        @Test
+        @DisplayName("Should report latency well above the route baseline")
+        void testLatencyRegression() {
+            for (int i = 0; i < 10; i++) {
+                detector.observe(request("10.0.0." + i, "/api/users/" + i, 200, 50L));
+            }
+
+            List<AnomalyEvent> events = detector.observe(request("10.0.0.50", "/api/users/99", 200, 400L));
+
+            assertEquals(1, countOf(events, AnomalyEvent.Type.LATENCY_REGRESSION));
+            assertEquals(400.0, events.get(0).getObserved());
+        }
+
+        @Test
+        @DisplayName("Should keep unmatched paths in one baseline so probes cannot evict real routes")
+        void testUnmatchedRoutesShareBaseline() {
+            detector.observe(request("10.0.0.1", "/api/users", 200, 10L));
+            for (int i = 0; i < 50; i++) {
+                detector.observe(request("10.0.1." + i, "/probe-" + i + "/.env", 404, 5L));
+            }
+
+            assertEquals(2.0, meterRegistry.get("audit.anomaly.tracked.routes").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should wait for enough samples before judging a route")
+        void testNoBaselineYet() {
+            detector.observe(request("10.0.0.1", "/api/users", 200, 10L));
+
+            List<AnomalyEvent> events = detector.observe(request("10.0.0.2", "/api/users", 200, 5_000L));
+
+            assertTrue(events.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle null and disabled input")
+    void testNullAndDisabled() {
+        assertTrue(detector.observe(null).isEmpty());
+        assertTrue(detector.observe(RequestInfo.builder().build()).isEmpty());
+
+        detector.enabled = false;
+        assertTrue(observeMany(request("10.0.0.1", "/api/users", 404, 10L), 50).isEmpty());
+    }
+
+    private List<AnomalyEvent> observeMany(RequestInfo requestInfo, int times) {
+        List<AnomalyEvent> events = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            events.addAll(detector.observe(requestInfo));
+        }
+        return events;
+    }
+
+    private static long countOf(List<AnomalyEvent> events, AnomalyEvent.Type type) {
+        return events.stream().filter(event -> event.getType() == type).count();
+    }
+
+    private static RequestInfo request(String ip, String uri, int status, Long duration) {
+        return RequestInfo.builder()
+                .requestId("req_" + uri.hashCode())
+                .userIp(ip)
+                .httpMethod("GET")
+                .requestUri(uri)
+                .responseStatus(status)
+                .duration(duration)
+                // Only paths served by a resource have a matched template
+                .routeTemplate(status == 404 ? null : RequestInfoExtractor.routeTemplate(uri))
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.lolmeida.service;
+
+import com.lolmeida.dto.request.UserListRequest;
+import com.lolmeida.dto.response.UserResponse;
+import com.lolmeida.entity.User;
+import com.lolmeida.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@DisplayName("UserService paging")
+class UserServicePagingTest {
+
+    @Inject
+    UserService userService;
+
+    @Inject
+    UserRepository userRepository;
+
+    private final List<Long> idsByCreatedAtDesc = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            userRepository.deleteAll();
+            // Three of the five users share a createdAt
+            LocalDateTime tied = LocalDateTime.of(2026, 1, 1, 11, 0);
+            List<LocalDateTime> createdAts = List.of(LocalDateTime.of(2026, 1, 1, 10, 0), tied, tied, tied,
+                    LocalDateTime.of(2026, 1, 1, 12, 0));
+            for (int i = 0; i < createdAts.size(); i++) {
+                User user = User.builder()
+                        .username("pager" + i)
+                        .email("pager" + i + "@example.com")
+                        .passwordHash("hashedpassword123")
+                        .createdAt(createdAts.get(i))
+                        .updatedAt(createdAts.get(i))
+                        .build();
+                userRepository.persist(user);
+                idsByCreatedAtDesc.add(0, user.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> userRepository.deleteAll());
+    }
+
+    @Test
+    @DisplayName("Should follow X-Next-Cursor through every page newest first")
+    void testCreatedAtCursorRoundTrip() {
+        List<Long> ids = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String after = null;
+        do {
+            Response response = userService.getAllUsers(UserListRequest.builder()
+                    .sort("createdAt").limit(2).after(after).build());
+            assertEquals(200, response.getStatus());
+            List<Long> page = ids(response);
+            pageSizes.add(page.size());
+            ids.addAll(page);
+            after = response.getHeaderString(UserService.NEXT_CURSOR_HEADER);
+        } while (after != null);
+
+        assertEquals(idsByCreatedAtDesc, ids);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    @Test
+    @DisplayName("Should page by id and send no cursor when the last page is exactly full")
+    void testIdCursorRoundTrip() {
+        Response first = userService.getAllUsers(UserListRequest.builder().sort("id").limit(3).build());
+        String cursor = first.getHeaderString(UserService.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        Response second = userService.getAllUsers(UserListRequest.builder().sort("id").limit(2).after(cursor).build());
+        assertNull(second.getHeaderString(UserService.NEXT_CURSOR_HEADER));
+
+        List<Long> ids = new ArrayList<>(ids(first));
+        ids.addAll(ids(second));
+        assertEquals(idsByCreatedAtDesc.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that does not decode")
+    void testInvalidCursor() {
+        Response response = userService.getAllUsers(UserListRequest.builder().sort("createdAt").after("!!").build());
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> ids(Response response) {
+        return ((List<UserResponse>) response.getEntity()).stream().map(UserResponse::getId).toList();
+    }
+}
@@ -1,12 +1,19 @@
 package com.lolmeida.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lolmeida.dto.mapper.MapperService;
+import com.lolmeida.dto.projection.UserIdentity;
+import com.lolmeida.dto.request.UserListRequest;
 import com.lolmeida.dto.request.UserPatchRequest;
 import com.lolmeida.dto.request.UserRequest;
+import com.lolmeida.dto.response.UserImportResponse;
 import com.lolmeida.dto.response.UserResponse;
 import com.lolmeida.entity.User;
 import com.lolmeida.repository.UserRepository;
 import com.lolmeida.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,10 +25,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -40,12 +50,17 @@ class UserServiceTest {
     @Mock
     private MapperService mapperService;
 
+    @Mock
+    private Validator validator;
+
     private User testUser;
     private UserRequest userRequest;
     private UserResponse userResponse;
 
     @BeforeEach
     void setUp() {
+        userService.defaultLimit = 50;
+        userService.maxLimit = 500;
         testUser = createEntity();
         userRequest = createRequest();
         userResponse = createResponse();
@@ -54,16 +69,47 @@ class UserServiceTest {
     @Nested
     class GetAllUsersTest {
         @Test
-        @DisplayName("Should return list of users")
+        @DisplayName("Should return one page of users without a next cursor on the last page")
         void testGetAllUsersSuccess() {
-            List<User> users = Collections.singletonList(testUser);
-            when(userRepository.listAll()).thenReturn(users);
+            when(userRepository.findPage(UserRepository.Order.ID, null, null, null, 51))
+                    .thenReturn(Collections.singletonList(testUser));
+            when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
-            Response response = userService.getAllUsers();
+            Response response = userService.getAllUsers(new UserListRequest());
 
             assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-            assertEquals(users, response.getEntity());
-            verify(userRepository).listAll();
+            assertEquals(List.of(userResponse), response.getEntity());
+            assertNull(response.getHeaderString(UserService.NEXT_CURSOR_HEADER));
+        }
+
+        @Test
+        @DisplayName("Should cap the limit and return the cursor of the last row when there are more")
+        void testNextCursor() {
+            User second = createEntity();
+            second.setId(2L);
+            User third = createEntity();
+            third.setId(3L);
+            when(userRepository.findPage(eq(UserRepository.Order.CREATED_AT), isNull(), eq("john"), isNull(), eq(3)))
+                    .thenReturn(List.of(testUser, second, third));
+
+            userService.maxLimit = 2;
+            Response response = userService.getAllUsers(
+                    UserListRequest.builder().limit(10).sort("createdAt").username("john").build());
+
+            assertEquals(2, ((List<?>) response.getEntity()).size());
+            UserRepository.Cursor cursor = UserService.decodeCursor(
+                    response.getHeaderString(UserService.NEXT_CURSOR_HEADER), UserRepository.Order.CREATED_AT);
+            assertEquals(2L, cursor.id());
+            assertEquals(second.getCreatedAt(), cursor.createdAt());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void testInvalidCursor() {
+            Response response = userService.getAllUsers(UserListRequest.builder().after("not-a-cursor").build());
+
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+            verify(userRepository, never()).findPage(any(), any(), any(), any(), anyInt());
         }
     }
 
@@ -132,8 +178,7 @@ class UserServiceTest {
         @Test
         @DisplayName("Should create user successfully")
         void testCreateUserSuccess() {
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.empty());
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.empty());
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", null)).thenReturn(false);
             when(mapperService.toUser(userRequest)).thenReturn(testUser);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
@@ -154,40 +199,21 @@ class UserServiceTest {
             
             assertEquals(userRequest.getUsername(), requestCaptor.getValue().getUsername());
             assertEquals(userRequest.getEmail(), requestCaptor.getValue().getEmail());
+            verify(mapperService, times(1)).toUser(any());
         }
 
         @Test
-        @DisplayName("Should return CONFLICT when username already exists")
-        void testCreateUserWithExistingUsername() {
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
+        @DisplayName("Should return CONFLICT when username or email already exists")
+        void testCreateUserWithExistingUsernameOrEmail() {
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", null)).thenReturn(true);
 
             Response response = userService.createUser(userRequest);
 
             assertEquals(Response.Status.CONFLICT.getStatusCode(), response.getStatus());
             assertEquals("Username or email already exists", response.getEntity());
             
-            ArgumentCaptor<String> usernameCaptor = ArgumentCaptor.forClass(String.class);
-            verify(userRepository).findByUsername(usernameCaptor.capture());
-            
-            assertEquals("john_doe", usernameCaptor.getValue());
-            verify(userRepository, never()).createOrUpdate(any());
-        }
-
-        @Test
-        @DisplayName("Should return CONFLICT when email already exists")
-        void testCreateUserWithExistingEmail() {
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.empty());
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
-
-            Response response = userService.createUser(userRequest);
-
-            assertEquals(Response.Status.CONFLICT.getStatusCode(), response.getStatus());
-            assertEquals("Username or email already exists", response.getEntity());
-            
-            ArgumentCaptor<String> emailCaptor = ArgumentCaptor.forClass(String.class);
-            verify(userRepository).findByEmail(emailCaptor.capture());
-            
-            assertEquals("john.doe@email.com", emailCaptor.getValue());
+            verify(userRepository).isUsernameOrEmailTaken("john_doe", "john.doe@email.com", null);
+            verify(mapperService, never()).toUser(any());
             verify(userRepository, never()).createOrUpdate(any());
         }
     }
@@ -195,13 +221,12 @@ class UserServiceTest {
     @Nested
     class ReplaceUserTest {
         @Test
-        @DisplayName("Should replace user successfully")
+        @DisplayName("Should replace user in place with a single load")
         void testReplaceUserSuccess() {
             Long userId = 1L;
+            LocalDateTime createdAt = testUser.getCreatedAt();
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
-            when(mapperService.toUserWithId(userRequest, userId)).thenReturn(testUser);
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", userId)).thenReturn(false);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
             Response response = userService.replaceUser(userId, userRequest);
@@ -213,15 +238,13 @@ class UserServiceTest {
             verify(userRepository).createOrUpdate(userCaptor.capture());
 
             User savedUser = userCaptor.getValue();
+            assertSame(testUser, savedUser);
             assertNotNull(savedUser.getUpdatedAt());
-            assertEquals(testUser.getCreatedAt(), savedUser.getCreatedAt());
-            
-            ArgumentCaptor<UserRequest> requestCaptor = ArgumentCaptor.forClass(UserRequest.class);
-            ArgumentCaptor<Long> idCaptor = ArgumentCaptor.forClass(Long.class);
-            verify(mapperService).toUserWithId(requestCaptor.capture(), idCaptor.capture());
+            assertEquals(createdAt, savedUser.getCreatedAt());
             
-            assertEquals(userRequest.getUsername(), requestCaptor.getValue().getUsername());
-            assertEquals(userId, idCaptor.getValue());
+            verify(mapperService).updateUserFromRequest(userRequest, testUser);
+            verify(mapperService, never()).toUserWithId(any(), any());
+            verify(userRepository, times(1)).findByIdOptional(userId);
         }
 
         @Test
@@ -249,31 +272,23 @@ class UserServiceTest {
             verify(userRepository).findByIdOptional(idCaptor.capture());
             
             assertEquals(userId, idCaptor.getValue());
+            verify(userRepository, never()).isUsernameOrEmailTaken(any(), any(), any());
             verify(userRepository, never()).createOrUpdate(any());
         }
 
         @Test
-        @DisplayName("Should return CONFLICT when username already exists")
+        @DisplayName("Should return CONFLICT when username or email belongs to another user")
         void testReplaceUserWithConflictingUsername() {
             Long userId = 1L;
-            User otherUser = User.builder()
-                    .id(2L)
-                    .username("john_doe")
-                    .email("other@email.com")
-                    .build();
-
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(otherUser));
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", userId)).thenReturn(true);
 
             Response response = userService.replaceUser(userId, userRequest);
 
             assertEquals(Response.Status.CONFLICT.getStatusCode(), response.getStatus());
             assertEquals("Username or email already exists", response.getEntity());
             
-            ArgumentCaptor<String> usernameCaptor = ArgumentCaptor.forClass(String.class);
-            verify(userRepository).findByUsername(usernameCaptor.capture());
-            
-            assertEquals("john_doe", usernameCaptor.getValue());
+            verify(mapperService, never()).updateUserFromRequest(any(), any());
             verify(userRepository, never()).createOrUpdate(any());
         }
     }
@@ -289,8 +304,7 @@ class UserServiceTest {
                     .build();
 
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("new_username")).thenReturn(Optional.empty());
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
+            when(userRepository.isUsernameOrEmailTaken("new_username", "john.doe@email.com", userId)).thenReturn(false);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
             Response response = userService.partialUpdateUser(userId, patchRequest);
@@ -310,6 +324,7 @@ class UserServiceTest {
 
             User savedUser = savedUserCaptor.getValue();
             assertNotNull(savedUser.getUpdatedAt());
+            verify(userRepository, times(1)).findByIdOptional(userId);
         }
 
         @Test
@@ -352,30 +367,20 @@ class UserServiceTest {
                     .email("conflict@email.com")
                     .build();
 
-            User otherUser = User.builder()
-                    .id(2L)
-                    .username("other_user")
-                    .email("conflict@email.com")
-                    .build();
-
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-            when(userRepository.findByEmail("conflict@email.com")).thenReturn(Optional.of(otherUser));
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "conflict@email.com", userId)).thenReturn(true);
 
             Response response = userService.partialUpdateUser(userId, patchRequest);
 
             assertEquals(Response.Status.CONFLICT.getStatusCode(), response.getStatus());
             assertEquals("Username or email already exists", response.getEntity());
             
-            ArgumentCaptor<String> emailCaptor = ArgumentCaptor.forClass(String.class);
-            verify(userRepository).findByEmail(emailCaptor.capture());
-            
-            assertEquals("conflict@email.com", emailCaptor.getValue());
+            verify(userRepository).isUsernameOrEmailTaken("john_doe", "conflict@email.com", userId);
             verify(userRepository, never()).createOrUpdate(any());
         }
 
         @Test
-        @DisplayName("Should keep existing values when patch request has null fields")
+        @DisplayName("Should skip the uniqueness check when patch request has null fields")
         void testPartialUpdateUserWithNullFields() {
             Long userId = 1L;
             UserPatchRequest patchRequest = UserPatchRequest.builder()
@@ -384,8 +389,6 @@ class UserServiceTest {
                     .build();
 
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
             Response response = userService.partialUpdateUser(userId, patchRequest);
@@ -400,6 +403,7 @@ class UserServiceTest {
             assertEquals(patchRequest.getUsername(), patchCaptor.getValue().getUsername());
             assertEquals(patchRequest.getEmail(), patchCaptor.getValue().getEmail());
             assertEquals(testUser.getId(), userCaptor.getValue().getId());
+            verify(userRepository, never()).isUsernameOrEmailTaken(any(), any(), any());
         }
 
         @Test
@@ -412,8 +416,7 @@ class UserServiceTest {
                     .build();
 
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-            when(userRepository.findByEmail("new_email@test.com")).thenReturn(Optional.empty());
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "new_email@test.com", userId)).thenReturn(false);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
             Response response = userService.partialUpdateUser(userId, patchRequest);
@@ -439,8 +442,7 @@ class UserServiceTest {
                     .build();
 
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("new_username")).thenReturn(Optional.empty());
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
+            when(userRepository.isUsernameOrEmailTaken("new_username", "john.doe@email.com", userId)).thenReturn(false);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
             Response response = userService.partialUpdateUser(userId, patchRequest);
@@ -493,6 +495,111 @@ class UserServiceTest {
         }
     }
 
+    @Nested
+    class ImportUsersTest {
+        @BeforeEach
+        void setUp() {
+            userService.objectMapper = new ObjectMapper();
+            userService.importChunkSize = 500;
+        }
+
+        @Test
+        @DisplayName("Should import a JSON array with one conflict query and one batch insert per chunk")
+        void testImportJsonArray() {
+            String body = """
+                    [
+                      {"username": "alice", "email": "alice@email.com", "passwordHash": "$2a$10$hashedpassword"},
+                      {"username": "bob", "email": "bob@email.com", "passwordHash": "$2a$10$hashedpassword"},
+                      {"username": "alice", "email": "other@email.com", "passwordHash": "$2a$10$hashedpassword"},
+                      {"username": "x", "email": "x@email.com", "passwordHash": "$2a$10$hashedpassword"}
+                    ]
+                    """;
+            ConstraintViolation<UserRequest> violation = mock(ConstraintViolation.class);
+            Path path = mock(Path.class);
+            when(path.toString()).thenReturn("username");
+            when(violation.getPropertyPath()).thenReturn(path);
+            when(violation.getMessage()).thenReturn("Username must be between 3 and 50 characters");
+            when(validator.validate(any(UserRequest.class))).thenAnswer(invocation ->
+                    "x".equals(invocation.<UserRequest>getArgument(0).getUsername()) ? Set.of(violation) : Set.of());
+            when(userRepository.findIdentities(List.of("alice", "bob"), List.of("alice@email.com", "bob@email.com")))
+                    .thenReturn(List.of(new UserIdentity("bob", "bob@email.com")));
+            when(mapperService.toUser(any(UserRequest.class))).thenAnswer(invocation -> {
+                UserRequest request = invocation.getArgument(0);
+                return User.builder().username(request.getUsername()).email(request.getEmail()).build();
+            });
+            doAnswer(invocation -> {
+                List<User> users = invocation.getArgument(0);
+                users.forEach(user -> user.setId(51L));
+                return null;
+            }).when(userRepository).insertBatch(anyList());
+
+            Response response = userService.importUsers(stream(body));
+
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            UserImportResponse report = (UserImportResponse) response.getEntity();
+            assertEquals(4, report.getTotal());
+            assertEquals(1, report.getCreated());
+            assertEquals(3, report.getRejected());
+            assertEquals(List.of(UserImportResponse.Status.CREATED, UserImportResponse.Status.CONFLICT,
+                            UserImportResponse.Status.DUPLICATE, UserImportResponse.Status.INVALID),
+                    report.getRows().stream().map(UserImportResponse.Row::getStatus).toList());
+            assertEquals(51L, report.getRows().get(0).getId());
+            assertEquals("username: Username must be between 3 and 50 characters", report.getRows().get(3).getMessage());
+
+            ArgumentCaptor<List<User>> usersCaptor = ArgumentCaptor.forClass(List.class);
+            verify(userRepository, times(1)).insertBatch(usersCaptor.capture());
+            assertEquals(1, usersCaptor.getValue().size());
+            assertNotNull(usersCaptor.getValue().get(0).getCreatedAt());
+            verify(userRepository, times(1)).findIdentities(anyCollection(), anyCollection());
+            verify(userRepository, never()).createOrUpdate(any());
+        }
+
+        @Test
+        @DisplayName("Should read NDJSON in chunks and stop at malformed input")
+        void testImportNdjsonChunks() {
+            userService.importChunkSize = 2;
+            String body = """
+                    {"username": "user_1", "email": "user1@email.com", "passwordHash": "$2a$10$hashedpassword"}
+                    {"username": "user_2", "email": "user2@email.com", "passwordHash": "$2a$10$hashedpassword"}
+                    {"username": "user_3", "email": "user3@email.com", "passwordHash": "$2a$10$hashedpassword"}
+                    {"username": "user_4", "email":
+                    """;
+            when(validator.validate(any(UserRequest.class))).thenReturn(Set.of());
+            when(userRepository.findIdentities(anyCollection(), anyCollection())).thenReturn(List.of());
+            when(mapperService.toUser(any(UserRequest.class))).thenAnswer(invocation -> new User());
+
+            Response response = userService.importUsers(stream(body));
+
+            UserImportResponse report = (UserImportResponse) response.getEntity();
+            assertEquals(4, report.getTotal());
+            assertEquals(3, report.getCreated());
+            assertEquals(UserImportResponse.Status.FAILED, report.getRows().get(3).getStatus());
+            assertEquals(4, report.getRows().get(3).getRow());
+            verify(userRepository, times(2)).insertBatch(anyList());
+            verify(userRepository, times(2)).findIdentities(anyCollection(), anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should report the rows of a chunk whose insert was rolled back")
+        void testImportChunkFailure() {
+            String body = "{\"username\": \"alice\", \"email\": \"alice@email.com\", \"passwordHash\": \"$2a$10$hashedpassword\"}";
+            when(validator.validate(any(UserRequest.class))).thenReturn(Set.of());
+            when(userRepository.findIdentities(anyCollection(), anyCollection())).thenReturn(List.of());
+            when(mapperService.toUser(any(UserRequest.class))).thenAnswer(invocation -> new User());
+            doThrow(new RuntimeException("Duplicate entry 'alice'")).when(userRepository).insertBatch(anyList());
+
+            UserImportResponse report = (UserImportResponse) userService.importUsers(stream(body)).getEntity();
+
+            assertEquals(0, report.getCreated());
+            assertEquals(1, report.getRejected());
+            assertEquals(UserImportResponse.Status.FAILED, report.getRows().get(0).getStatus());
+        }
+
+        private ByteArrayInputStream stream(String body) {
+            return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     @Nested
     class CreateOrUpdateUserTest {
         @Test
@@ -500,8 +607,7 @@ class UserServiceTest {
         void testCreateOrUpdateUserCreate() {
             Long userId = 1L;
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.empty());
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.empty());
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.empty());
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", null)).thenReturn(false);
             when(mapperService.toUserWithId(userRequest, userId)).thenReturn(testUser);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
@@ -529,10 +635,9 @@ class UserServiceTest {
         @DisplayName("Should update existing user")
         void testCreateOrUpdateUserUpdate() {
             Long userId = 1L;
+            LocalDateTime createdAt = testUser.getCreatedAt();
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
-            when(mapperService.toUserWithId(userRequest, userId)).thenReturn(testUser);
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", userId)).thenReturn(false);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
             Response response = userService.createOrUpdateUser(userId, userRequest);
@@ -545,64 +650,18 @@ class UserServiceTest {
 
             User savedUser = userCaptor.getValue();
             assertNotNull(savedUser.getUpdatedAt());
-            assertEquals(testUser.getCreatedAt(), savedUser.getCreatedAt());
-            
-            ArgumentCaptor<UserRequest> requestCaptor = ArgumentCaptor.forClass(UserRequest.class);
-            ArgumentCaptor<Long> idCaptor = ArgumentCaptor.forClass(Long.class);
-            verify(mapperService).toUserWithId(requestCaptor.capture(), idCaptor.capture());
+            assertEquals(createdAt, savedUser.getCreatedAt());
             
-            assertEquals(userRequest.getUsername(), requestCaptor.getValue().getUsername());
-            assertEquals(userId, idCaptor.getValue());
+            verify(mapperService).updateUserFromRequest(userRequest, testUser);
+            verify(userRepository, times(1)).findByIdOptional(userId);
         }
 
         @Test
-        @DisplayName("Should return CONFLICT when creating user with existing username")
-        void testCreateOrUpdateUserCreateConflictUsername() {
+        @DisplayName("Should return CONFLICT when creating user with existing username or email")
+        void testCreateOrUpdateUserCreateConflict() {
             Long userId = 1L;
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.empty()); // isCreating = true
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-
-            Response response = userService.createOrUpdateUser(userId, userRequest);
-
-            assertEquals(Response.Status.CONFLICT.getStatusCode(), response.getStatus());
-            assertEquals("Username or email already exists", response.getEntity());
-            
-            verify(userRepository).findByIdOptional(userId);
-            verify(userRepository).findByUsername("john_doe");
-            verify(userRepository, never()).createOrUpdate(any());
-        }
-
-        @Test
-        @DisplayName("Should return CONFLICT when creating user with existing email")
-        void testCreateOrUpdateUserCreateConflictEmail() {
-            Long userId = 1L;
-            when(userRepository.findByIdOptional(userId)).thenReturn(Optional.empty()); // isCreating = true
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.empty());
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
-
-            Response response = userService.createOrUpdateUser(userId, userRequest);
-
-            assertEquals(Response.Status.CONFLICT.getStatusCode(), response.getStatus());
-            assertEquals("Username or email already exists", response.getEntity());
-            
-            verify(userRepository).findByIdOptional(userId);
-            verify(userRepository).findByUsername("john_doe");
-            verify(userRepository).findByEmail("john.doe@email.com");
-            verify(userRepository, never()).createOrUpdate(any());
-        }
-
-        @Test
-        @DisplayName("Should return CONFLICT when updating user with conflicting username")
-        void testCreateOrUpdateUserUpdateConflictUsername() {
-            Long userId = 1L;
-            User otherUser = User.builder()
-                    .id(2L)
-                    .username("john_doe")
-                    .email("other@email.com")
-                    .build();
-
-            when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser)); // isCreating = false
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(otherUser));
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", null)).thenReturn(true);
 
             Response response = userService.createOrUpdateUser(userId, userRequest);
 
@@ -610,23 +669,16 @@ class UserServiceTest {
             assertEquals("Username or email already exists", response.getEntity());
             
             verify(userRepository).findByIdOptional(userId);
-            verify(userRepository).findByUsername("john_doe");
+            verify(userRepository).isUsernameOrEmailTaken("john_doe", "john.doe@email.com", null);
             verify(userRepository, never()).createOrUpdate(any());
         }
 
         @Test
-        @DisplayName("Should return CONFLICT when updating user with conflicting email")
-        void testCreateOrUpdateUserUpdateConflictEmail() {
+        @DisplayName("Should return CONFLICT when updating user with conflicting username or email")
+        void testCreateOrUpdateUserUpdateConflict() {
             Long userId = 1L;
-            User otherUser = User.builder()
-                    .id(2L)
-                    .username("other_user")
-                    .email("john.doe@email.com")
-                    .build();
-
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser)); // isCreating = false
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(otherUser));
+            when(userRepository.isUsernameOrEmailTaken("john_doe", "john.doe@email.com", userId)).thenReturn(true);
 
             Response response = userService.createOrUpdateUser(userId, userRequest);
 
@@ -634,8 +686,7 @@ class UserServiceTest {
             assertEquals("Username or email already exists", response.getEntity());
             
             verify(userRepository).findByIdOptional(userId);
-            verify(userRepository).findByUsername("john_doe");
-            verify(userRepository).findByEmail("john.doe@email.com");
+            verify(userRepository).isUsernameOrEmailTaken("john_doe", "john.doe@email.com", userId);
             verify(userRepository, never()).createOrUpdate(any());
         }
     }
@@ -643,8 +694,8 @@ class UserServiceTest {
     @Nested
     class IsUsernameOrEmailTakenTest {
         @Test
-        @DisplayName("Should return false when username and email are not taken")
-        void testIsUsernameOrEmailTakenReturnsFalse() {
+        @DisplayName("Should check username and email in a single query excluding the user being updated")
+        void testSingleUniquenessQuery() {
             Long userId = 1L;
             UserRequest newUserRequest = UserRequest.builder()
                     .username("unique_username")
@@ -653,9 +704,7 @@ class UserServiceTest {
                     .build();
 
             when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("unique_username")).thenReturn(Optional.empty());
-            when(userRepository.findByEmail("unique@email.com")).thenReturn(Optional.empty());
-            when(mapperService.toUserWithId(newUserRequest, userId)).thenReturn(testUser);
+            when(userRepository.isUsernameOrEmailTaken("unique_username", "unique@email.com", userId)).thenReturn(false);
             when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
 
             Response response = userService.replaceUser(userId, newUserRequest);
@@ -663,34 +712,9 @@ class UserServiceTest {
             assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
             assertEquals(userResponse, response.getEntity());
 
-            verify(userRepository).findByUsername("unique_username");
-            verify(userRepository).findByEmail("unique@email.com");
-            verify(userRepository).createOrUpdate(any(User.class));
-        }
-
-        @Test
-        @DisplayName("Should return false when username and email belong to same user being updated")
-        void testIsUsernameOrEmailTakenForSameUser() {
-            Long userId = 1L;
-            UserRequest sameUserRequest = UserRequest.builder()
-                    .username("john_doe")
-                    .email("john.doe@email.com")
-                    .passwordHash("$2a$10$hashedpassword")
-                    .build();
-
-            when(userRepository.findByIdOptional(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(testUser));
-            when(userRepository.findByEmail("john.doe@email.com")).thenReturn(Optional.of(testUser));
-            when(mapperService.toUserWithId(sameUserRequest, userId)).thenReturn(testUser);
-            when(mapperService.toUserResponse(testUser)).thenReturn(userResponse);
-
-            Response response = userService.replaceUser(userId, sameUserRequest);
-
-            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-            assertEquals(userResponse, response.getEntity());
-
-            verify(userRepository).findByUsername("john_doe");
-            verify(userRepository).findByEmail("john.doe@email.com");
+            verify(userRepository, times(1)).isUsernameOrEmailTaken(any(), any(), any());
+            verify(userRepository, never()).findByUsername(any());
+            verify(userRepository, never()).findByEmail(any());
             verify(userRepository).createOrUpdate(any(User.class));
         }
     }
@@ -0,0 +1,100 @@
+package com.lolmeida.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ManifestCondition")
+class ManifestConditionTest {
+
+    private ObjectNode config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ObjectMapper().createObjectNode();
+        config.putObject("persistence").put("enabled", true).put("size", "10Gi");
+        config.putObject("auth").put("enabled", false).put("type", "jwt");
+        config.putObject("hpa").put("enabled", true).put("maxReplicas", 5);
+        config.put("replicas", 2);
+    }
+
+    @Nested
+    @DisplayName("Path Tests")
+    class PathTest {
+
+        @Test
+        @DisplayName("Should evaluate dotted paths like the legacy implementation")
+        void testPaths() {
+            assertTrue(ManifestCondition.of("persistence.enabled").test(config));
+            assertFalse(ManifestCondition.of("auth.enabled").test(config));
+            assertFalse(ManifestCondition.of("serviceAccount.create").test(config));
+            assertFalse(ManifestCondition.of("missing").test(config));
+        }
+
+        @Test
+        @DisplayName("Should default ingress.enabled to true when absent")
+        void testIngressDefault() {
+            assertTrue(ManifestCondition.of("ingress.enabled").test(config));
+
+            config.putObject("ingress").put("enabled", false);
+            assertFalse(ManifestCondition.of("ingress.enabled").test(config));
+        }
+
+        @Test
+        @DisplayName("Should treat empty conditions as always true")
+        void testEmpty() {
+            assertTrue(ManifestCondition.of(null).test(config));
+            assertTrue(ManifestCondition.of("  ").test(config));
+        }
+    }
+
+    @Nested
+    @DisplayName("Expression Tests")
+    class ExpressionTest {
+
+        @Test
+        @DisplayName("Should support boolean operators and parentheses")
+        void testBooleanOperators() {
+            assertTrue(ManifestCondition.of("persistence.enabled && !auth.enabled").test(config));
+            assertTrue(ManifestCondition.of("auth.enabled || hpa.enabled").test(config));
+            assertFalse(ManifestCondition.of("!(persistence.enabled || auth.enabled)").test(config));
+            assertTrue(ManifestCondition.of("auth.enabled || persistence.enabled && hpa.enabled").test(config));
+        }
+
+        @Test
+        @DisplayName("Should support comparisons")
+        void testComparisons() {
+            assertTrue(ManifestCondition.of("auth.type == 'jwt'").test(config));
+            assertTrue(ManifestCondition.of("auth.type != \"basic\"").test(config));
+            assertTrue(ManifestCondition.of("hpa.maxReplicas > 3").test(config));
+            assertTrue(ManifestCondition.of("replicas <= 2 && replicas >= 2").test(config));
+            assertFalse(ManifestCondition.of("replicas < 2").test(config));
+            assertTrue(ManifestCondition.of("persistence.enabled == true").test(config));
+            assertTrue(ManifestCondition.of("tls.secret == null").test(config));
+            assertFalse(ManifestCondition.of("tls.secret > 1").test(config));
+        }
+
+        @Test
+        @DisplayName("Should compile once and reuse the cached condition")
+        void testCached() {
+            assertSame(ManifestCondition.of("hpa.enabled && replicas > 1"),
+                    ManifestCondition.of("hpa.enabled && replicas > 1"));
+        }
+
+        @Test
+        @DisplayName("Should reject invalid expressions")
+        void testInvalid() {
+            assertThrows(IllegalArgumentException.class, () -> ManifestCondition.compile("persistence.enabled &&"));
+            assertThrows(IllegalArgumentException.class, () -> ManifestCondition.compile("(auth.enabled"));
+            assertThrows(IllegalArgumentException.class, () -> ManifestCondition.compile("auth..enabled"));
+            assertThrows(IllegalArgumentException.class, () -> ManifestCondition.compile("auth.type == 'jwt"));
+
+            assertSame(ManifestCondition.NEVER, ManifestCondition.of("persistence.enabled &&"));
+        }
+    }
+}
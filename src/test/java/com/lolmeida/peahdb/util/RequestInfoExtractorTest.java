@@ -0,0 +1,88 @@
+package com.lolmeida.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestInfoExtractor")
+class RequestInfoExtractorTest {
+
+    private RequestInfoExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        extractor = new RequestInfoExtractor();
+        extractor.trustedProxyAddresses = Optional.of(List.of("10.0.0.0/8", "::1"));
+        extractor.init();
+    }
+
+    @Nested
+    @DisplayName("Client IP Tests")
+    class ClientIpTest {
+
+        @Test
+        @DisplayName("Should ignore forwarding headers from untrusted connections")
+        void testUntrustedConnection() {
+            Function<String, String> headers = headers(Map.of(
+                    "X-Forwarded-For", "1.2.3.4", "X-Real-IP", "5.6.7.8"));
+
+            assertEquals("203.0.113.9", extractor.resolveUserIp(headers, "203.0.113.9"));
+        }
+
+        @Test
+        @DisplayName("Should take the right-most untrusted hop, not a value forged by the client")
+        void testRightMostUntrustedHop() {
+            Function<String, String> headers = headers(Map.of(
+                    "X-Forwarded-For", "6.6.6.6, 198.51.100.7, 10.1.2.3"));
+
+            assertEquals("198.51.100.7", extractor.resolveUserIp(headers, "10.0.0.5"));
+        }
+
+        @Test
+        @DisplayName("Should fall back to X-Real-IP and then to the proxy address")
+        void testFallbacks() {
+            assertEquals("198.51.100.7", extractor.resolveUserIp(
+                    headers(Map.of("X-Real-IP", "198.51.100.7")), "::1"));
+            assertEquals("10.0.0.5", extractor.resolveUserIp(headers(Map.of()), "10.0.0.5"));
+            assertEquals("127.0.0.1", extractor.resolveUserIp(headers(Map.of()), null));
+        }
+    }
+
+    @Test
+    @DisplayName("Should match CIDR ranges without resolving host names")
+    void testTrustedProxies() {
+        TrustedProxies proxies = TrustedProxies.parse(List.of("172.16.0.0/12", "2001:db8::/32"));
+
+        assertTrue(proxies.contains("172.31.255.1"));
+        assertFalse(proxies.contains("172.32.0.1"));
+        assertTrue(proxies.contains("2001:db8::1"));
+        assertFalse(proxies.contains("localhost"));
+        assertThrows(IllegalArgumentException.class, () -> TrustedProxies.parse(List.of("10.0.0.0/33")));
+    }
+
+    @Test
+    @DisplayName("Should treat hex-word host names as non-literals instead of resolving them")
+    void testHexWordHop() {
+        TrustedProxies proxies = TrustedProxies.parse(List.of("10.0.0.0/8"));
+
+        assertFalse(proxies.contains("dead.beef.cafe"));
+        assertFalse(proxies.contains("face.bad"));
+        assertFalse(proxies.contains("10.0.0.256"));
+        assertFalse(proxies.contains("10.0.0"));
+        assertThrows(IllegalArgumentException.class, () -> TrustedProxies.parse(List.of("face.bad")));
+        assertEquals("dead.beef.cafe", extractor.resolveUserIp(
+                headers(Map.of("X-Forwarded-For", "dead.beef.cafe, 10.1.2.3")), "10.0.0.5"));
+    }
+
+    private static Function<String, String> headers(Map<String, String> values) {
+        return values::get;
+    }
+}
@@ -0,0 +1,76 @@
+package com.lolmeida.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StructuralHash")
+class StructuralHashTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode json(String text) throws Exception {
+        return objectMapper.readTree(text.replace('\'', '"'));
+    }
+
+    @Nested
+    @DisplayName("Hash Tests")
+    class HashTest {
+
+        @Test
+        @DisplayName("Should ignore field order but not array order")
+        void testOrder() throws Exception {
+            String a = StructuralHash.of(json("{'x': 1, 'y': {'a': true, 'b': [1, 2]}}")).hex();
+            String b = StructuralHash.of(json("{'y': {'b': [1, 2], 'a': true}, 'x': 1}")).hex();
+            String c = StructuralHash.of(json("{'y': {'b': [2, 1], 'a': true}, 'x': 1}")).hex();
+
+            assertEquals(a, b);
+            assertNotEquals(a, c);
+            assertEquals(64, a.length());
+        }
+
+        @Test
+        @DisplayName("Should compare numbers by value and keep types apart")
+        void testScalars() throws Exception {
+            assertEquals(StructuralHash.of(json("{'n': 1}")).hex(), StructuralHash.of(json("{'n': 1.0}")).hex());
+            assertNotEquals(StructuralHash.of(json("{'n': 1}")).hex(), StructuralHash.of(json("{'n': '1'}")).hex());
+            assertNotEquals(StructuralHash.of(json("{'n': null}")).hex(), StructuralHash.of(json("{'n': 'null'}")).hex());
+        }
+    }
+
+    @Nested
+    @DisplayName("Diff Tests")
+    class DiffTest {
+
+        @Test
+        @DisplayName("Should report added, removed and changed leaves by JSON Pointer")
+        void testDiff() throws Exception {
+            StructuralHash previous = StructuralHash.of(json(
+                    "{'global': {'namespace': 'dev'}, 'redis': {'image': {'tag': '7.0'}, 'ports': [6379]}, 'old': 1}"));
+            StructuralHash current = StructuralHash.of(json(
+                    "{'redis': {'ports': [6379, 26379], 'image': {'tag': '7.2'}}, 'global': {'namespace': 'dev'}, 'a/b': 2}"));
+
+            List<StructuralHash.Change> changes = StructuralHash.diff(previous, current);
+
+            assertEquals(4, changes.size());
+            assertTrue(changes.contains(new StructuralHash.Change("/redis/image/tag", StructuralHash.ChangeType.CHANGED,
+                    json("'7.0'"), json("'7.2'"))));
+            assertTrue(changes.stream().anyMatch(c -> c.path().equals("/redis/ports/1") && c.type() == StructuralHash.ChangeType.ADDED));
+            assertTrue(changes.stream().anyMatch(c -> c.path().equals("/old") && c.type() == StructuralHash.ChangeType.REMOVED));
+            assertTrue(changes.stream().anyMatch(c -> c.path().equals("/a~1b") && c.type() == StructuralHash.ChangeType.ADDED));
+        }
+
+        @Test
+        @DisplayName("Should report nothing for equivalent trees")
+        void testNoChanges() throws Exception {
+            assertTrue(StructuralHash.diff(StructuralHash.of(json("{'a': {'b': 1, 'c': 2}}")),
+                    StructuralHash.of(json("{'a': {'c': 2, 'b': 1.0}}"))).isEmpty());
+        }
+    }
+}